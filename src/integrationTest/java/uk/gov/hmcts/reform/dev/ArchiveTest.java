@@ -0,0 +1,74 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.annotation.DirtiesContext;
+import uk.gov.hmcts.reform.dev.dto.CaseDto;
+import uk.gov.hmcts.reform.dev.dto.TaskDto;
+import uk.gov.hmcts.reform.dev.repositories.CaseRepository;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+import uk.gov.hmcts.reform.dev.services.CaseArchiver;
+import uk.gov.hmcts.reform.dev.services.DAOService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"archive.enabled=false", "archive.batch-size=2", "archive.batch-pause=PT0S"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class ArchiveTest {
+
+    @Autowired
+    private DAOService daoService;
+
+    @Autowired
+    private CaseArchiver caseArchiver;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private CaseDto saveCase(String caseNumber, String status, LocalDateTime createdDate) {
+        return daoService.saveCase(new CaseDto(null, caseNumber, "Title " + caseNumber, "Description", status,
+                                               createdDate, new ArrayList<>()));
+    }
+
+    /**
+     * Terminal cases older than the cutoff move to the archive in batches and still read back by ID and number
+     */
+    @DisplayName("Archives old terminal cases with their tasks and falls through to them on reads")
+    @Test
+    public void archivesOldTerminalCases() throws InterruptedException {
+        LocalDateTime old = LocalDateTime.now().minusYears(2);
+        List<CaseDto> archivable = List.of(saveCase("old-1", "Completed", old), saveCase("old-2", "Completed", old),
+                                           saveCase("old-3", "Completed", old));
+        CaseDto ongoing = saveCase("old-ongoing", "Ongoing", old);
+        CaseDto recent = saveCase("recent", "Completed", LocalDateTime.now());
+        TaskDto task = daoService.saveTask(new TaskDto(null, "Task", "Description", "Completed", old,
+                                                       archivable.getFirst().getId()));
+
+        assertEquals(3, caseArchiver.archive(LocalDateTime.now().minusYears(1)), "Wrong number of cases archived");
+
+        assertEquals(2, caseRepository.count(), "Archived cases left in the cases table");
+        assertTrue(caseRepository.existsById(ongoing.getId()), "Non-terminal case archived");
+        assertTrue(caseRepository.existsById(recent.getId()), "Recent case archived");
+        assertFalse(taskRepository.existsById(task.getId()), "Archived case's task left in the tasks table");
+
+        CaseDto archived = daoService.getCase(archivable.getFirst().getId()).orElseThrow();
+        assertEquals("old-1", archived.getCaseNumber(), "Archived case not readable by ID");
+        assertEquals("Completed", archived.getStatus(), "Archived case status changed");
+        assertEquals(List.of(task.getId()), archived.getTasks(), "Archived case lost its tasks");
+        assertEquals(archivable.get(1).getId(), daoService.getCaseByNumber("old-2").orElseThrow().getId(),
+                     "Archived case not readable by number");
+
+        assertThrows(DataIntegrityViolationException.class, () -> saveCase("old-3", "Ongoing", LocalDateTime.now()),
+                     "Archived case number reused");
+    }
+}
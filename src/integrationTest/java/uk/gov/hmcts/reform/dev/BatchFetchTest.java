@@ -0,0 +1,104 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import uk.gov.hmcts.reform.dev.dto.BatchResult;
+import uk.gov.hmcts.reform.dev.dto.CaseDto;
+import uk.gov.hmcts.reform.dev.dto.TaskDto;
+import uk.gov.hmcts.reform.dev.services.DAOService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"batch.chunk-size=2", "batch.max-ids=20"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class BatchFetchTest {
+
+    @Autowired
+    private DAOService daoService;
+
+    private CaseDto createCase(String caseNumber) {
+        CaseDto caseDto = new CaseDto();
+        caseDto.setCaseNumber(caseNumber);
+        caseDto.setTitle("Batch case " + caseNumber);
+        caseDto.setStatus("Ongoing");
+        caseDto.setCreatedDate(LocalDateTime.now());
+        return daoService.saveCase(caseDto);
+    }
+
+    private TaskDto createTask(UUID caseId, String title) {
+        TaskDto taskDto = new TaskDto();
+        taskDto.setTitle(title);
+        taskDto.setStatus("Pending");
+        taskDto.setParentCase(caseId);
+        return daoService.saveTask(taskDto);
+    }
+
+    /**
+     * Cases come back in request order across several IN query chunks, with their task IDs, duplicates once and
+     * unknown IDs reported as missing
+     */
+    @DisplayName("Batch fetches cases in request order, reporting missing IDs")
+    @Test
+    public void fetchesCasesInRequestOrder() {
+        List<UUID> caseIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            caseIds.add(createCase("BATCH/" + i).getId());
+        }
+        TaskDto task = createTask(caseIds.get(2), "Batch task");
+        Collections.reverse(caseIds);
+
+        UUID unknown = UUID.randomUUID();
+        List<UUID> requested = new ArrayList<>(caseIds);
+        requested.add(2, unknown);
+        requested.add(caseIds.getFirst());
+
+        BatchResult<CaseDto> result = daoService.getCases(requested);
+        assertEquals(caseIds, result.getResults().stream().map(CaseDto::getId).toList(), "Cases out of order");
+        assertEquals(List.of(unknown), result.getMissing(), "Unknown ID not reported missing");
+        assertEquals(List.of(task.getId()), result.getResults().get(2).getTasks(), "Task IDs not fetched");
+    }
+
+    /**
+     * Tasks come back in request order with their parent case IDs
+     */
+    @DisplayName("Batch fetches tasks in request order")
+    @Test
+    public void fetchesTasksInRequestOrder() {
+        UUID caseId = createCase("BATCH/tasks").getId();
+        List<UUID> taskIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            taskIds.add(createTask(caseId, "Batch task " + i).getId());
+        }
+        UUID unknown = UUID.randomUUID();
+        List<UUID> requested = List.of(taskIds.get(2), unknown, taskIds.get(0), taskIds.get(1));
+
+        BatchResult<TaskDto> result = daoService.getTasks(requested);
+        assertEquals(List.of(taskIds.get(2), taskIds.get(0), taskIds.get(1)),
+                     result.getResults().stream().map(TaskDto::getId).toList(), "Tasks out of order");
+        assertEquals(List.of(unknown), result.getMissing(), "Unknown ID not reported missing");
+        assertTrue(result.getResults().stream().allMatch(taskDto -> caseId.equals(taskDto.getParentCase())),
+                   "Parent case not set");
+    }
+
+    /**
+     * Lists over the configured maximum are refused
+     */
+    @DisplayName("Refuses a batch over the maximum")
+    @Test
+    public void refusesTooManyIds() {
+        List<UUID> requested = new ArrayList<>();
+        for (int i = 0; i < 21; i++) {
+            requested.add(UUID.randomUUID());
+        }
+        assertThrows(IllegalArgumentException.class, () -> daoService.getCases(requested), "Oversized batch accepted");
+    }
+}
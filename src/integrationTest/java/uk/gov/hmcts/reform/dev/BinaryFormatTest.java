@@ -0,0 +1,138 @@
+package uk.gov.hmcts.reform.dev;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import uk.gov.hmcts.reform.dev.dto.CaseDto;
+import uk.gov.hmcts.reform.dev.dto.TaskDto;
+import uk.gov.hmcts.reform.dev.services.DAOService;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class BinaryFormatTest {
+
+    @Autowired
+    private transient MockMvc mockMvc;
+
+    @Autowired
+    private DAOService daoService;
+
+    ObjectMapper cborMapper = CBORMapper.builder()
+        .findAndAddModules()
+        .build();
+
+    ObjectMapper smileMapper = SmileMapper.builder()
+        .findAndAddModules()
+        .build();
+
+    private CaseDto exampleCase(String caseNumber) {
+        CaseDto caseDto = new CaseDto();
+        caseDto.setCaseNumber(caseNumber);
+        caseDto.setTitle("Binary Case");
+        caseDto.setDescription("Case posted without any JSON");
+        caseDto.setStatus("Ongoing");
+        caseDto.setCreatedDate(LocalDateTime.of(2025, 3, 15, 10, 45));
+        return caseDto;
+    }
+
+    /**
+     * Round trips a case through the API in both binary formats, body and response
+     */
+    @DisplayName("Cases can be created and fetched as CBOR and Smile")
+    @Test
+    public void binaryRoundTrip() throws Exception {
+        for (String type : new String[]{"application/cbor", "application/x-jackson-smile"}) {
+            ObjectMapper mapper = type.equals("application/cbor") ? cborMapper : smileMapper;
+            CaseDto caseDto = exampleCase("BIN/" + type);
+
+            MvcResult result = mockMvc.perform(
+                    post("/case")
+                        .contentType(type)
+                        .accept(type)
+                        .content(mapper.writeValueAsBytes(caseDto)))
+                .andExpect(status().isOk()).andReturn();
+
+            assertEquals(type, result.getResponse().getContentType(), "Create did not answer in requested format");
+            CaseDto created = mapper.readValue(result.getResponse().getContentAsByteArray(), CaseDto.class);
+            assertNotNull(created.getId(), "Case id not provided from binary create");
+
+            result = mockMvc.perform(get("/case/" + created.getId()).accept(type))
+                .andExpect(status().isOk()).andReturn();
+
+            CaseDto fetched = mapper.readValue(result.getResponse().getContentAsByteArray(), CaseDto.class);
+            assertEquals(caseDto.getCaseNumber(), fetched.getCaseNumber(), "Case number differs after round trip");
+            assertEquals(caseDto.getCreatedDate(), fetched.getCreatedDate(), "Created date differs after round trip");
+        }
+    }
+
+    /**
+     * UUIDs are written as 16 raw bytes in the binary formats
+     */
+    private static UUID uuid(JsonNode node) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(node.binaryValue());
+        return new UUID(bytes.getLong(), bytes.getLong());
+    }
+
+    /**
+     * Check a binary page has the same HAL envelope JSON clients get, returning its single embedded item
+     */
+    private JsonNode embeddedItem(MvcResult result, ObjectMapper mapper, String type) throws Exception {
+        assertEquals(type, result.getResponse().getContentType(), "Page not answered in requested format");
+        JsonNode page = mapper.readTree(result.getResponse().getContentAsByteArray());
+        assertTrue(page.has("_links"), "HAL links missing: " + page);
+        assertEquals(1, page.path("page").path("totalElements").asInt(), "Page metadata missing: " + page);
+        JsonNode embedded = page.path("_embedded");
+        assertEquals(1, embedded.size(), "HAL embedded items missing: " + page);
+        JsonNode items = embedded.elements().next();
+        assertEquals(1, items.size(), "Wrong number of embedded items: " + page);
+        return items.get(0);
+    }
+
+    /**
+     * Search and task pages keep the HAL envelope in both binary formats
+     */
+    @DisplayName("Case search and task pages are HAL in CBOR and Smile")
+    @Test
+    public void binaryPagesAreHal() throws Exception {
+        for (String type : new String[]{"application/cbor", "application/x-jackson-smile"}) {
+            ObjectMapper mapper = type.equals("application/cbor") ? cborMapper : smileMapper;
+            CaseDto created = daoService.saveCase(exampleCase("BIN/PAGE/" + type));
+            TaskDto task = daoService.saveTask(new TaskDto(null, "Binary Task", null, "Pending", null,
+                                                           created.getId()));
+
+            MvcResult search = mockMvc.perform(
+                    post("/case/search")
+                        .param("searchString", "BIN/PAGE/" + type)
+                        .accept(type))
+                .andExpect(status().isOk()).andReturn();
+            JsonNode foundCase = embeddedItem(search, mapper, type);
+            assertEquals(created.getId(), uuid(foundCase.path("id")), "Wrong case embedded");
+
+            MvcResult tasks = mockMvc.perform(get("/task/forCase/" + created.getId()).accept(type))
+                .andExpect(status().isOk()).andReturn();
+            JsonNode foundTask = embeddedItem(tasks, mapper, type);
+            assertEquals(task.getId(), uuid(foundTask.path("id")), "Wrong task embedded");
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.dto.CaseDto;
+import uk.gov.hmcts.reform.dev.models.Case;
+import uk.gov.hmcts.reform.dev.repositories.CaseRepository;
+import uk.gov.hmcts.reform.dev.services.DAOService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class CaseNumberIndexTest {
+
+    @Autowired
+    private DAOService daoService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    private UUID saveCase(String caseNumber) {
+        return daoService.saveCase(new CaseDto(null, caseNumber, "Title " + caseNumber, "Description", "Ongoing",
+                                               LocalDateTime.now(), new ArrayList<>())).getId();
+    }
+
+    /**
+     * Renumbering a case to a number another case holds is rejected and leaves both numbers resolving as before
+     */
+    @DisplayName("Renumbering to a taken case number is rejected without corrupting the index")
+    @Test
+    public void rejectsDuplicateRenumber() {
+        UUID first = saveCase("INDEX/first");
+        UUID second = saveCase("INDEX/second");
+
+        assertThrows(DataIntegrityViolationException.class,
+                     () -> daoService.updateCaseProperty(second, "INDEX/first", "caseNumber"),
+                     "Renumbered to a taken case number");
+
+        assertEquals(Optional.of(first), daoService.findCaseId("INDEX/first"), "Holder of the number lost");
+        assertEquals(Optional.of(second), daoService.findCaseId("INDEX/second"), "Previous number lost");
+        assertEquals(first, daoService.getCaseByNumber("INDEX/first").orElseThrow().getId(), "Wrong case read");
+    }
+
+    /**
+     * A committed renumber moves the case to its new number and frees the old one for another case
+     */
+    @DisplayName("Renumbering a case frees its previous number once committed")
+    @Test
+    public void renumbersCase() {
+        UUID id = saveCase("INDEX/before");
+
+        daoService.updateCaseProperty(id, "INDEX/after", "caseNumber");
+
+        assertEquals(Optional.of(id), daoService.findCaseId("INDEX/after"), "New number not indexed");
+        assertTrue(daoService.findCaseId("INDEX/before").isEmpty(), "Previous number still indexed");
+        UUID reused = saveCase("INDEX/before");
+        assertEquals(Optional.of(reused), daoService.findCaseId("INDEX/before"), "Freed number not reusable");
+    }
+
+    /**
+     * Numbers reserved by a transaction that rolls back are released, the case keeps resolving by its old number
+     */
+    @DisplayName("Rolled back saves and renumbers release only what they reserved")
+    @Test
+    public void releasesOnRollback() {
+        UUID id = saveCase("INDEX/kept");
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            daoService.updateCaseProperty(id, "INDEX/renumbered", "caseNumber");
+            saveCase("INDEX/unsaved");
+            assertEquals(Optional.of(id), daoService.findCaseId("INDEX/renumbered"),
+                         "Reservation not visible within its transaction");
+            tx.setRollbackOnly();
+        });
+
+        assertEquals(Optional.of(id), daoService.findCaseId("INDEX/kept"), "Old number lost on rollback");
+        assertTrue(daoService.findCaseId("INDEX/renumbered").isEmpty(), "Rolled back renumber still indexed");
+        assertTrue(daoService.findCaseId("INDEX/unsaved").isEmpty(), "Rolled back save still indexed");
+        assertEquals("INDEX/kept", daoService.getCase(id).orElseThrow().getCaseNumber(), "Renumber not rolled back");
+    }
+
+    /**
+     * A case written without going through the index (by another writer) is still found by number
+     */
+    @DisplayName("Case number lookups fall back to the cases table on an index miss")
+    @Test
+    public void fallsBackToCasesTable() {
+        UUID id = caseRepository.save(new Case("INDEX/unindexed", "Title", "Description", "Ongoing",
+                                               LocalDateTime.now())).getId();
+
+        assertTrue(daoService.findCaseId("INDEX/unindexed").isEmpty(), "Case indexed without DAOService");
+        assertEquals(id, daoService.getCaseByNumber("INDEX/unindexed").orElseThrow().getId(), "Live case not found");
+        assertTrue(daoService.getCaseByNumber("INDEX/missing").isEmpty(), "Found an unknown case number");
+    }
+
+}
@@ -0,0 +1,155 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.dto.CaseDto;
+import uk.gov.hmcts.reform.dev.dto.ChangeEvent;
+import uk.gov.hmcts.reform.dev.services.ChangeStream;
+import uk.gov.hmcts.reform.dev.services.DAOService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = {
+    "change-stream.buffer-size=4",
+    "change-stream.dispatch-threads=1"
+})
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class ChangeStreamTest {
+
+    private static final long WAIT_SECONDS = 5;
+
+    @Autowired
+    private transient MockMvc mockMvc;
+
+    @Autowired
+    private DAOService daoService;
+
+    @Autowired
+    private ChangeStream changeStream;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private MvcResult subscribe(String query) throws Exception {
+        return mockMvc.perform(get("/changes" + query)).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private UUID saveCase(String caseNumber, String status) {
+        return daoService.saveCase(new CaseDto(null, caseNumber, "Title", "Description", status,
+                                               LocalDateTime.now(), new ArrayList<>())).getId();
+    }
+
+    /**
+     * Wait for text to appear on a subscription, returning everything received so far either way
+     */
+    private String await(MvcResult subscription, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(WAIT_SECONDS);
+        String content = subscription.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            content = subscription.getResponse().getContentAsString();
+        }
+        return content;
+    }
+
+    /**
+     * Every subscriber receives its own copy of a change
+     */
+    @DisplayName("Changes are fanned out to every subscriber")
+    @Test
+    public void fansOutToEverySubscriber() throws Exception {
+        MvcResult first = subscribe("");
+        MvcResult second = subscribe("");
+        assertEquals(2, changeStream.subscriberCount(), "Subscribers not registered");
+
+        UUID id = saveCase("STREAM/fan-out", "Ongoing");
+
+        assertTrue(await(first, id.toString()).contains("event:case"), "First subscriber missed the change");
+        assertTrue(await(second, id.toString()).contains("event:case"), "Second subscriber missed the change");
+    }
+
+    /**
+     * Nothing is published while the transaction is open, and nothing at all if it rolls back
+     */
+    @DisplayName("Changes are published only once committed")
+    @Test
+    public void publishesOnlyAfterCommit() throws Exception {
+        MvcResult subscription = subscribe("");
+        AtomicReference<UUID> committed = new AtomicReference<>();
+        AtomicReference<UUID> rolledBack = new AtomicReference<>();
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            rolledBack.set(saveCase("STREAM/rolled-back", "Ongoing"));
+            tx.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(tx -> {
+            committed.set(saveCase("STREAM/committed", "Ongoing"));
+            try {
+                assertFalse(subscription.getResponse().getContentAsString().contains(committed.get().toString()),
+                            "Change published before commit");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        String content = await(subscription, committed.get().toString());
+        assertTrue(content.contains(committed.get().toString()), "Committed change not published");
+        assertFalse(content.contains(rolledBack.get().toString()), "Rolled back change published");
+    }
+
+    /**
+     * Case and status filters only pass matching changes
+     */
+    @DisplayName("Subscriptions only receive changes matching their filters")
+    @Test
+    public void filtersChanges() throws Exception {
+        UUID watched = saveCase("STREAM/watched", "Ongoing");
+        MvcResult byCase = subscribe("?caseId=" + watched);
+        MvcResult byStatus = subscribe("?status=Completed");
+
+        UUID completed = saveCase("STREAM/completed", "Completed");
+        daoService.updateCaseProperty(watched, "Renamed", "title");
+
+        String caseContent = await(byCase, watched.toString());
+        String statusContent = await(byStatus, completed.toString());
+        assertTrue(caseContent.contains(watched.toString()), "Watched case change missed");
+        assertFalse(caseContent.contains(completed.toString()), "Other case change passed the case filter");
+        assertTrue(statusContent.contains(completed.toString()), "Completed case change missed");
+        assertFalse(statusContent.contains(watched.toString()), "Ongoing case change passed the status filter");
+    }
+
+    /**
+     * A subscriber that falls a full buffer behind is told to resync rather than blocking the publisher
+     */
+    @DisplayName("Overflowing a subscriber's buffer sends it a resync")
+    @Test
+    public void resyncsOnOverflow() throws Exception {
+        MvcResult subscription = subscribe("");
+
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            changeStream.publish(new ChangeEvent(ChangeEvent.Type.UPDATED, ChangeEvent.Entity.CASE, id, id, "Ongoing"));
+        }
+
+        assertTrue(changeStream.droppedCount() > 0, "Buffer never overflowed");
+        assertTrue(await(subscription, "event:" + ChangeStream.RESYNC).contains("event:" + ChangeStream.RESYNC),
+                   "Resync not sent after overflow");
+    }
+
+}
@@ -0,0 +1,92 @@
+package uk.gov.hmcts.reform.dev;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import uk.gov.hmcts.reform.dev.dto.CaseDto;
+import uk.gov.hmcts.reform.dev.dto.ExpandedCaseDto;
+import uk.gov.hmcts.reform.dev.dto.TaskDto;
+import uk.gov.hmcts.reform.dev.services.DAOService;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"expand.max-tasks=2", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class ExpandTest {
+
+    @Autowired
+    private DAOService daoService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UUID createCaseWithTasks(String caseNumber, int tasks) {
+        CaseDto caseDto = new CaseDto();
+        caseDto.setCaseNumber(caseNumber);
+        caseDto.setTitle("Expand case " + caseNumber);
+        caseDto.setStatus("Ongoing");
+        caseDto.setCreatedDate(LocalDateTime.now());
+        UUID caseId = daoService.saveCase(caseDto).getId();
+        for (int i = 0; i < tasks; i++) {
+            TaskDto taskDto = new TaskDto();
+            taskDto.setTitle("Expand task " + i);
+            taskDto.setStatus("Pending");
+            taskDto.setParentCase(caseId);
+            daoService.saveTask(taskDto);
+        }
+        return caseId;
+    }
+
+    /**
+     * An expanded case embeds its tasks up to the cap while still listing every task ID
+     */
+    @DisplayName("Expanded case embeds its tasks up to the cap")
+    @Test
+    public void expandsCase() {
+        UUID caseId = createCaseWithTasks("EXPAND/single", 3);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ExpandedCaseDto expanded = daoService.getExpandedCase(caseId).orElseThrow();
+        assertEquals(3, statistics.getEntityLoadCount(), "Tasks past the cap loaded");
+        assertEquals(3, expanded.getTasks().size(), "Task IDs not all listed");
+        assertEquals(2, expanded.getTaskDetails().size(), "Embedded tasks not capped");
+        assertEquals(expanded.getTasks().subList(0, 2),
+                     expanded.getTaskDetails().stream().map(TaskDto::getId).toList(), "Embedded tasks out of order");
+        assertEquals(caseId, expanded.getTaskDetails().getFirst().getParentCase(), "Parent case not set");
+        assertTrue(daoService.getExpandedCase(UUID.randomUUID()).isEmpty(), "Found an unknown case");
+    }
+
+    /**
+     * An expanded search page loads its cases' tasks in a fixed number of queries rather than one per case, and
+     * never loads tasks past the cap
+     */
+    @DisplayName("Expanded search loads every case's tasks without N+1 queries")
+    @Test
+    public void expandsSearchWithoutNPlusOne() {
+        for (int i = 0; i < 5; i++) {
+            createCaseWithTasks("EXPAND/" + i, 3);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<ExpandedCaseDto> page = daoService.searchCasesExpanded("EXPAND/", PageRequest.of(0, 10));
+
+        assertEquals(5, page.getNumberOfElements(), "Wrong number of cases found");
+        assertTrue(page.getContent().stream().allMatch(c -> c.getTaskDetails().size() == 2),
+                   "Tasks not embedded in every case");
+        assertTrue(statistics.getPrepareStatementCount() <= 4,
+                   "Tasks loaded per case, " + statistics.getPrepareStatementCount() + " statements");
+        assertEquals(5 + 5 * 2, statistics.getEntityLoadCount(), "Tasks past the cap loaded");
+    }
+}
@@ -0,0 +1,64 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import uk.gov.hmcts.reform.dev.services.CaseArchiver;
+import uk.gov.hmcts.reform.dev.services.CaseNumberIndex;
+import uk.gov.hmcts.reform.dev.services.ChangeStream;
+import uk.gov.hmcts.reform.dev.services.DAOService;
+import uk.gov.hmcts.reform.dev.services.StatusDictionary;
+import uk.gov.hmcts.reform.dev.services.TaskWriteBehind;
+import uk.gov.hmcts.reform.dev.web.StartupReport;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the fast-start profile against a schema created by a normal start, as a rolling deploy would
+ */
+public class FastStartTest {
+
+    private static final String URL = "spring.datasource.url=jdbc:h2:mem:fast-start;DB_CLOSE_DELAY=-1";
+
+    private static final List<Class<?>> EAGER_BEANS = List.of(
+        StatusDictionary.class, CaseNumberIndex.class, TaskWriteBehind.class, ChangeStream.class,
+        StartupReport.class, CaseArchiver.class
+    );
+
+    /**
+     * The schema validates, the app starts lazily and the beans running background work are created at startup
+     * regardless
+     */
+    @DisplayName("Fast-start profile boots with the background beans created eagerly")
+    @Test
+    public void fastStartBoots() {
+        // A normal start creates the schema the fast-start profile only validates
+        new SpringApplicationBuilder(Application.class)
+            .web(WebApplicationType.NONE)
+            .properties(URL, "warm-up.enabled=false")
+            .run()
+            .close();
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+            .web(WebApplicationType.NONE)
+            .profiles("fast-start")
+            .properties(URL, "warm-up.enabled=false", "archive.enabled=true")
+            .run()) {
+            ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+            for (Class<?> type : EAGER_BEANS) {
+                String[] names = beanFactory.getBeanNamesForType(type, false, false);
+                assertEquals(1, names.length, "No single " + type.getSimpleName() + " bean");
+                assertTrue(beanFactory.containsSingleton(names[0]),
+                           type.getSimpleName() + " not created at startup under lazy initialisation");
+            }
+            assertTrue(context.getBean(DAOService.class).getCase(UUID.randomUUID()).isEmpty(),
+                       "Lazily created DAOService could not read");
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package uk.gov.hmcts.reform.dev;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import uk.gov.hmcts.reform.dev.dto.CaseDto;
+import uk.gov.hmcts.reform.dev.web.AdmissionControlFilter;
+import uk.gov.hmcts.reform.dev.web.AdmissionControlFilter.RouteClass;
+import uk.gov.hmcts.reform.dev.web.IdempotencyStore;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class IdempotencyTest {
+
+    @Autowired
+    private transient MockMvc mockMvc;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private AdmissionControlFilter admissionControlFilter;
+
+    ObjectMapper objectMapper = JsonMapper.builder()
+        .findAndAddModules()
+        .build();
+
+    /**
+     * Test a retried create with the same Idempotency-Key replays the first response rather than failing on the
+     * case number constraint
+     */
+    @DisplayName("Retried case creation with the same Idempotency-Key is replayed")
+    @Test
+    public void retriedCreateIsReplayed() throws Exception {
+        CaseDto caseDto = new CaseDto();
+        caseDto.setCaseNumber("IDEMPOTENT/1");
+        caseDto.setTitle("Test Case");
+        caseDto.setDescription("This is a test Case");
+        caseDto.setStatus("Ongoing");
+        String body = objectMapper.writeValueAsString(caseDto);
+
+        MvcResult first = mockMvc.perform(
+                post("/case")
+                    .header("Idempotency-Key", "retry-key")
+                    .contentType("application/json")
+                    .content(body))
+            .andExpect(status().isOk()).andReturn();
+
+        MvcResult retry = mockMvc.perform(
+                post("/case")
+                    .header("Idempotency-Key", "retry-key")
+                    .contentType("application/json")
+                    .content(body))
+            .andExpect(status().isOk()).andReturn();
+
+        assertEquals("true", retry.getResponse().getHeader("Idempotent-Replayed"), "Retry was not replayed");
+        assertEquals(first.getResponse().getContentAsString(), retry.getResponse().getContentAsString(),
+                     "Replayed response differs from the original");
+
+        mockMvc.perform(
+                post("/case")
+                    .header("Idempotency-Key", "other-key")
+                    .contentType("application/json")
+                    .content(body))
+            .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test reusing an Idempotency-Key for a different body is refused rather than replaying the first response
+     */
+    @DisplayName("Idempotency-Key reused with a different body is rejected with 422")
+    @Test
+    public void reusedKeyWithDifferentBodyIsRejected() throws Exception {
+        CaseDto caseDto = new CaseDto();
+        caseDto.setCaseNumber("IDEMPOTENT/2");
+        caseDto.setTitle("Test Case");
+        caseDto.setDescription("This is a test Case");
+        caseDto.setStatus("Ongoing");
+
+        mockMvc.perform(
+                post("/case")
+                    .header("Idempotency-Key", "reused-key")
+                    .contentType("application/json")
+                    .content(objectMapper.writeValueAsString(caseDto)))
+            .andExpect(status().isOk());
+
+        caseDto.setCaseNumber("IDEMPOTENT/3");
+        MvcResult reused = mockMvc.perform(
+                post("/case")
+                    .header("Idempotency-Key", "reused-key")
+                    .contentType("application/json")
+                    .content(objectMapper.writeValueAsString(caseDto)))
+            .andExpect(status().isUnprocessableEntity()).andReturn();
+
+        assertNull(reused.getResponse().getHeader("Idempotent-Replayed"), "Different body was replayed");
+    }
+
+    /**
+     * Test a duplicate arriving while the original is in progress waits for and replays its response without taking
+     * a write permit from admission control
+     */
+    @DisplayName("Concurrent duplicate waits for the original without holding a write permit")
+    @Test
+    public void concurrentDuplicateHoldsNoPermit() throws Exception {
+        String body = "{\"caseNumber\":\"IDEMPOTENT/4\",\"title\":\"Test Case\",\"status\":\"Ongoing\"}";
+        byte[] bodyHash = MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8));
+        // Stands in for the original request, still being processed
+        assertEquals(IdempotencyStore.ClaimState.OWNER,
+                     idempotencyStore.claim("/case concurrent-key", bodyHash).state(), "Key already claimed");
+        long accepted = admissionControlFilter.snapshot().get(RouteClass.WRITE).accepted();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<MvcResult> duplicate = executor.submit(() -> mockMvc.perform(
+                    post("/case")
+                        .header("Idempotency-Key", "concurrent-key")
+                        .contentType("application/json")
+                        .content(body))
+                .andReturn());
+            Thread.sleep(200);
+            assertFalse(duplicate.isDone(), "Duplicate did not wait for the original");
+            assertEquals(0, admissionControlFilter.snapshot().get(RouteClass.WRITE).inFlight(),
+                         "Waiting duplicate holds a write permit");
+
+            idempotencyStore.complete("/case concurrent-key", new IdempotencyStore.StoredResponse(
+                200, "application/json", "{\"id\":\"original\"}".getBytes(StandardCharsets.UTF_8)
+            ));
+            MvcResult replayed = duplicate.get(5, TimeUnit.SECONDS);
+
+            assertEquals(200, replayed.getResponse().getStatus(), "Duplicate not answered");
+            assertEquals("true", replayed.getResponse().getHeader("Idempotent-Replayed"), "Duplicate not replayed");
+            assertEquals("{\"id\":\"original\"}", replayed.getResponse().getContentAsString(),
+                         "Original response not replayed");
+            assertEquals(accepted, admissionControlFilter.snapshot().get(RouteClass.WRITE).accepted(),
+                         "Duplicate admitted as a write");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
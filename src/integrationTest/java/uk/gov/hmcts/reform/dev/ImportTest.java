@@ -0,0 +1,75 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import uk.gov.hmcts.reform.dev.repositories.CaseRepository;
+import uk.gov.hmcts.reform.dev.services.CaseImporter;
+import uk.gov.hmcts.reform.dev.services.DAOService;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"import.chunk-size=50", "import.writers=3", "import.max-chunks-in-flight=2"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class ImportTest {
+
+    @Autowired
+    private CaseImporter caseImporter;
+
+    @Autowired
+    private DAOService daoService;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    private static String caseJson(String caseNumber, String title) {
+        return "{\"caseNumber\":\"" + caseNumber + "\",\"title\":\"" + title + "\",\"description\":\"Imported\","
+            + "\"status\":\"Ongoing\",\"createdDate\":\"2025-03-15T10:45:00\"}";
+    }
+
+    /**
+     * Every valid case is saved across chunks and writers, invalid and duplicated cases are rejected without
+     * failing the rest of their chunk
+     */
+    @DisplayName("Imports a chunked JSON array, rejecting invalid and duplicated cases")
+    @Test
+    public void importsCases() throws IOException, InterruptedException {
+        StringJoiner json = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < 1000; i++) {
+            json.add(caseJson("IMPORT/" + i, "Imported case " + i));
+        }
+        json.add(caseJson("IMPORT/7", "Duplicate of an earlier case"));
+        json.add(caseJson("IMPORT/missing-title", ""));
+        json.add("{\"caseNumber\":\"IMPORT/bad-date\",\"title\":\"Bad date\",\"createdDate\":\"yesterday\"}");
+
+        CaseImporter.Report report = caseImporter.importCases(
+            new ByteArrayInputStream(json.toString().getBytes(StandardCharsets.UTF_8))
+        );
+
+        assertEquals(1000, report.cases(), "Wrong number of cases imported");
+        assertEquals(3, report.rejected(), "Wrong number of cases rejected");
+        assertEquals(1000, caseRepository.count(), "Imported cases not all in the cases table");
+        assertEquals("Imported case 7", daoService.getCaseByNumber("IMPORT/7").orElseThrow().getTitle(),
+                     "Duplicate case number overwrote the original");
+        assertTrue(report.bytes() > 0, "Bytes read not reported");
+    }
+
+    /**
+     * Anything but a JSON array is refused before any case is saved
+     */
+    @DisplayName("Rejects an import which is not a JSON array")
+    @Test
+    public void rejectsNonArray() {
+        assertThrows(IllegalArgumentException.class, () -> caseImporter.importCases(
+            new ByteArrayInputStream(caseJson("IMPORT/single", "Single").getBytes(StandardCharsets.UTF_8))
+        ), "Non-array import accepted");
+        assertEquals(0, caseRepository.count(), "Case saved from a refused import");
+    }
+}
@@ -0,0 +1,84 @@
+package uk.gov.hmcts.reform.dev;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest(properties = {
+    "saturation.sample-interval=PT0.05S",
+    "saturation.sustain=PT0.3S",
+    "saturation.pool-usage=0.2"
+})
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class SaturationTest {
+
+    private static final String POOL_STATUS = "$.components.saturation.components.connectionPool.status";
+
+    @Autowired
+    private transient MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Poll readiness until it answers with the expected HTTP status, returning the last response either way
+     */
+    private MvcResult awaitReadiness(int expectedStatus) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        MvcResult result = mockMvc.perform(get("/health/readiness")).andReturn();
+        while (result.getResponse().getStatus() != expectedStatus && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            result = mockMvc.perform(get("/health/readiness")).andReturn();
+        }
+        return result;
+    }
+
+    /**
+     * Holding most of the connection pool past the sustain period takes the node out of readiness, releasing the
+     * connections brings it back
+     */
+    @DisplayName("Readiness goes OUT_OF_SERVICE under sustained pool saturation and recovers")
+    @Test
+    public void readinessFollowsSustainedSaturation() throws Exception {
+        MvcResult ready = awaitReadiness(200);
+        assertEquals(200, ready.getResponse().getStatus(), "Not ready before saturation");
+
+        List<Connection> held = new ArrayList<>();
+        try {
+            for (int i = 0; i < 5; i++) {
+                held.add(dataSource.getConnection());
+            }
+
+            MvcResult saturated = awaitReadiness(503);
+            assertEquals(503, saturated.getResponse().getStatus(), "Still ready under sustained saturation");
+            assertEquals("OUT_OF_SERVICE", JsonPath.read(saturated.getResponse().getContentAsString(), POOL_STATUS),
+                         "Pool saturation not reported");
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+
+        MvcResult recovered = awaitReadiness(200);
+        assertEquals(200, recovered.getResponse().getStatus(), "Not ready again once saturation cleared");
+        assertEquals("UP", JsonPath.read(recovered.getResponse().getContentAsString(), POOL_STATUS),
+                     "Pool saturation not cleared");
+    }
+
+}
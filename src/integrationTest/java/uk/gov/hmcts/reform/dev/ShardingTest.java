@@ -0,0 +1,165 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+import uk.gov.hmcts.reform.dev.dto.CaseDto;
+import uk.gov.hmcts.reform.dev.dto.TaskDto;
+import uk.gov.hmcts.reform.dev.repositories.CaseRepository;
+import uk.gov.hmcts.reform.dev.services.DAOService;
+import uk.gov.hmcts.reform.dev.sharding.ShardContext;
+import uk.gov.hmcts.reform.dev.sharding.ShardRouter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "sharding.enabled=true",
+    "sharding.count=3",
+    "sharding.url-template=jdbc:h2:mem:sharding-test-%d;DB_CLOSE_DELAY=-1",
+    "archive.enabled=false"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class ShardingTest {
+
+    @Autowired
+    private DAOService daoService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    private CaseDto saveCase(String caseNumber) {
+        return daoService.saveCase(new CaseDto(null, caseNumber, "Sharded " + caseNumber, "Description", "Ongoing",
+                                               LocalDateTime.now(), new ArrayList<>()));
+    }
+
+    /**
+     * Cases spread over the shards and each one, with its tasks, reads back from the shard its ID hashes to
+     */
+    @DisplayName("Spreads cases over shards and routes reads by ID")
+    @Test
+    public void routesByShard() {
+        List<CaseDto> cases = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            cases.add(saveCase(String.format("shard-%02d", i)));
+        }
+
+        List<Long> counts = shardRouter.scatter(shard -> caseRepository.count());
+        assertEquals(3, counts.size(), "Wrong number of shards");
+        assertEquals(30, counts.stream().mapToLong(Long::longValue).sum(), "Cases lost across shards");
+        assertTrue(counts.stream().allMatch(count -> count > 0), "A shard received no cases: " + counts);
+
+        CaseDto parent = cases.get(7);
+        TaskDto task = daoService.saveTask(new TaskDto(null, "Task", "Description", "Pending", null,
+                                                       parent.getId()));
+        assertEquals(ShardContext.shardOf(parent.getId()), ShardContext.shardOf(task.getId()),
+                     "Task ID not on its case's shard");
+
+        assertEquals("shard-07", daoService.getCase(parent.getId()).orElseThrow().getCaseNumber(),
+                     "Case not found on its shard");
+        assertEquals(List.of(task.getId()), daoService.getCase(parent.getId()).orElseThrow().getTasks(),
+                     "Case lost its task");
+        assertEquals(parent.getId(), daoService.getTask(task.getId()).orElseThrow().getParentCase(),
+                     "Task not found on its shard");
+        assertEquals(parent.getId(), daoService.getCaseByNumber("shard-07").orElseThrow().getId(),
+                     "Case not found by number");
+
+        daoService.deleteCase(parent.getId());
+        assertTrue(daoService.getCase(parent.getId()).isEmpty(), "Deleted case still readable");
+        assertTrue(daoService.getTask(task.getId()).isEmpty(), "Deleted case's task still readable");
+    }
+
+    /**
+     * Pages of a search merged from every shard match the order and total of an unsharded search
+     */
+    @DisplayName("Merges search pages across shards")
+    @Test
+    public void mergesSearchPages() {
+        for (int i = 0; i < 12; i++) {
+            saveCase(String.format("merge-%02d", i));
+        }
+
+        Sort sort = Sort.by("caseNumber");
+        List<String> seen = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            Page<CaseDto> results = daoService.searchCases("Sharded merge", PageRequest.of(page, 5, sort));
+            assertEquals(12, results.getTotalElements(), "Wrong total across shards");
+            results.forEach(result -> seen.add(result.getCaseNumber()));
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            expected.add(String.format("merge-%02d", i));
+        }
+        assertEquals(expected, seen, "Merged pages out of order or overlapping");
+    }
+
+    /**
+     * Case numbers stay unique across shards even though each shard's constraint only covers its own cases
+     */
+    @DisplayName("Rejects a case number already used on another shard")
+    @Test
+    public void caseNumbersUniqueAcrossShards() {
+        saveCase("unique-1");
+        for (int i = 0; i < 10; i++) {
+            assertThrows(DataIntegrityViolationException.class, () -> saveCase("unique-1"),
+                         "Duplicate case number accepted");
+        }
+    }
+
+    /**
+     * Concurrent creates of one case number, landing on different shards, leave exactly one case with it
+     */
+    @DisplayName("Concurrent creates of one case number across shards keep it unique")
+    @Test
+    public void concurrentCaseNumbersUniqueAcrossShards() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 10; round++) {
+                String caseNumber = "race-" + round;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Boolean>> results = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        try {
+                            saveCase(caseNumber);
+                            return true;
+                        } catch (DataIntegrityViolationException e) {
+                            return false;
+                        }
+                    }));
+                }
+                start.countDown();
+                int created = 0;
+                for (Future<Boolean> result : results) {
+                    created += result.get() ? 1 : 0;
+                }
+
+                assertEquals(1, created, "Wrong number of creates of " + caseNumber + " accepted");
+                assertEquals(1, shardRouter.scatter(shard -> caseRepository.findFirstByCaseNumber(caseNumber))
+                    .stream().filter(Optional::isPresent).count(), "Case number " + caseNumber + " duplicated");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
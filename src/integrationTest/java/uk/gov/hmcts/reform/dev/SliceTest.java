@@ -0,0 +1,109 @@
+package uk.gov.hmcts.reform.dev;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+import uk.gov.hmcts.reform.dev.dto.CaseDto;
+import uk.gov.hmcts.reform.dev.dto.SliceResult;
+import uk.gov.hmcts.reform.dev.dto.TaskDto;
+import uk.gov.hmcts.reform.dev.services.DAOService;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "slice.approximate-count-limit=4", "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class SliceTest {
+
+    @Autowired
+    private DAOService daoService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UUID createCase(String caseNumber) {
+        CaseDto caseDto = new CaseDto();
+        caseDto.setCaseNumber(caseNumber);
+        caseDto.setTitle("Slice case " + caseNumber);
+        caseDto.setStatus("Ongoing");
+        caseDto.setCreatedDate(LocalDateTime.now());
+        return daoService.saveCase(caseDto).getId();
+    }
+
+    /**
+     * Slices tell whether there is a next slice without running a count query
+     */
+    @DisplayName("Search slices detect the next slice without counting")
+    @Test
+    public void searchSliceWithoutCount() {
+        for (int i = 0; i < 5; i++) {
+            createCase("SLICE/" + i);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        PageRequest first = PageRequest.of(0, 2, Sort.by("caseNumber"));
+        SliceResult<CaseDto> slice = daoService.searchCasesSlice("SLICE/", first, false, false);
+        assertEquals(2, slice.getContent().size(), "Wrong slice size");
+        assertEquals("SLICE/0", slice.getContent().getFirst().getCaseNumber(), "Slice out of order");
+        assertTrue(slice.isHasNext(), "Next slice not detected");
+        assertNull(slice.getApproximateTotal(), "Counted without asking");
+        assertTrue(Arrays.stream(statistics.getQueries()).noneMatch(query -> query.contains("count(")),
+                   "Count query run: " + Arrays.toString(statistics.getQueries()));
+
+        SliceResult<CaseDto> last = daoService.searchCasesSlice("SLICE/", first.withPage(2), false, false);
+        assertEquals(1, last.getContent().size(), "Wrong last slice size");
+        assertFalse(last.isHasNext(), "Next slice after the last");
+    }
+
+    /**
+     * Approximate counts stop at the limit, and are exact on the last slice
+     */
+    @DisplayName("Approximate counts are capped, exact on the last slice")
+    @Test
+    public void approximateCount() {
+        for (int i = 0; i < 6; i++) {
+            createCase("APPROX/" + i);
+        }
+        SliceResult<CaseDto> capped = daoService.searchCasesSlice("APPROX/", PageRequest.of(0, 2), true, false);
+        assertEquals(4, capped.getApproximateTotal(), "Count not capped at the limit");
+        assertTrue(capped.isApproximateTotalCapped(), "Capped count not flagged");
+
+        SliceResult<CaseDto> last = daoService.searchCasesSlice("APPROX/", PageRequest.of(1, 4), true, false);
+        assertEquals(6, last.getApproximateTotal(), "Last slice count not exact");
+        assertFalse(last.isApproximateTotalCapped(), "Exact count flagged as capped");
+    }
+
+    /**
+     * Tasks of a case can be sliced too
+     */
+    @DisplayName("Task slices for a case")
+    @Test
+    public void taskSlice() {
+        UUID caseId = createCase("SLICE/tasks");
+        for (int i = 0; i < 3; i++) {
+            TaskDto taskDto = new TaskDto();
+            taskDto.setTitle("Slice task " + i);
+            taskDto.setStatus("Pending");
+            taskDto.setParentCase(caseId);
+            daoService.saveTask(taskDto);
+        }
+        SliceResult<TaskDto> slice = daoService.getTasksForParentSlice(caseId, PageRequest.of(0, 2), true);
+        assertEquals(2, slice.getContent().size(), "Wrong slice size");
+        assertTrue(slice.isHasNext(), "Next slice not detected");
+        assertEquals(3, slice.getApproximateTotal(), "Count below the limit not exact");
+        assertFalse(slice.isApproximateTotalCapped(), "Count below the limit flagged as capped");
+    }
+}
@@ -0,0 +1,164 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import uk.gov.hmcts.reform.dev.dto.CaseDto;
+import uk.gov.hmcts.reform.dev.dto.TaskDto;
+import uk.gov.hmcts.reform.dev.services.CaseArchiver;
+import uk.gov.hmcts.reform.dev.services.DAOService;
+import uk.gov.hmcts.reform.dev.services.DatasetSnapshot;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "archive.enabled=false",
+    "write-behind.enabled=true",
+    "write-behind.flush-interval=PT1H"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class SnapshotTest {
+
+    @Autowired
+    private DAOService daoService;
+
+    @Autowired
+    private DatasetSnapshot datasetSnapshot;
+
+    @Autowired
+    private CaseArchiver caseArchiver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Cases and tasks written to a snapshot and restored into an empty database read back identically
+     */
+    @DisplayName("Restores a snapshot to the same cases and tasks")
+    @Test
+    public void snapshotRoundTrip(@TempDir Path directory) throws IOException {
+        LocalDateTime created = LocalDateTime.of(2025, 3, 15, 10, 45, 30, 123_000_000);
+        CaseDto first = daoService.saveCase(new CaseDto(null, "SNAP/1", "First", "Described", "Snapshot Status",
+                                                        created, new ArrayList<>()));
+        CaseDto second = daoService.saveCase(new CaseDto(null, "SNAP/2", "Second é", null, null, null,
+                                                         new ArrayList<>()));
+        TaskDto task = daoService.saveTask(new TaskDto(null, "Task", null, "Pending", created.plusDays(1),
+                                                       first.getId()));
+        TaskDto undated = daoService.saveTask(new TaskDto(null, "Undated", "Task", null, null, first.getId()));
+
+        Path file = directory.resolve("snapshot.bin");
+        DatasetSnapshot.Report written = datasetSnapshot.snapshot(file);
+        assertEquals(2, written.cases(), "Wrong number of cases written");
+        assertEquals(2, written.tasks(), "Wrong number of tasks written");
+        assertEquals(Files.size(file), written.bytes(), "Wrong snapshot size reported");
+
+        assertThrows(IllegalStateException.class, () -> datasetSnapshot.restore(file),
+                     "Restored into a database holding cases");
+
+        daoService.deleteCase(first.getId());
+        daoService.deleteCase(second.getId());
+
+        DatasetSnapshot.Report restored = datasetSnapshot.restore(file);
+        assertEquals(2, restored.cases(), "Wrong number of cases restored");
+        assertEquals(2, restored.tasks(), "Wrong number of tasks restored");
+
+        CaseDto firstRestored = daoService.getCase(first.getId()).orElseThrow();
+        assertEquals("SNAP/1", firstRestored.getCaseNumber(), "Case number not restored");
+        assertEquals("Snapshot Status", firstRestored.getStatus(), "Status not restored");
+        assertEquals(created, firstRestored.getCreatedDate(), "Created date not restored");
+        assertEquals(List.of(task.getId(), undated.getId()).stream().sorted().toList(),
+                     firstRestored.getTasks().stream().sorted().toList(), "Tasks not restored");
+
+        CaseDto secondRestored = daoService.getCaseByNumber("SNAP/2").orElseThrow();
+        assertEquals("Second é", secondRestored.getTitle(), "Title not restored");
+        assertNull(secondRestored.getDescription(), "Null description not restored");
+        assertNull(secondRestored.getStatus(), "Null status not restored");
+
+        TaskDto taskRestored = daoService.getTask(task.getId()).orElseThrow();
+        assertEquals("Pending", taskRestored.getStatus(), "Task status not restored");
+        assertEquals(created.plusDays(1), taskRestored.getDueDate(), "Task due date not restored");
+        assertEquals(first.getId(), taskRestored.getParentCase(), "Task parent not restored");
+        assertNull(daoService.getTask(undated.getId()).orElseThrow().getDueDate(), "Null due date not restored");
+    }
+
+    /**
+     * Archived cases and tasks are written and restored alongside live ones, and task updates still queued for
+     * write-behind are flushed into the snapshot
+     */
+    @DisplayName("Snapshots include the archive and queued task updates")
+    @Test
+    public void snapshotIncludesArchiveAndQueuedUpdates(@TempDir Path directory) throws Exception {
+        LocalDateTime old = LocalDateTime.now().minusYears(2);
+        CaseDto archivable = daoService.saveCase(new CaseDto(null, "SNAP/old", "Old", null, "Completed", old,
+                                                             new ArrayList<>()));
+        TaskDto archivedTask = daoService.saveTask(new TaskDto(null, "Archived", null, "Completed", null,
+                                                               archivable.getId()));
+        CaseDto live = daoService.saveCase(new CaseDto(null, "SNAP/live", "Live", null, "Ongoing",
+                                                       LocalDateTime.now(), new ArrayList<>()));
+        TaskDto queued = daoService.saveTask(new TaskDto(null, "Queued", null, "Pending", null, live.getId()));
+        assertEquals(1, caseArchiver.archive(LocalDateTime.now().minusYears(1)), "Case not archived");
+        daoService.updateTaskProperty(queued.getId(), "In Progress", "status");
+
+        Path file = directory.resolve("archive.bin");
+        DatasetSnapshot.Report written = datasetSnapshot.snapshot(file);
+        assertEquals(1, written.cases(), "Wrong number of cases written");
+        assertEquals(1, written.tasks(), "Wrong number of tasks written");
+        assertEquals(1, written.archivedCases(), "Wrong number of archived cases written");
+        assertEquals(1, written.archivedTasks(), "Wrong number of archived tasks written");
+
+        daoService.deleteCase(live.getId());
+        assertThrows(IllegalStateException.class, () -> datasetSnapshot.restore(file),
+                     "Restored into a database holding archived cases");
+        jdbcTemplate.update("delete from archived_tasks");
+        jdbcTemplate.update("delete from archived_cases");
+
+        DatasetSnapshot.Report restored = datasetSnapshot.restore(file);
+        assertEquals(1, restored.archivedCases(), "Wrong number of archived cases restored");
+        assertEquals(1, restored.archivedTasks(), "Wrong number of archived tasks restored");
+        assertEquals("In Progress", daoService.getTask(queued.getId()).orElseThrow().getStatus(),
+                     "Queued update missing from the snapshot");
+        CaseDto archivedRestored = daoService.getCaseByNumber("SNAP/old").orElseThrow();
+        assertEquals(archivable.getId(), archivedRestored.getId(), "Archived case not restored");
+        assertEquals(List.of(archivedTask.getId()), archivedRestored.getTasks(), "Archived task not restored");
+    }
+
+    /**
+     * A truncated snapshot is rejected before anything is inserted, so the intact file can still be restored after
+     */
+    @DisplayName("Truncated snapshots are rejected without restoring part of them")
+    @Test
+    public void rejectsTruncatedSnapshot(@TempDir Path directory) throws IOException {
+        CaseDto saved = daoService.saveCase(new CaseDto(null, "SNAP/truncated", "Title", null, "Ongoing",
+                                                        LocalDateTime.now(), new ArrayList<>()));
+        daoService.saveTask(new TaskDto(null, "Task", null, "Pending", null, saved.getId()));
+        Path file = directory.resolve("intact.bin");
+        datasetSnapshot.snapshot(file);
+        daoService.deleteCase(saved.getId());
+
+        Path truncated = directory.resolve("truncated.bin");
+        Files.copy(file, truncated);
+        try (FileChannel channel = FileChannel.open(truncated, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 20);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> datasetSnapshot.restore(truncated),
+                     "Truncated snapshot restored");
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from cases", Long.class),
+                     "Part of a truncated snapshot restored");
+
+        assertEquals(1, datasetSnapshot.restore(file).cases(), "Intact snapshot not restored after a rejected one");
+    }
+}
@@ -0,0 +1,94 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.services.DAOService;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class StatusDictionaryTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DAOService daoService;
+
+    private short insertRow(String name) {
+        short code = jdbcTemplate.queryForObject("select coalesce(max(code), 0) + 1 from statuses", Short.class);
+        jdbcTemplate.update("insert into statuses (code, name) values (?, ?)", code, name);
+        return code;
+    }
+
+    private short storedCode(String name) {
+        return jdbcTemplate.queryForObject("select code from statuses where name = ?", Short.class, name);
+    }
+
+    /**
+     * A name another node already added to the dictionary resolves to that node's code rather than a new one
+     */
+    @DisplayName("New status names reuse a code another node stored for them")
+    @Test
+    public void reusesStoredCode() {
+        short code = insertRow("Added elsewhere");
+
+        assertTrue(Status.all().stream().noneMatch(status -> status.getName().equals("Added elsewhere")),
+                   "Name already interned");
+        assertEquals(code, Status.of("Added elsewhere").getCode(), "Stored code not reused");
+    }
+
+    /**
+     * Codes are allocated past those other nodes have taken, and the allocated code is stored for the name
+     */
+    @DisplayName("New status codes are allocated by the dictionary table")
+    @Test
+    public void allocatesPastStoredCodes() {
+        short taken = insertRow("Taken elsewhere");
+
+        Status status = Status.of("Allocated here");
+
+        assertTrue(status.getCode() > taken, "Allocated a code another node holds");
+        assertEquals(status.getCode(), storedCode("Allocated here"), "Allocated code not stored");
+        assertEquals(taken, Status.of("Taken elsewhere").getCode(), "Code stored elsewhere not resolved");
+    }
+
+    /**
+     * A row using a code another node added after this one loaded the dictionary reads back with its name
+     */
+    @DisplayName("Status codes added by another node resolve when read")
+    @Test
+    public void resolvesCodeAddedElsewhere() {
+        short code = insertRow("Stored elsewhere");
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update(
+            "insert into cases (id, case_number, title, description, status, created_date) values (?, ?, ?, ?, ?, ?)",
+            id, "STATUS/elsewhere", "Title", "Description", code, LocalDateTime.now()
+        );
+
+        assertEquals("Stored elsewhere", daoService.getCase(id).orElseThrow().getStatus(), "Stored code not resolved");
+        assertEquals(code, Status.ofCode(code).getCode(), "Resolved code not interned");
+    }
+
+    /**
+     * Filtering by a name another node added finds it rather than treating it as unknown
+     */
+    @DisplayName("Status names added by another node are found")
+    @Test
+    public void findsNameAddedElsewhere() {
+        short code = insertRow("Found elsewhere");
+
+        assertEquals(code, Status.find("Found elsewhere").orElseThrow().getCode(), "Stored name not found");
+        assertTrue(Status.find("Never stored").isEmpty(), "Unknown name found");
+    }
+
+}
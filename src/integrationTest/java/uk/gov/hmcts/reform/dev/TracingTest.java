@@ -0,0 +1,77 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import uk.gov.hmcts.reform.dev.web.RequestTrace;
+import uk.gov.hmcts.reform.dev.web.TracingFilter;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "tracing.sample-rate=1.0",
+    "tracing.slow-threshold=PT0S"
+})
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class TracingTest {
+
+    @Autowired
+    private transient MockMvc mockMvc;
+
+    @Autowired
+    private TracingFilter tracingFilter;
+
+    /**
+     * Test a valid caller request ID is echoed back and the request's trace covers every stage down to SQL
+     */
+    @DisplayName("Traced search has controller, DAO, repository and SQL spans under the caller's request ID")
+    @Test
+    public void searchIsTraced() throws Exception {
+        MvcResult result = mockMvc.perform(
+                post("/case/search")
+                    .header(TracingFilter.REQUEST_ID_HEADER, "trace-test-1")
+                    .param("searchString", "case"))
+            .andExpect(status().isOk()).andReturn();
+        assertEquals("trace-test-1", result.getResponse().getHeader(TracingFilter.REQUEST_ID_HEADER),
+                     "Request ID not echoed");
+
+        RequestTrace trace = tracingFilter.recent().stream()
+            .filter(recent -> recent.getId().equals("trace-test-1"))
+            .findFirst().orElseThrow();
+        List<String> spans = trace.getSpans().stream().map(RequestTrace.Span::getName).toList();
+        assertTrue(spans.contains("controller CaseController.searchCase"), "Controller span missing: " + spans);
+        assertTrue(spans.contains("dao DAOService.searchCases"), "DAO span missing: " + spans);
+        assertTrue(spans.stream().anyMatch(name -> name.startsWith("repository CaseRepository.")),
+                   "Repository span missing: " + spans);
+        assertTrue(spans.stream().anyMatch(name -> name.startsWith("sql select")),
+                   "SQL span missing: " + spans);
+        assertEquals(0, trace.getSpans().getFirst().getDepth(), "Controller span not outermost");
+        assertTrue(trace.getSpans().stream().allMatch(span -> span.getDurationMicros() >= 0), "Span left open");
+    }
+
+    /**
+     * Test an invalid caller request ID is replaced rather than echoed into headers and logs
+     */
+    @DisplayName("Invalid request ID is replaced")
+    @Test
+    public void invalidRequestIdReplaced() throws Exception {
+        MvcResult result = mockMvc.perform(
+                get("/traces/recent")
+                    .header(TracingFilter.REQUEST_ID_HEADER, "bad id\r\nInjected: header"))
+            .andExpect(status().isOk()).andReturn();
+        String requestId = result.getResponse().getHeader(TracingFilter.REQUEST_ID_HEADER);
+        assertNotNull(requestId, "No request ID assigned");
+        assertNotEquals("bad id\r\nInjected: header", requestId, "Invalid request ID echoed");
+    }
+}
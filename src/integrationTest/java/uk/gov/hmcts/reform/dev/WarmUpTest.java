@@ -0,0 +1,48 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import uk.gov.hmcts.reform.dev.repositories.CaseRepository;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "warm-up.iterations=5")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class WarmUpTest {
+
+    @Autowired
+    private transient MockMvc mockMvc;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @DisplayName("Readiness should be UP with a warm-up report once the warm-up has run")
+    @Test
+    void readinessReportsWarmUp() throws Exception {
+        mockMvc.perform(get("/health/readiness"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("UP"))
+            .andExpect(jsonPath("$.components.warmUp.status").value("UP"))
+            .andExpect(jsonPath("$.components.warmUp.details.paths.createAndSerialise.warmMillis").isNumber());
+    }
+
+    @DisplayName("Warm-up writes should be rolled back")
+    @Test
+    void warmUpLeavesNoData() {
+        assertThat(caseRepository.count()).isZero();
+        assertThat(taskRepository.count()).isZero();
+    }
+}
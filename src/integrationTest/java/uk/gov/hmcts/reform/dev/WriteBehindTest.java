@@ -0,0 +1,167 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.dto.CaseDto;
+import uk.gov.hmcts.reform.dev.dto.CursorPage;
+import uk.gov.hmcts.reform.dev.dto.TaskDto;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.repositories.TaskSearchCriteria;
+import uk.gov.hmcts.reform.dev.services.DAOService;
+import uk.gov.hmcts.reform.dev.services.TaskWriteBehind;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "write-behind.enabled=true",
+    "write-behind.flush-interval=PT1H",
+    "write-behind.batch-size=1000"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class WriteBehindTest {
+
+    @Autowired
+    private DAOService daoService;
+
+    @Autowired
+    private TaskWriteBehind taskWriteBehind;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private UUID saveCase(String caseNumber) {
+        return daoService.saveCase(new CaseDto(null, caseNumber, "Title", "Description", "Ongoing",
+                                               LocalDateTime.now(), new ArrayList<>())).getId();
+    }
+
+    private UUID saveTask(UUID caseId) {
+        return daoService.saveTask(new TaskDto(null, "Task", "Description", "Pending", null, caseId)).getId();
+    }
+
+    private short storedStatus(UUID taskId) {
+        return jdbcTemplate.queryForObject("select status from tasks where id = ?", Short.class, taskId);
+    }
+
+    private String storedTitle(UUID taskId) {
+        return jdbcTemplate.queryForObject("select title from tasks where id = ?", String.class, taskId);
+    }
+
+    /**
+     * A queued update is returned and read back on this node before it reaches the database
+     */
+    @DisplayName("Queued task updates are read back before they are flushed")
+    @Test
+    public void readsOwnWrites() {
+        UUID taskId = saveTask(saveCase("WB/read"));
+
+        assertEquals("Completed", daoService.updateTaskProperty(taskId, "Completed", "status").getStatus(),
+                     "Update not returned");
+        assertEquals("Completed", daoService.getTask(taskId).orElseThrow().getStatus(), "Update not read back");
+        assertEquals(Status.of("Pending").getCode(), storedStatus(taskId), "Update written before a flush");
+        assertEquals(1, taskWriteBehind.pendingCount(), "Update not queued");
+    }
+
+    /**
+     * Everything still queued is written when the application shuts down
+     */
+    @DisplayName("Queued task updates are flushed on shutdown")
+    @Test
+    public void flushesOnShutdown() {
+        UUID taskId = saveTask(saveCase("WB/shutdown"));
+        daoService.updateTaskProperty(taskId, "Completed", "status");
+        daoService.updateTaskProperty(taskId, "Renamed", "title");
+
+        taskWriteBehind.shutdown();
+
+        assertEquals(0, taskWriteBehind.pendingCount(), "Updates left queued");
+        assertEquals(Status.of("Completed").getCode(), storedStatus(taskId), "Status lost on shutdown");
+        assertEquals("Renamed", storedTitle(taskId), "Title lost on shutdown");
+    }
+
+    /**
+     * A synchronous update of the same task carries the queued values with it rather than overwriting them
+     */
+    @DisplayName("Synchronous task updates drain queued values into the same save")
+    @Test
+    public void drainsIntoSynchronousSave() {
+        UUID caseId = saveCase("WB/drain");
+        UUID taskId = saveTask(caseId);
+        daoService.updateTaskProperty(taskId, "Renamed", "title");
+
+        daoService.updateTaskProperty(taskId, caseId.toString(), "parentCase");
+
+        assertEquals(0, taskWriteBehind.pendingCount(), "Queued update not drained");
+        assertEquals("Renamed", storedTitle(taskId), "Queued update lost by the synchronous save");
+        assertEquals("Renamed", daoService.getTask(taskId).orElseThrow().getTitle(), "Queued update not read back");
+    }
+
+    /**
+     * Task search filters on the values tasks are returned with, including queued status changes
+     */
+    @DisplayName("Task search sees queued status updates")
+    @Test
+    public void searchSeesQueuedUpdates() {
+        UUID caseId = saveCase("WB/search");
+        UUID taskId = saveTask(caseId);
+        daoService.updateTaskProperty(taskId, "Completed", "status");
+
+        CursorPage<TaskDto> completed = daoService.searchTasks(
+            new TaskSearchCriteria(null, Set.of("Completed"), null, null, caseId), null, 10
+        );
+        CursorPage<TaskDto> pending = daoService.searchTasks(
+            new TaskSearchCriteria(null, Set.of("Pending"), null, null, caseId), null, 10
+        );
+
+        assertEquals(1, completed.getContent().size(), "Task with a queued status not found by it");
+        assertTrue(pending.getContent().isEmpty(), "Task found by the status it was changed from");
+    }
+
+    /**
+     * Deleting a case drops the queued updates of the tasks deleted with it
+     */
+    @DisplayName("Deleting a case discards its tasks' queued updates")
+    @Test
+    public void discardsOnCaseDelete() {
+        UUID caseId = saveCase("WB/delete");
+        UUID taskId = saveTask(caseId);
+        daoService.updateTaskProperty(taskId, "Completed", "status");
+
+        daoService.deleteCase(caseId);
+
+        assertEquals(0, taskWriteBehind.pendingCount(), "Deleted tasks' updates still queued");
+    }
+
+    /**
+     * An update made in a transaction that rolls back is never queued, as nothing was audited or published for it
+     */
+    @DisplayName("Task updates are only queued once their transaction commits")
+    @Test
+    public void queuesOnlyOnCommit() {
+        UUID taskId = saveTask(saveCase("WB/rollback"));
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            assertEquals("Completed", daoService.updateTaskProperty(taskId, "Completed", "status").getStatus(),
+                         "Update not returned");
+            assertEquals(0, taskWriteBehind.pendingCount(), "Update queued before commit");
+            tx.setRollbackOnly();
+        });
+
+        assertEquals(0, taskWriteBehind.pendingCount(), "Rolled back update queued");
+        taskWriteBehind.flush();
+        assertEquals(Status.of("Pending").getCode(), storedStatus(taskId), "Rolled back update written");
+    }
+
+}
@@ -0,0 +1,121 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.dto.CaseDto;
+import uk.gov.hmcts.reform.dev.models.Case;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repositories.CaseFilter;
+import uk.gov.hmcts.reform.dev.repositories.CaseRepository;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+import uk.gov.hmcts.reform.dev.services.DAOService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the case filters against an in-memory database with the case indexes in place and after dropping them, the
+ * indexed runs should win by a wide margin for the status/created filters
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CaseFilterBenchmark {
+
+    private static final String[] STATUSES = {"Ongoing", "Pending", "In Progress", "Completed"};
+
+    @Param({"indexed", "dropped"})
+    public String indexes;
+
+    @Param({"20000"})
+    public int cases;
+
+    private ConfigurableApplicationContext context;
+    private DAOService daoService;
+    private LocalDateTime start;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:filter-benchmark;DB_CLOSE_DELAY=-1",
+                "search-cache.enabled=false",
+                "logging.level.root=WARN"
+            )
+            .run();
+        daoService = context.getBean(DAOService.class);
+        CaseRepository caseRepository = context.getBean(CaseRepository.class);
+        TaskRepository taskRepository = context.getBean(TaskRepository.class);
+
+        start = LocalDateTime.of(2020, 1, 1, 9, 0);
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(tx -> {
+            List<Case> saved = new ArrayList<>(cases);
+            for (int i = 0; i < cases; i++) {
+                saved.add(new Case("2020/BENCH/" + i, "Case " + i, "description", STATUSES[i % STATUSES.length],
+                                   start.plusHours(i)));
+            }
+            caseRepository.saveAll(saved);
+            List<Task> tasks = new ArrayList<>(cases);
+            for (int i = 0; i < cases; i += 3) {
+                tasks.add(new Task("Task " + i, "description", STATUSES[i % STATUSES.length],
+                                   start.plusHours(i + 24L), saved.get(i)));
+            }
+            taskRepository.saveAll(tasks);
+        });
+
+        if (indexes.equals("dropped")) {
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            jdbc.execute("DROP INDEX CaseStatusCreated");
+            jdbc.execute("DROP INDEX CaseCreated");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<CaseDto> statusAndCreated() {
+        return daoService.filterCases(
+            new CaseFilter(Set.of("Pending"), start.plusDays(100), start.plusDays(110), null, null, null, null, null),
+            PageRequest.of(0, 20)
+        );
+    }
+
+    @Benchmark
+    public Page<CaseDto> createdOnly() {
+        return daoService.filterCases(
+            new CaseFilter(null, start.plusDays(100), start.plusDays(101), null, null, null, null, null),
+            PageRequest.of(0, 20)
+        );
+    }
+
+    @Benchmark
+    public Page<CaseDto> overdueInStatus() {
+        return daoService.filterCases(
+            new CaseFilter(Set.of("Ongoing"), start.plusDays(100), start.plusDays(110), null, null, true, null, null),
+            PageRequest.of(0, 20)
+        );
+    }
+
+}
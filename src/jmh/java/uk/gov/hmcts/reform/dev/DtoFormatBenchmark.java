@@ -0,0 +1,87 @@
+package uk.gov.hmcts.reform.dev;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.hmcts.reform.dev.dto.CaseDto;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares JSON against CBOR and Smile for a page of CaseDto objects, payload size is reported as the payloadBytes
+ * counter and throughput/allocation come from JMH (gc profiler enabled in build.gradle)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DtoFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"20", "1000"})
+    public int pageSize;
+
+    private ObjectMapper mapper;
+    private CollectionType pageType;
+    private List<CaseDto> page;
+    private byte[] encoded;
+
+    /**
+     * Encoded size of the page, set (not summed) so it reads as bytes per payload
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+        public long payloadBytes;
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "cbor" -> CBORMapper.builder().findAndAddModules().build();
+            case "smile" -> SmileMapper.builder().findAndAddModules().build();
+            default -> JsonMapper.builder().findAndAddModules().build();
+        };
+        pageType = mapper.getTypeFactory().constructCollectionType(List.class, CaseDto.class);
+
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            List<UUID> tasks = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+            page.add(new CaseDto(UUID.randomUUID(), "2025/EWHC/" + i, "Smith v Acme Ltd " + i,
+                                 "Claim for unfair dismissal brought before the Employment Tribunal.", "Ongoing",
+                                 LocalDateTime.of(2025, 3, 15, 10, 45).plusMinutes(i), tasks
+            ));
+        }
+        encoded = mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serialise(Payload payload) throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(page);
+        payload.payloadBytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public List<CaseDto> deserialise() throws IOException {
+        return mapper.readValue(encoded, pageType);
+    }
+
+}
@@ -0,0 +1,81 @@
+package uk.gov.hmcts.reform.dev;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import uk.gov.hmcts.reform.dev.dto.CaseDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialises a page of CaseDto objects with the hand written serializers against the stock pattern/toString
+ * serializers (restored through a mix-in), compare gc.alloc.rate.norm between the two modes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DtoSerializerBenchmark {
+
+    /**
+     * Mix-in putting back the default serializers that CaseDto used before the hand written ones
+     */
+    abstract static class StockCaseDto {
+        @JsonSerialize(using = JsonSerializer.None.class)
+        private UUID id;
+
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss", shape = JsonFormat.Shape.STRING)
+        @JsonSerialize(using = JsonSerializer.None.class)
+        private LocalDateTime createdDate;
+
+        @JsonSerialize(contentUsing = JsonSerializer.None.class)
+        private List<UUID> tasks;
+    }
+
+    @Param({"stock", "tuned"})
+    public String serializers;
+
+    @Param({"1000"})
+    public int pageSize;
+
+    private ObjectMapper mapper;
+    private List<CaseDto> page;
+
+    @Setup
+    public void setUp() {
+        JsonMapper.Builder builder = JsonMapper.builder().findAndAddModules();
+        if (serializers.equals("stock")) {
+            builder.addMixIn(CaseDto.class, StockCaseDto.class);
+        }
+        mapper = builder.build();
+
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            List<UUID> tasks = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+            page.add(new CaseDto(UUID.randomUUID(), "2025/EWHC/" + i, "Smith v Acme Ltd", "Description",
+                                 "Ongoing", LocalDateTime.of(2025, 3, 15, 10, 45).plusMinutes(i), tasks
+            ));
+        }
+    }
+
+    @Benchmark
+    public void serialisePage() throws IOException {
+        mapper.writeValue(OutputStream.nullOutputStream(), page);
+    }
+
+}
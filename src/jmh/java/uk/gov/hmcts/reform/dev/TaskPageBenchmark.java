@@ -0,0 +1,143 @@
+package uk.gov.hmcts.reform.dev;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.models.Case;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repositories.CaseRepository;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads pages of tasks down to their parent case IDs, as the task read paths do, either leaving the lazy parent
+ * unloaded (idOnly) or joining and hydrating it as the former eager mapping did (parentFetched)
+ * <p>
+ * The entitiesLoaded and statements counters give the rows hydrated and statements run per page, the gc profiler's
+ * gc.alloc.rate.norm the bytes allocated per page. idOnly should load only the tasks for the cross-case page and
+ * allocate less for both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskPageBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"idOnly", "parentFetched"})
+    public String parent;
+
+    @Param({"5000"})
+    public int cases;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+    private UUID caseId;
+    private String join;
+
+    /**
+     * Rows hydrated and statements prepared per page
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Reads {
+        public long entitiesLoaded;
+        public long statements;
+    }
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:task-page-benchmark;DB_CLOSE_DELAY=-1",
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "search-cache.enabled=false",
+                "logging.level.root=WARN"
+            )
+            .run();
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        CaseRepository caseRepository = context.getBean(CaseRepository.class);
+        TaskRepository taskRepository = context.getBean(TaskRepository.class);
+
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 9, 0);
+        String description = "Case description ".repeat(30);
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(tx -> {
+            List<Case> saved = new ArrayList<>(cases);
+            for (int i = 0; i < cases; i++) {
+                saved.add(new Case("2020/TASKS/" + i, "Case " + i, description, "Ongoing", start.plusHours(i)));
+            }
+            caseRepository.saveAll(saved);
+            List<Task> tasks = new ArrayList<>(cases * 4);
+            for (int i = 0; i < cases * 4; i++) {
+                tasks.add(new Task("Task " + i, "description", "Pending", start.plusMinutes(i),
+                                   saved.get(i % cases)));
+            }
+            taskRepository.saveAll(tasks);
+            caseId = saved.getFirst().getId();
+        });
+        join = parent.equals("parentFetched") ? " join fetch t.parentCase" : "";
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Page of tasks across cases in due date order, every task with a different parent
+     */
+    @Benchmark
+    public List<UUID> crossCasePage(Reads reads) {
+        return read(reads, "select t from Task t" + join + " order by t.dueDate, t.id", null);
+    }
+
+    /**
+     * Page of one case's tasks
+     */
+    @Benchmark
+    public List<UUID> caseTaskPage(Reads reads) {
+        return read(reads, "select t from Task t" + join + " where t.parentCase.id = :id order by t.dueDate, t.id",
+                    caseId);
+    }
+
+    private List<UUID> read(Reads reads, String jpql, UUID id) {
+        long loaded = statistics.getEntityLoadCount();
+        long prepared = statistics.getPrepareStatementCount();
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            TypedQuery<Task> query = entityManager.createQuery(jpql, Task.class).setMaxResults(PAGE_SIZE);
+            if (id != null) {
+                query.setParameter("id", id);
+            }
+            List<UUID> parents = query.getResultList().stream().map(task -> task.getParentCase().getId()).toList();
+            reads.entitiesLoaded += statistics.getEntityLoadCount() - loaded;
+            reads.statements += statistics.getPrepareStatementCount() - prepared;
+            return parents;
+        }
+    }
+
+}
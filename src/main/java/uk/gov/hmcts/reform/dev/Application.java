@@ -1,8 +1,16 @@
 package uk.gov.hmcts.reform.dev;
 
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.data.web.config.EnableSpringDataWebSupport;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.annotation.Bean;
+import uk.gov.hmcts.reform.dev.services.CaseArchiver;
+import uk.gov.hmcts.reform.dev.services.CaseNumberIndex;
+import uk.gov.hmcts.reform.dev.services.ChangeStream;
+import uk.gov.hmcts.reform.dev.services.StatusDictionary;
+import uk.gov.hmcts.reform.dev.services.TaskWriteBehind;
+import uk.gov.hmcts.reform.dev.web.StartupReport;
 
 import static org.springframework.data.web.config.EnableSpringDataWebSupport.PageSerializationMode.VIA_DTO;
 
@@ -10,8 +18,27 @@ import static org.springframework.data.web.config.EnableSpringDataWebSupport.Pag
 @SuppressWarnings("HideUtilityClassConstructor") // Spring needs a constructor, its not a utility class
 public class Application {
 
+    /**
+     * Number of startup steps kept for the startup report and actuator startup endpoint
+     */
+    private static final int STARTUP_STEPS = 4096;
+
     public static void main(final String[] args) {
-        SpringApplication.run(Application.class, args);
+        SpringApplication application = new SpringApplication(Application.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+        application.run(args);
+    }
+
+    /**
+     * Beans still created at startup under lazy initialisation (fast-start profile), they load state or start
+     * background work which should not land on the first request
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+            StatusDictionary.class, CaseNumberIndex.class, TaskWriteBehind.class, ChangeStream.class,
+            StartupReport.class, CaseArchiver.class
+        );
     }
 
 }
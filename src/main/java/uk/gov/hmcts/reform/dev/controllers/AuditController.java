@@ -0,0 +1,67 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import uk.gov.hmcts.reform.dev.services.AuditLog;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import static org.springframework.http.ResponseEntity.badRequest;
+import static org.springframework.http.ResponseEntity.internalServerError;
+import static org.springframework.http.ResponseEntity.ok;
+
+/**
+ * Route for reading the change history of a case or task from the audit log
+ */
+@RestController
+public class AuditController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final AuditLog auditLog;
+
+    public AuditController(@Autowired AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    /**
+     * Change history of a case (including its tasks) or a task
+     *
+     * @param id Case or task ID
+     * @param limit Most entries returned, the latest ones
+     * @return Audit entries oldest first
+     */
+    @Operation(
+        summary = "Get the change history of a case or task",
+        description = "Committed creates, deletes and property updates (with previous and new values) oldest first, "
+            + "a case's history includes its tasks"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "History, empty if the ID has none"),
+        @ApiResponse(responseCode = "400", description = "Limit out of range"),
+        @ApiResponse(responseCode = "500", description = "Audit log could not be read")
+    })
+    @GetMapping("/audit/{id}")
+    public ResponseEntity<?> history(@PathVariable UUID id, @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return badRequest().body("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        try {
+            return ok(auditLog.history(id, limit));
+        } catch (IOException e) {
+            return internalServerError().body("Could not read audit log: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return internalServerError().build();
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.hateoas.config.HypermediaMappingInformation;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.List;
+
+/**
+ * Registers CBOR and Smile message converters for service-to-service consumers which would rather not pay for text
+ * parsing on large pages.
+ * <p>
+ * Both mappers are built from the application's {@link Jackson2ObjectMapperBuilder} so the CaseDto/TaskDto mappings
+ * (date formats, property names) are identical to the JSON ones, only the wire format differs. They are configured
+ * for HAL the same way Spring HATEOAS configures its JSON mapper, so PagedModel pages (/case/search,
+ * /task/forCase/{id}) keep the {@code _embedded}/{@code _links}/{@code page} envelope in every format.
+ */
+@Configuration
+public class BinaryFormatConfiguration {
+
+    /**
+     * Smile has no constant in {@link org.springframework.http.MediaType}, this matches the type the Spring
+     * converter registers
+     */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+        Jackson2ObjectMapperBuilder builder, List<HypermediaMappingInformation> hypermediaMappings) {
+        return new MappingJackson2CborHttpMessageConverter(
+            withHal(builder.factory(new CBORFactory()).build(), hypermediaMappings)
+        );
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+        Jackson2ObjectMapperBuilder builder, List<HypermediaMappingInformation> hypermediaMappings) {
+        return new MappingJackson2SmileHttpMessageConverter(
+            withHal(builder.factory(new SmileFactory()).build(), hypermediaMappings)
+        );
+    }
+
+    /**
+     * Apply the HAL mapping (Jackson2HalModule and its handler instantiator) HATEOAS registers for hal+json
+     */
+    private static ObjectMapper withHal(ObjectMapper mapper, List<HypermediaMappingInformation> hypermediaMappings) {
+        return hypermediaMappings.stream()
+            .filter(mapping -> mapping.getMediaTypes().contains(MediaTypes.HAL_JSON))
+            .findFirst()
+            .map(mapping -> mapping.configureObjectMapper(mapper))
+            .orElse(mapper);
+    }
+
+}
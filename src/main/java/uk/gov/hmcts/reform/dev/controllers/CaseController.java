@@ -5,22 +5,30 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import uk.gov.hmcts.reform.dev.dto.CaseDto;
 import uk.gov.hmcts.reform.dev.models.Case;
+import uk.gov.hmcts.reform.dev.repositories.CaseFilter;
 import uk.gov.hmcts.reform.dev.repositories.CaseRepository;
 import uk.gov.hmcts.reform.dev.services.DAOService;
+import uk.gov.hmcts.reform.dev.web.RequestTrace;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.springframework.http.MediaType.APPLICATION_CBOR_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.http.ResponseEntity.*;
+import static uk.gov.hmcts.reform.dev.controllers.BinaryFormatConfiguration.APPLICATION_SMILE_VALUE;
 
 /**
  * Routes for CRUD operations on the Case data
@@ -32,6 +40,8 @@ public class CaseController {
 
     private final PagedResourcesAssembler<CaseDto> assembler;
 
+    private static final String EXPAND_TASKS = "tasks";
+
     /**
      * Controller constructor, autowires components for operations
      */
@@ -74,7 +84,10 @@ public class CaseController {
             description = "Error in either the body of the case or a duplicate case number"
         )
     })
-    @PostMapping(value = "/case", produces = "application/json")
+    @PostMapping(
+        value = "/case",
+        produces = {APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE}
+    )
     public ResponseEntity<?> createCase(@RequestBody CaseDto caseDetails) {
         if(caseDetails.getCreatedDate() == null){
             caseDetails.setCreatedDate(LocalDateTime.now());
@@ -91,19 +104,60 @@ public class CaseController {
      * Endpoint to get a single case by ID
      *
      * @param id UUID of case to fetch
-     * @return HTTP Ok with case requested, else HTTP Not Found if case doesn't exist
+     * @param expand "tasks" to embed the case's tasks in taskDetails
+     * @return HTTP Ok with case requested, else HTTP Not Found if case doesn't exist or HTTP Bad Request if the
+     *         expansion is unknown
      */
     @Operation(summary = "Endpoint to get a single case by ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "The found Case object matching given ID"),
+        @ApiResponse(responseCode = "400", description = "Unknown expansion"),
         @ApiResponse(responseCode = "404", description = "Case with ID not found")
     })
-    @GetMapping(value = "/case/{id}", produces = "application/json")
-    public ResponseEntity<?> getCase(@PathVariable UUID id) {
+    @GetMapping(
+        value = "/case/{id}",
+        produces = {APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE}
+    )
+    public ResponseEntity<?> getCase(@PathVariable UUID id, @RequestParam(required = false) String expand) {
+        if (expand != null) {
+            if (!EXPAND_TASKS.equals(expand)) {
+                return unknownExpansion(expand);
+            }
+            return daoService.getExpandedCase(id).<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> notFound().build());
+        }
         Optional<CaseDto> optionalCase = daoService.getCase(id);
         return optionalCase.map(ResponseEntity::ok).orElseGet(() -> notFound().build());
     }
 
+    /**
+     * Endpoint to get many cases by ID in one request
+     *
+     * @param ids UUIDs of the cases to fetch
+     * @return HTTP Ok with the found cases in request order and the IDs not found, else HTTP Bad Request if there
+     *         are too many IDs
+     */
+    @Operation(
+        summary = "Endpoint to get a list of cases by ID",
+        description = "Fetches every case in the list (live or archived) in request order, IDs with no case are "
+            + "returned as missing"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Found cases and missing IDs"),
+        @ApiResponse(responseCode = "400", description = "Too many IDs or a null ID")
+    })
+    @PostMapping(
+        value = "/case/batch",
+        produces = {APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE}
+    )
+    public ResponseEntity<?> getCases(@RequestBody List<UUID> ids) {
+        try {
+            return ok(daoService.getCases(ids));
+        }catch(IllegalArgumentException e){
+            return badRequest().body("Could not fetch: "+e.getMessage());
+        }
+    }
+
     /**
      * Endpoint to delete case by id
      *
@@ -131,7 +185,10 @@ public class CaseController {
         @ApiResponse(responseCode = "200", description = "Cases successfully saved"),
         @ApiResponse(responseCode = "400", description = "Issue with saving cases, aborted")
     })
-    @PostMapping(value = "/case/list", produces = "application/json")
+    @PostMapping(
+        value = "/case/list",
+        produces = {APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE}
+    )
     public ResponseEntity<?> postCaseList(@RequestBody List<CaseDto> cases) {
         try {
             return ok(daoService.saveCases(cases));
@@ -157,12 +214,15 @@ public class CaseController {
         @ApiResponse(responseCode = "200", description = "Case with property updated"),
         @ApiResponse(responseCode = "400", description = "Either case not found or could not update")
     })
-    @PostMapping(value = "/case/{id}/{property}", produces = "application/json")
+    @PostMapping(
+        value = "/case/{id}/{property}",
+        produces = {APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE}
+    )
     public ResponseEntity<?> updateProperty(@PathVariable UUID id, @PathVariable String property,
                                             @RequestParam String value) {
         try {
             return ok(daoService.updateCaseProperty(id, value, property));
-        }catch (IllegalArgumentException e){
+        }catch (IllegalArgumentException | DataIntegrityViolationException e){
             return new ResponseEntity<>("Could not update: "+e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
@@ -176,7 +236,11 @@ public class CaseController {
      * @param searchString The string to search by, if it is a UUID it will automatically be used, otherwise
      *                     results where the title/number contain the value (non-case sensitive).
      * @param pageable Pageable parameters (pageNumber, pageSize and sort) for traversing page set.
-     * @return PagedModel containing info about page and any results in _embedded
+     * @param expand "tasks" to embed each case's tasks in taskDetails
+     * @param count "exact" (default) for a PagedModel with the total, "none" or "approximate" for a SliceResult
+     *              without the count query, approximate also counting matches up to a limit
+     * @return PagedModel containing info about page and any results in _embedded (or a SliceResult), or HTTP Bad
+     *         Request if the expansion or count is unknown
      */
     @Operation(
         summary = "Search Cases by ID/title/case number",
@@ -184,14 +248,75 @@ public class CaseController {
             "Searches non-case sensitive by title and number unless the value is a valid UUID, in which case also by that"
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Pageable object with page of results")
+        @ApiResponse(responseCode = "200", description = "Pageable object (or slice) with page of results"),
+        @ApiResponse(responseCode = "400", description = "Unknown expansion or count")
     })
     @PostMapping(value = "/case/search")
     public ResponseEntity<?> searchCase(@RequestParam String searchString,
-                                        Pageable pageable) {
-        return ok(assembler.toModel(
+                                        Pageable pageable,
+                                        @RequestParam(required = false) String expand,
+                                        @RequestParam(defaultValue = "exact") String count) {
+        if (expand != null && !EXPAND_TASKS.equals(expand)) {
+            return unknownExpansion(expand);
+        }
+        CountMode countMode;
+        try {
+            countMode = CountMode.of(count);
+        }catch (IllegalArgumentException e){
+            return badRequest().body(e.getMessage());
+        }
+        if (countMode != CountMode.EXACT) {
+            return ok(daoService.searchCasesSlice(
+                searchString, pageable, countMode == CountMode.APPROXIMATE, expand != null
+            ));
+        }
+        if (expand != null) {
+            return ok(assemble(
+                daoService.searchCasesExpanded(searchString, pageable).map(CaseDto.class::cast)
+            ));
+        }
+        return ok(assemble(
             daoService.searchCases(searchString, pageable)
         ));
     }
 
+    /**
+     * Paginated filtering of cases by any combination of criteria, all given criteria must match
+     *
+     * @param filter Criteria to filter by, omitted/null criteria are ignored
+     * @param pageable Pageable parameters (pageNumber, pageSize and sort) for traversing page set.
+     * @return PagedModel containing info about page and any results in _embedded
+     */
+    @Operation(
+        summary = "Filter Cases by status, created date, title/number, overdue tasks and task count",
+        description = "Every criterion is optional, statuses match any of the given names, text matches are "
+            + "non-case sensitive, created date and task count bounds are inclusive"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Pageable object with page of results")
+    })
+    @PostMapping(value = "/case/filter")
+    public ResponseEntity<?> filterCase(@RequestBody CaseFilter filter,
+                                        Pageable pageable) {
+        return ok(assemble(
+            daoService.filterCases(filter, pageable)
+        ));
+    }
+
+    /**
+     * Bad request for an expand value other than tasks
+     */
+    private static ResponseEntity<?> unknownExpansion(String expand) {
+        return badRequest().body("Unknown expansion '" + expand + "', only '" + EXPAND_TASKS + "' is supported");
+    }
+
+    /**
+     * Assemble a page into its HAL model, traced as its own stage
+     */
+    private PagedModel<EntityModel<CaseDto>> assemble(Page<CaseDto> page) {
+        try (RequestTrace.Scope scope = RequestTrace.span("assemble PagedModel")) {
+            return assembler.toModel(page);
+        }
+    }
+
 }
@@ -0,0 +1,49 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import uk.gov.hmcts.reform.dev.services.ChangeStream;
+
+import java.util.UUID;
+
+/**
+ * Route for streaming case/task changes, replacing polling of /case/search and /task/forCase
+ */
+@RestController
+public class ChangeController {
+
+    private final ChangeStream changeStream;
+
+    public ChangeController(@Autowired ChangeStream changeStream) {
+        this.changeStream = changeStream;
+    }
+
+    /**
+     * Server-Sent Event stream of create/update/delete events for cases and tasks
+     *
+     * @param caseId Optional case ID, only changes to that case and its tasks are sent
+     * @param status Optional status, only changes leaving an entity with that status are sent
+     * @return SseEmitter streaming {@code case}/{@code task} events, and {@code resync} if events had to be dropped
+     */
+    @Operation(
+        summary = "Stream case and task changes",
+        description = "Server-Sent Events for committed changes, optionally filtered by case ID or status. A 'resync' "
+            + "event means this client fell behind and events were dropped, re-query before continuing"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream")
+    })
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(@RequestParam(required = false) UUID caseId,
+                              @RequestParam(required = false) String status) {
+        return changeStream.subscribe(caseId, status);
+    }
+
+}
@@ -0,0 +1,28 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import java.util.Locale;
+
+/**
+ * How a paged list endpoint counts its results (?count=), exact pages count every match while none and approximate
+ * return a slice that only knows whether there is a next one
+ */
+enum CountMode {
+    EXACT,
+    NONE,
+    APPROXIMATE;
+
+    /**
+     * Parse a count request parameter
+     *
+     * @param value exact, none or approximate (any case)
+     * @return The count mode
+     * @throws IllegalArgumentException If the value is none of them
+     */
+    static CountMode of(String value) throws IllegalArgumentException {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown count '" + value + "', use exact, none or approximate");
+        }
+    }
+}
@@ -1,27 +1,59 @@
 package uk.gov.hmcts.reform.dev.controllers;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import uk.gov.hmcts.reform.dev.services.CaseImporter;
 import uk.gov.hmcts.reform.dev.services.DAOService;
+import uk.gov.hmcts.reform.dev.services.DatasetSnapshot;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+import static org.springframework.http.ResponseEntity.badRequest;
 import static org.springframework.http.ResponseEntity.internalServerError;
+import static org.springframework.http.ResponseEntity.notFound;
 import static org.springframework.http.ResponseEntity.ok;
+import static org.springframework.http.ResponseEntity.status;
 
 @RestController
 public class RootController {
 
+    /**
+     * Snapshot and import names are plain file names within the snapshot/import directory
+     */
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("[A-Za-z0-9._-]{1,100}");
+
     DAOService daoService;
+    DatasetSnapshot datasetSnapshot;
+    CaseImporter caseImporter;
+    Path snapshotDirectory;
+    Path importDirectory;
 
-    public RootController(@Autowired DAOService daoService) {
+    public RootController(@Autowired DAOService daoService,
+                          @Autowired DatasetSnapshot datasetSnapshot,
+                          @Autowired CaseImporter caseImporter,
+                          @Value("${snapshot.directory:snapshots}") Path snapshotDirectory,
+                          @Value("${import.directory:imports}") Path importDirectory) {
         this.daoService = daoService;
+        this.datasetSnapshot = datasetSnapshot;
+        this.caseImporter = caseImporter;
+        this.snapshotDirectory = snapshotDirectory;
+        this.importDirectory = importDirectory;
     }
 
     @GetMapping("/")
@@ -67,5 +99,81 @@ public class RootController {
         }
     }
 
+    @Operation(summary = "Writes every case and task, live and archived, to a binary snapshot file in the snapshot"
+        + " directory")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Snapshot written, with row counts and rows per second"),
+        @ApiResponse(responseCode = "400", description = "Invalid snapshot name"),
+        @ApiResponse(responseCode = "500", description = "Snapshot could not be written")
+    })
+    @PostMapping("/snapshot")
+    public ResponseEntity<?> snapshot(@RequestParam String name) {
+        if (!SNAPSHOT_NAME.matcher(name).matches() || name.startsWith(".")) {
+            return badRequest().body("Invalid snapshot name");
+        }
+        try {
+            Files.createDirectories(snapshotDirectory);
+            return ok(datasetSnapshot.snapshot(snapshotDirectory.resolve(name)));
+        } catch (IOException e) {
+            return internalServerError().body("Could not write snapshot: " + e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Restores a binary snapshot file from the snapshot directory into an empty database")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Snapshot restored, with row counts and rows per second"),
+        @ApiResponse(responseCode = "400", description = "Invalid snapshot name or not a snapshot file"),
+        @ApiResponse(responseCode = "404", description = "No snapshot with that name"),
+        @ApiResponse(responseCode = "409", description = "Database already holds cases")
+    })
+    @PostMapping("/restore")
+    public ResponseEntity<?> restore(@RequestParam String name) {
+        if (!SNAPSHOT_NAME.matcher(name).matches() || name.startsWith(".")) {
+            return badRequest().body("Invalid snapshot name");
+        }
+        Path file = snapshotDirectory.resolve(name);
+        if (!Files.isRegularFile(file)) {
+            return notFound().build();
+        }
+        try {
+            return ok(datasetSnapshot.restore(file));
+        } catch (IllegalArgumentException e) {
+            return badRequest().body("Could not restore: " + e.getMessage());
+        } catch (IllegalStateException e) {
+            return status(HttpStatus.CONFLICT).body("Could not restore: " + e.getMessage());
+        } catch (IOException e) {
+            return internalServerError().body("Could not read snapshot: " + e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Imports a JSON array of cases from a file in the import directory")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Imported, with saved/rejected counts and rows per second"),
+        @ApiResponse(responseCode = "400", description = "Invalid import name or not a JSON array"),
+        @ApiResponse(responseCode = "404", description = "No import file with that name"),
+        @ApiResponse(responseCode = "500", description = "Import failed, cases saved before the failure are kept")
+    })
+    @PostMapping("/import")
+    public ResponseEntity<?> importCases(@RequestParam String name) {
+        if (!SNAPSHOT_NAME.matcher(name).matches() || name.startsWith(".")) {
+            return badRequest().body("Invalid import name");
+        }
+        Path file = importDirectory.resolve(name);
+        if (!Files.isRegularFile(file)) {
+            return notFound().build();
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            return ok(caseImporter.importCases(in));
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            return badRequest().body("Could not import: " + e.getMessage());
+        } catch (IOException e) {
+            return internalServerError().body("Could not read import: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return internalServerError().body("Import interrupted");
+        } catch (RuntimeException e) {
+            return internalServerError().body("Import failed: " + e.getMessage());
+        }
+    }
 
 }
@@ -4,19 +4,31 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import uk.gov.hmcts.reform.dev.dto.TaskDto;
+import uk.gov.hmcts.reform.dev.repositories.TaskSearchCriteria;
 import uk.gov.hmcts.reform.dev.services.DAOService;
+import uk.gov.hmcts.reform.dev.web.RequestTrace;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
+import static org.springframework.http.MediaType.APPLICATION_CBOR_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.http.ResponseEntity.*;
+import static uk.gov.hmcts.reform.dev.controllers.BinaryFormatConfiguration.APPLICATION_SMILE_VALUE;
 
 /**
  * Routes for CRUD operations on the Task data
@@ -27,6 +39,8 @@ public class TaskController {
     private final DAOService daoService;
     private final PagedResourcesAssembler<TaskDto> assembler;
 
+    private static final int MAX_SEARCH_SIZE = 500;
+
     public TaskController(@Autowired DAOService daoService,
                           @Autowired PagedResourcesAssembler<TaskDto> assembler) {
         this.daoService = daoService;
@@ -54,27 +68,111 @@ public class TaskController {
         }
     }
 
+    /**
+     * Get many Tasks by ID in one request
+     *
+     * @param ids IDs of the Tasks to fetch
+     * @return HTTP OK with the found Tasks in request order and the IDs not found, or HTTP Bad Request if there are
+     *         too many IDs
+     */
+    @Operation(
+        summary = "Get a list of Tasks by ID",
+        description = "Fetches every Task in the list in request order, IDs with no Task are returned as missing"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Found Tasks and missing IDs"),
+        @ApiResponse(responseCode = "400", description = "Too many IDs or a null ID")
+    })
+    @PostMapping(
+        value = "/task/batch",
+        produces = {APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE}
+    )
+    public ResponseEntity<?> getTasks(@RequestBody List<UUID> ids) {
+        try {
+            return ok(daoService.getTasks(ids));
+        }catch (IllegalArgumentException e){
+            return badRequest().body("Could not fetch: "+e.getMessage());
+        }
+    }
+
     /**
      * Get tasks attached to a specific case
      *
      * @param id ID of the case to find tasks from
      * @param pageable Pageable parameters (pageNumber, pageSize and sort) for traversing page set.
-     * @return PagedModel containing info about page and any results in _embedded
+     * @param count "exact" (default) for a PagedModel with the total, "none" or "approximate" for a SliceResult
+     *              without the count query, approximate also counting tasks up to a limit
+     * @return PagedModel containing info about page and any results in _embedded (or a SliceResult), or HTTP Bad
+     *         Request if the count is unknown
      */
     @Operation(
         summary = "Finds Tasks by their parent Case",
         description = "Returns pageable of Tasks associated with specified parent ID"
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Pageable containing any matching Tasks")
+        @ApiResponse(responseCode = "200", description = "Pageable (or slice) containing any matching Tasks"),
+        @ApiResponse(responseCode = "400", description = "Unknown count")
     })
     @GetMapping("/task/forCase/{id}")
-    public ResponseEntity<?> getTasksForCase(@PathVariable UUID id, Pageable pageable) {
-        return ok(assembler.toModel(
+    public ResponseEntity<?> getTasksForCase(@PathVariable UUID id, Pageable pageable,
+                                             @RequestParam(defaultValue = "exact") String count) {
+        CountMode countMode;
+        try {
+            countMode = CountMode.of(count);
+        }catch (IllegalArgumentException e){
+            return badRequest().body(e.getMessage());
+        }
+        if (countMode != CountMode.EXACT) {
+            return ok(daoService.getTasksForParentSlice(id, pageable, countMode == CountMode.APPROXIMATE));
+        }
+        return ok(assemble(
             daoService.getTasksForParent(id, pageable))
         );
     }
 
+    /**
+     * Search tasks across cases, all filters optional and combined
+     *
+     * @param title Text the task title contains (case-insensitive)
+     * @param status Statuses to include, may be repeated
+     * @param dueFrom Earliest due date (ISO, inclusive)
+     * @param dueTo Latest due date (ISO, inclusive)
+     * @param caseId ID of the parent case
+     * @param cursor Cursor from the previous page's nextCursor, omit for the first page
+     * @param size Page size (max 500)
+     * @return HTTP OK with a CursorPage of tasks in due date order, or HTTP Bad Request if the cursor is invalid
+     */
+    @Operation(
+        summary = "Search Tasks by title, status, due date range and parent Case",
+        description = "Returns tasks in due date order (undated last) a page at a time, pass nextCursor to continue"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page of matching Tasks with the cursor for the next page"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    @GetMapping(
+        value = "/task/search",
+        produces = {APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE}
+    )
+    public ResponseEntity<?> searchTasks(@RequestParam(required = false) String title,
+                                         @RequestParam(required = false) Set<String> status,
+                                         @RequestParam(required = false)
+                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueFrom,
+                                         @RequestParam(required = false)
+                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueTo,
+                                         @RequestParam(required = false) UUID caseId,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ok(daoService.searchTasks(
+                new TaskSearchCriteria(title, status, dueFrom, dueTo, caseId), cursor,
+                Math.clamp(size, 1, MAX_SEARCH_SIZE)
+            ));
+        }catch (IllegalArgumentException e){
+            return badRequest().body("Could not search: "+e.getMessage());
+        }
+    }
+
     /**
      * Creates a task from JSON specification
      *
@@ -130,7 +228,10 @@ public class TaskController {
         @ApiResponse(responseCode = "200", description = "Task with property updated"),
         @ApiResponse(responseCode = "400", description = "Could not update specified Task property or Task doesn't exist")
     })
-    @PostMapping(value = "/task/{id}/{property}", produces = "application/json")
+    @PostMapping(
+        value = "/task/{id}/{property}",
+        produces = {APPLICATION_JSON_VALUE, APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE}
+    )
     public ResponseEntity<?> updateProperty(@PathVariable UUID id, @PathVariable String property,
                                             @RequestParam String value) {
         try {
@@ -140,4 +241,13 @@ public class TaskController {
         }
     }
 
+    /**
+     * Assemble a page into its HAL model, traced as its own stage
+     */
+    private PagedModel<EntityModel<TaskDto>> assemble(Page<TaskDto> page) {
+        try (RequestTrace.Scope scope = RequestTrace.span("assemble PagedModel")) {
+            return assembler.toModel(page);
+        }
+    }
+
 }
@@ -0,0 +1,47 @@
+package uk.gov.hmcts.reform.dev.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import uk.gov.hmcts.reform.dev.web.RequestTrace;
+import uk.gov.hmcts.reform.dev.web.TracingFilter;
+
+import java.util.List;
+
+import static org.springframework.http.ResponseEntity.ok;
+
+/**
+ * Route for reading the latest slow request traces
+ */
+@RestController
+public class TraceController {
+
+    private final TracingFilter tracingFilter;
+
+    public TraceController(@Autowired TracingFilter tracingFilter) {
+        this.tracingFilter = tracingFilter;
+    }
+
+    /**
+     * The latest traced requests slower than the slow threshold
+     *
+     * @return Traces newest first
+     */
+    @Operation(
+        summary = "Get the latest slow request traces",
+        description = "Per-stage timings (controller, DAO, repository, SQL) of the latest traced requests slower "
+            + "than tracing.slow-threshold, newest first"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Traces, empty if none were slow")
+    })
+    @GetMapping("/traces/recent")
+    public ResponseEntity<List<RequestTrace>> recent() {
+        return ok(tracingFilter.recent());
+    }
+
+}
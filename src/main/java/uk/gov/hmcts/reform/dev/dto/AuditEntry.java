@@ -0,0 +1,50 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import uk.gov.hmcts.reform.dev.dto.serializers.UuidSerializer;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A committed change to a case or task as recorded in the audit log
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuditEntry implements Serializable {
+
+    // Position in the audit log, increases monotonically across restarts
+    private long sequence;
+
+    private Instant timestamp;
+
+    private ChangeEvent.Type type;
+    private ChangeEvent.Entity entity;
+
+    @JsonSerialize(using = UuidSerializer.class)
+    private UUID id;
+
+    // The case itself for case entries, the parent case for task entries
+    @JsonProperty("case")
+    @JsonSerialize(using = UuidSerializer.class)
+    private UUID caseId;
+
+    // Property changed and its values either side, null for creates and deletes
+    private String property;
+    private String previousValue;
+    private String value;
+
+    public AuditEntry(ChangeEvent.Type type, ChangeEvent.Entity entity, UUID id, UUID caseId, String property,
+                      String previousValue, String value) {
+        this(0, Instant.now(), type, entity, id, caseId, property, previousValue, value);
+    }
+
+}
@@ -0,0 +1,33 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import uk.gov.hmcts.reform.dev.dto.serializers.UuidSerializer;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of fetching a list of IDs in one request
+ *
+ * @param <T> Type of the results
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchResult<T> implements Serializable {
+
+    // In the order their IDs were first requested
+    private List<T> results = new ArrayList<>();
+
+    // Requested IDs with nothing found, in request order
+    @JsonSerialize(contentUsing = UuidSerializer.class)
+    private List<UUID> missing = new ArrayList<>();
+
+}
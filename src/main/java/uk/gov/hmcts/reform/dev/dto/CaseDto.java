@@ -1,10 +1,13 @@
 package uk.gov.hmcts.reform.dev.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import uk.gov.hmcts.reform.dev.dto.serializers.IsoLocalDateTimeSerializer;
+import uk.gov.hmcts.reform.dev.dto.serializers.UuidSerializer;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
@@ -18,6 +21,7 @@ import java.util.UUID;
 @NoArgsConstructor
 public class CaseDto implements Serializable {
 
+    @JsonSerialize(using = UuidSerializer.class)
     private UUID id;
 
     private String caseNumber;
@@ -25,10 +29,12 @@ public class CaseDto implements Serializable {
     private String description;
     private String status;
 
-    // Using ISO-8601 both on serialization and deserialization
-    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss", shape = JsonFormat.Shape.STRING)
+    // Using ISO-8601 both on serialization and deserialization, written without the formatter on the way out
+    @JsonFormat(pattern = IsoLocalDateTimeSerializer.PATTERN, shape = JsonFormat.Shape.STRING)
+    @JsonSerialize(using = IsoLocalDateTimeSerializer.class)
     private LocalDateTime createdDate;
 
+    @JsonSerialize(contentUsing = UuidSerializer.class)
     private List<UUID> tasks = new ArrayList<>();
 
 }
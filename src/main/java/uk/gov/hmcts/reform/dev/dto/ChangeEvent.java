@@ -0,0 +1,51 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import uk.gov.hmcts.reform.dev.dto.serializers.UuidSerializer;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Change to a case or task, pushed to change stream subscribers once the change has committed
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangeEvent implements Serializable {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public enum Entity {
+        CASE, TASK
+    }
+
+    // Assigned when published, increases monotonically for the life of the node
+    private long sequence;
+
+    private Type type;
+    private Entity entity;
+
+    @JsonSerialize(using = UuidSerializer.class)
+    private UUID id;
+
+    // The case itself for case events, the parent case for task events (null if unknown)
+    @JsonProperty("case")
+    @JsonSerialize(using = UuidSerializer.class)
+    private UUID caseId;
+
+    private String status;
+
+    public ChangeEvent(Type type, Entity entity, UUID id, UUID caseId, String status) {
+        this(0, type, entity, id, caseId, status);
+    }
+
+}
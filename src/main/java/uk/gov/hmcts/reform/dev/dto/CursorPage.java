@@ -0,0 +1,28 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Page of results for cursor pagination, pass nextCursor back to fetch the following page
+ *
+ * @param <T> Type of the results
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> implements Serializable {
+
+    private List<T> content = new ArrayList<>();
+
+    // Null once there are no further results
+    private String nextCursor;
+
+}
@@ -0,0 +1,27 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Case with its tasks embedded (?expand=tasks), tasks still lists every task ID while taskDetails holds at most the
+ * configured number of full tasks in the same order
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ExpandedCaseDto extends CaseDto {
+
+    private List<TaskDto> taskDetails = new ArrayList<>();
+
+    public ExpandedCaseDto(CaseDto caseDto, List<TaskDto> taskDetails) {
+        super(caseDto.getId(), caseDto.getCaseNumber(), caseDto.getTitle(), caseDto.getDescription(),
+              caseDto.getStatus(), caseDto.getCreatedDate(), caseDto.getTasks());
+        this.taskDetails = taskDetails;
+    }
+
+}
@@ -0,0 +1,33 @@
+package uk.gov.hmcts.reform.dev.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Page of results without a total count (?count=none or approximate), hasNext tells whether to fetch the next page
+ *
+ * @param <T> Type of the results
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SliceResult<T> implements Serializable {
+
+    private List<T> content = new ArrayList<>();
+
+    private int page;
+    private int size;
+    private boolean hasNext;
+
+    // Only with ?count=approximate, exact unless approximateTotalCapped when there are at least this many results
+    private Long approximateTotal;
+    private boolean approximateTotalCapped;
+
+}
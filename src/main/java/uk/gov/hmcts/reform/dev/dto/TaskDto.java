@@ -2,10 +2,13 @@ package uk.gov.hmcts.reform.dev.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import uk.gov.hmcts.reform.dev.dto.serializers.IsoLocalDateTimeSerializer;
+import uk.gov.hmcts.reform.dev.dto.serializers.UuidSerializer;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
@@ -17,17 +20,20 @@ import java.util.UUID;
 @NoArgsConstructor
 public class TaskDto implements Serializable {
 
+    @JsonSerialize(using = UuidSerializer.class)
     private UUID id;
 
     private String title;
     private String description;
     private String status;
 
-    // Using ISO-8601 both on serialization and deserialization
-    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss", shape = JsonFormat.Shape.STRING)
+    // Using ISO-8601 both on serialization and deserialization, written without the formatter on the way out
+    @JsonFormat(pattern = IsoLocalDateTimeSerializer.PATTERN, shape = JsonFormat.Shape.STRING)
+    @JsonSerialize(using = IsoLocalDateTimeSerializer.class)
     private LocalDateTime dueDate;
 
     @JsonProperty("case")
+    @JsonSerialize(using = UuidSerializer.class)
     private UUID parentCase;
 
 }
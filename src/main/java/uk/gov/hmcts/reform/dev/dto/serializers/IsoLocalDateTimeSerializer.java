@@ -0,0 +1,65 @@
+package uk.gov.hmcts.reform.dev.dto.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes a LocalDateTime as {@code yyyy-MM-dd'T'HH:mm:ss} straight into the generator from a per-thread buffer,
+ * avoiding the intermediate String (and formatter state) the {@code @JsonFormat} pattern path allocates per value.
+ * <p>
+ * Output is identical to the pattern, years outside 1-9999 (where the pattern pads or signs differently) fall back
+ * to the formatter itself.
+ */
+public class IsoLocalDateTimeSerializer extends StdSerializer<LocalDateTime> {
+
+    public static final String PATTERN = "yyyy-MM-dd'T'HH:mm:ss";
+
+    private static final DateTimeFormatter FALLBACK = DateTimeFormatter.ofPattern(PATTERN);
+
+    private static final int LENGTH = 19;
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[LENGTH]);
+
+    public IsoLocalDateTimeSerializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        int year = value.getYear();
+        if (year < 1 || year > 9999) {
+            gen.writeString(FALLBACK.format(value));
+            return;
+        }
+
+        char[] buffer = BUFFER.get();
+        writeDigits(buffer, 0, year, 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, value.getMonthValue(), 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, value.getDayOfMonth(), 2);
+        buffer[10] = 'T';
+        writeDigits(buffer, 11, value.getHour(), 2);
+        buffer[13] = ':';
+        writeDigits(buffer, 14, value.getMinute(), 2);
+        buffer[16] = ':';
+        writeDigits(buffer, 17, value.getSecond(), 2);
+        gen.writeString(buffer, 0, LENGTH);
+    }
+
+    /**
+     * Writes a zero padded positive number right to left into the buffer
+     */
+    private static void writeDigits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+}
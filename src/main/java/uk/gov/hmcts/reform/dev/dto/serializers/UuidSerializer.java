@@ -0,0 +1,68 @@
+package uk.gov.hmcts.reform.dev.dto.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Writes a UUID in its canonical 36 character form directly from the two longs into a per-thread buffer, rather than
+ * going through {@link UUID#toString()} for every id on a page.
+ * <p>
+ * Binary formats (CBOR/Smile) keep Jackson's default of 16 raw bytes, same as the stock UUID serializer.
+ */
+public class UuidSerializer extends StdSerializer<UUID> {
+
+    private static final int LENGTH = 36;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[LENGTH]);
+
+    public UuidSerializer() {
+        super(UUID.class);
+    }
+
+    @Override
+    public void serialize(UUID value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        long msb = value.getMostSignificantBits();
+        long lsb = value.getLeastSignificantBits();
+
+        if (gen.canWriteBinaryNatively() && !(gen instanceof TokenBuffer)) {
+            byte[] bytes = new byte[16];
+            for (int i = 0; i < 8; i++) {
+                bytes[i] = (byte) (msb >>> (56 - 8 * i));
+                bytes[i + 8] = (byte) (lsb >>> (56 - 8 * i));
+            }
+            gen.writeBinary(bytes);
+            return;
+        }
+
+        char[] buffer = BUFFER.get();
+
+        writeHex(buffer, 0, msb >>> 32, 8);
+        buffer[8] = '-';
+        writeHex(buffer, 9, msb >>> 16, 4);
+        buffer[13] = '-';
+        writeHex(buffer, 14, msb, 4);
+        buffer[18] = '-';
+        writeHex(buffer, 19, lsb >>> 48, 4);
+        buffer[23] = '-';
+        writeHex(buffer, 24, lsb, 12);
+        gen.writeString(buffer, 0, LENGTH);
+    }
+
+    /**
+     * Writes the lowest {@code digits} nibbles of value as lower case hex, right to left
+     */
+    private static void writeHex(char[] buffer, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            buffer[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read-only copy of a Case moved out of the cases table by the CaseArchiver, kept with the same ID, number and
+ * status code so archived cases read back exactly as they were
+ */
+@NoArgsConstructor
+@Getter
+@Entity
+@Immutable
+@Table(
+    name = "archived_cases",
+    // Case numbers stay unique across live and archived cases
+    uniqueConstraints = {
+        @UniqueConstraint(name = "UniqueArchivedCaseNumber", columnNames = {"caseNumber"})
+    }
+)
+public class ArchivedCase {
+
+    @Id
+    private UUID id;
+
+    private String caseNumber;
+    private String title;
+    private String description;
+
+    @Convert(converter = StatusConverter.class)
+    private Status status;
+
+    private LocalDateTime createdDate;
+
+    private LocalDateTime archivedDate;
+
+    @OneToMany(mappedBy = "parentCase")
+    private List<ArchivedTask> tasks = new ArrayList<>();
+
+}
@@ -0,0 +1,46 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only copy of a Task archived along with its parent case
+ */
+@NoArgsConstructor
+@Getter
+@Entity
+@Immutable
+@Table(
+    name = "archived_tasks",
+    indexes = {
+        @Index(name = "ArchivedTaskCase", columnList = "parentCase_id")
+    }
+)
+public class ArchivedTask {
+
+    @Id
+    private UUID id;
+
+    private String title;
+    private String description;
+
+    @Convert(converter = StatusConverter.class)
+    private Status status;
+
+    private LocalDateTime dueDate;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private ArchivedCase parentCase;
+
+}
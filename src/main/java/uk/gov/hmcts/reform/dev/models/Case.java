@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import uk.gov.hmcts.reform.dev.sharding.ShardedUuid;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -15,9 +17,8 @@ import java.util.UUID;
 /**
  * Fundamental Case entity, represents all required data to perform as a DTO
  * <p>
- * Potential improvements:
- *  - Making status a lookup to another table, allowing an extendable choice from a list, some basic statuses with the
- *  option to add additional
+ * Status is a lookup to the statuses dictionary table (see {@link Status}), some basic statuses are seeded with
+ * additional ones added on first use
  */
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,20 +31,24 @@ import java.util.UUID;
     // Enforced unique case number
     uniqueConstraints = {
         @UniqueConstraint(name = "UniqueCaseNumber", columnNames = {"caseNumber"})
+    },
+    indexes = {
+        @Index(name = "CaseStatusCreated", columnList = "status, createdDate"),
+        @Index(name = "CaseCreated", columnList = "createdDate")
     }
 )
 public class Case {
 
     // Preferable for a distributed/parallel system, consistent format e.g. in url params
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @ShardedUuid
     private UUID id;
 
     public Case(String caseNumber, String title, String description, String status, LocalDateTime createdDate){
         this.caseNumber = caseNumber;
         this.title = title;
         this.description = description;
-        this.status = status;
+        this.status = Status.of(status);
         this.createdDate = createdDate;
     }
 
@@ -51,11 +56,15 @@ public class Case {
     private String caseNumber;
     private String title;
     private String description;
-    private String status;
+
+    @Convert(converter = StatusConverter.class)
+    private Status status;
 
     private LocalDateTime createdDate;
 
+    // Tasks of up to a page of loaded cases are fetched in one query rather than one query per case
     @OneToMany(mappedBy = "parentCase", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     private List<Task> tasks = new ArrayList<>();
 
     public void addTask(Task task){
@@ -0,0 +1,230 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Interned status value shared by Case and Task, stored as a small integer code (see {@link StatusConverter}) with
+ * the display name held once in memory and once in the {@link StatusEntry} dictionary table.
+ * <p>
+ * There is only ever one instance per name, so entities and DTOs built from them share the same name String rather
+ * than each row holding its own copy, and instances can be compared by reference. Names come from request input, so
+ * new ones are length checked and the number of statuses is capped. Codes and names this node has not seen (added
+ * by another node) are read from the dictionary table on first use.
+ */
+@Getter
+public final class Status implements Comparable<Status> {
+
+    /**
+     * Names of statuses after which a case or task needs no further work
+     */
+    public static final Set<String> TERMINAL_NAMES = Set.of("Completed", "Complete", "Closed", "Resolved");
+
+    /**
+     * Longest status name accepted
+     */
+    public static final int MAX_NAME_LENGTH = 64;
+
+    private static final Map<String, Status> BY_NAME = new ConcurrentHashMap<>();
+    private static final Map<Short, Status> BY_CODE = new ConcurrentHashMap<>();
+
+    private static short nextCode = 1;
+
+    /**
+     * Allocates the code for a new name, through the dictionary table once
+     * {@link uk.gov.hmcts.reform.dev.services.StatusDictionary} registers itself and in memory until then
+     */
+    private static volatile Function<String, Short> allocator = name -> {
+        if (nextCode == Short.MAX_VALUE) {
+            throw new IllegalStateException("No status codes left to allocate '" + name + "'");
+        }
+        return nextCode;
+    };
+
+    private static volatile int maxStatuses = Short.MAX_VALUE;
+
+    // Read a pairing another node stored in the dictionary table, null if there is none (or no table yet)
+    private static volatile Function<Short, String> nameLookup = code -> null;
+    private static volatile Function<String, Short> codeLookup = name -> null;
+
+    private final short code;
+    private final String name;
+
+    private Status(short code, String name) {
+        this.code = code;
+        this.name = name;
+    }
+
+    /**
+     * Get the interned status for a name, allocating a code if the name has not been seen before
+     *
+     * @param name Status name as used at the API edge (e.g. "In Progress")
+     * @return Interned Status, or null if name is null
+     * @throws IllegalArgumentException If a new name is blank or too long, or the status cap has been reached
+     * @throws IllegalStateException If the code space has been exhausted
+     */
+    public static Status of(String name) throws IllegalArgumentException, IllegalStateException {
+        if (name == null) {
+            return null;
+        }
+        Status status = BY_NAME.get(name);
+        if (status != null) {
+            return status;
+        }
+        if (name.isBlank() || name.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Status must be 1 to " + MAX_NAME_LENGTH + " characters");
+        }
+
+        synchronized (Status.class) {
+            status = BY_NAME.get(name);
+            if (status != null) {
+                return status;
+            }
+            if (BY_NAME.size() >= maxStatuses) {
+                throw new IllegalArgumentException("No more than " + maxStatuses + " statuses can be used");
+            }
+            return register(allocator.apply(name), name);
+        }
+    }
+
+    /**
+     * Look up an existing status by name without allocating one, for filters on statuses that may not exist
+     *
+     * @param name Status name
+     * @return Optional containing the interned Status if the name is known
+     */
+    public static Optional<Status> find(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        Status status = BY_NAME.get(name);
+        if (status != null || name.isBlank() || name.length() > MAX_NAME_LENGTH) {
+            return Optional.ofNullable(status);
+        }
+        Short code = codeLookup.apply(name);
+        return code == null ? Optional.empty() : Optional.of(register(code, name));
+    }
+
+    /**
+     * Get the interned status for a stored code
+     *
+     * @param code Code read from a status column
+     * @return Interned Status
+     * @throws IllegalStateException If the code is neither registered nor in the dictionary table
+     */
+    public static Status ofCode(short code) throws IllegalStateException {
+        Status status = BY_CODE.get(code);
+        if (status != null) {
+            return status;
+        }
+        String name = nameLookup.apply(code);
+        if (name == null) {
+            throw new IllegalStateException("Unknown status code " + code);
+        }
+        return register(code, name);
+    }
+
+    /**
+     * Null-safe name of a status for the String API at the edges
+     *
+     * @param status Status to get the name of
+     * @return Name of the status or null
+     */
+    public static String nameOf(Status status) {
+        return status == null ? null : status.getName();
+    }
+
+    /**
+     * Registers an existing code/name pairing (e.g. loaded from the dictionary table)
+     *
+     * @param code Code of the status
+     * @param name Name of the status
+     * @return Interned Status for the name
+     * @throws IllegalStateException If either the code or name is already registered to a different pairing
+     */
+    public static synchronized Status register(short code, String name) throws IllegalStateException {
+        Status existing = BY_NAME.get(name);
+        if (existing != null && existing.code == code) {
+            return existing;
+        }
+        if (existing != null || BY_CODE.containsKey(code)) {
+            throw new IllegalStateException("Status '" + name + "' conflicts with registered code " + code);
+        }
+
+        Status status = new Status(code, name.intern());
+        BY_CODE.put(code, status);
+        BY_NAME.put(status.name, status);
+        if (code >= nextCode) {
+            nextCode = (short) (code + 1);
+        }
+        return status;
+    }
+
+    /**
+     * All statuses currently interned
+     *
+     * @return Unmodifiable view of every registered status
+     */
+    public static Collection<Status> all() {
+        return Collections.unmodifiableCollection(BY_CODE.values());
+    }
+
+    /**
+     * Set how codes are allocated for new names, called with the Status lock held so one name is allocated at a time
+     *
+     * @param codeForName Function returning the code stored for a name, allocating one if it has none
+     */
+    public static void allocateWith(Function<String, Short> codeForName) {
+        allocator = codeForName;
+    }
+
+    /**
+     * Set how codes and names registered by other nodes are read, used when a lookup misses in memory
+     *
+     * @param nameForCode Function returning the stored name for a code, or null if it has none
+     * @param codeForName Function returning the stored code for a name, or null if it has none
+     */
+    public static void lookupWith(Function<Short, String> nameForCode, Function<String, Short> codeForName) {
+        nameLookup = nameForCode;
+        codeLookup = codeForName;
+    }
+
+    /**
+     * Cap the number of distinct statuses, names beyond it are rejected
+     *
+     * @param max Most statuses that can be registered
+     */
+    public static void limit(int max) {
+        maxStatuses = max;
+    }
+
+    /**
+     * Whether no further work follows this status
+     *
+     * @return True if the status is one of {@link #TERMINAL_NAMES}
+     */
+    public boolean isTerminal() {
+        return TERMINAL_NAMES.contains(name);
+    }
+
+    /**
+     * Orders by code, as the database orders the status column
+     */
+    @Override
+    public int compareTo(Status other) {
+        return Short.compare(code, other.code);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+}
@@ -0,0 +1,22 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a {@link Status} as its small integer code, so status columns are compact and filter by integer comparison
+ */
+@Converter
+public class StatusConverter implements AttributeConverter<Status, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(Status status) {
+        return status == null ? null : status.getCode();
+    }
+
+    @Override
+    public Status convertToEntityAttribute(Short code) {
+        return code == null ? null : Status.ofCode(code);
+    }
+
+}
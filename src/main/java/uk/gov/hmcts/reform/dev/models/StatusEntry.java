@@ -0,0 +1,31 @@
+package uk.gov.hmcts.reform.dev.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Row of the status dictionary table, mapping the codes stored in the case/task status columns to their names
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Entity
+@Immutable
+@Table(
+    name = "statuses",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "UniqueStatusName", columnNames = {"name"})
+    }
+)
+public class StatusEntry {
+
+    @Id
+    private short code;
+
+    @Column(nullable = false)
+    private String name;
+
+}
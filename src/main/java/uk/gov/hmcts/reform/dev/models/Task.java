@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import uk.gov.hmcts.reform.dev.sharding.ShardedUuid;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -18,30 +19,42 @@ import java.util.UUID;
 @Setter
 @Entity
 @Table(
-    name = "tasks"
+    name = "tasks",
+    // Composite indexes backing /task/search, every filter combination leads with an equality column and ends
+    // with dueDate/id so the due window and keyset bound narrow the index range scanned. Matching rows are still
+    // sorted, undated tasks (NULLS LAST, reached through the OR dueDate IS NULL keyset branch) rule out index order
+    indexes = {
+        @Index(name = "TaskStatusDue", columnList = "status, dueDate, id"),
+        @Index(name = "TaskCaseStatusDue", columnList = "parentCase_id, status, dueDate, id"),
+        @Index(name = "TaskDue", columnList = "dueDate, id")
+    }
 )
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @ShardedUuid
     private UUID id;
 
     public Task(String title, String description, String status, LocalDateTime dueDate, Case parentCase){
         this.title = title;
         this.description = description;
-        this.status = status;
+        this.status = Status.of(status);
         this.dueDate = dueDate;
         this.parentCase = parentCase;
     }
 
     private String title;
     private String description;
-    private String status;
+
+    @Convert(converter = StatusConverter.class)
+    private Status status;
 
 
     private LocalDateTime dueDate;
 
-    @ManyToOne(fetch = FetchType.EAGER, optional = false)
+    // Lazy so task reads do not join and hydrate the case, reading the proxy's ID uses the foreign key without
+    // loading it
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     private Case parentCase;
 
 }
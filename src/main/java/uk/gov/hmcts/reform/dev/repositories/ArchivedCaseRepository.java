@@ -0,0 +1,42 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import uk.gov.hmcts.reform.dev.models.ArchivedCase;
+import uk.gov.hmcts.reform.dev.models.ArchivedTask;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read access to archived cases, rows are only written by the CaseArchiver
+ */
+public interface ArchivedCaseRepository extends CrudRepository<ArchivedCase, UUID> {
+
+    Optional<ArchivedCase> findFirstByCaseNumber(String caseNumber);
+
+    boolean existsByCaseNumber(String caseNumber);
+
+    /**
+     * Archived cases with any of the given IDs, their tasks fetched in the same query
+     */
+    @Query("select distinct c from ArchivedCase c left join fetch c.tasks where c.id in :ids")
+    List<ArchivedCase> findAllWithTasksByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * IDs of every task of an archived case in ID order, without hydrating the tasks
+     */
+    @Query("select t.id from ArchivedTask t where t.parentCase.id = :id order by t.id")
+    List<UUID> findTaskIdsByCaseId(@Param("id") UUID id);
+
+    /**
+     * One page of an archived case's tasks in ID order, used to embed at most a page of them
+     */
+    @Query("select t from ArchivedTask t where t.parentCase.id = :id order by t.id")
+    List<ArchivedTask> findTasksByCaseId(@Param("id") UUID id, Pageable pageable);
+
+}
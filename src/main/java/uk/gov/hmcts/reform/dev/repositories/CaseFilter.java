@@ -0,0 +1,21 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Composable case filters, every filter is optional (null or empty) and all given filters must match
+ *
+ * @param statuses Statuses the case may have
+ * @param createdFrom Earliest created date (inclusive)
+ * @param createdTo Latest created date (inclusive)
+ * @param title Text the title contains (case-insensitive)
+ * @param caseNumber Text the case number contains (case-insensitive)
+ * @param hasOverdueTasks True for cases with a task past its due date and not in a terminal status, false for cases
+ *                        without one
+ * @param minTasks Minimum number of tasks (inclusive)
+ * @param maxTasks Maximum number of tasks (inclusive)
+ */
+public record CaseFilter(Set<String> statuses, LocalDateTime createdFrom, LocalDateTime createdTo, String title,
+                         String caseNumber, Boolean hasOverdueTasks, Integer minTasks, Integer maxTasks) {
+}
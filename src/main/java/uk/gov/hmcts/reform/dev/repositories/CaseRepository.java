@@ -1,27 +1,71 @@
 package uk.gov.hmcts.reform.dev.repositories;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import uk.gov.hmcts.reform.dev.models.Case;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Automatically generates all necessary underlying requests to CRUD operate
  * upon Case (tasks) table.
  */
-public interface CaseRepository extends CrudRepository<Case, UUID> {
+public interface CaseRepository extends CrudRepository<Case, UUID>, JpaSpecificationExecutor<Case> {
 
     Page<Case> searchByIdOrTitleContainingIgnoreCaseOrCaseNumberContainingIgnoreCase(UUID id, String title,
                                                                                      String caseNumber,
                                                                                      Pageable pageable);
 
+    /**
+     * The same search without counting the matches, fetching one extra case to tell whether there is a next slice
+     */
+    Slice<Case> searchSliceByIdOrTitleContainingIgnoreCaseOrCaseNumberContainingIgnoreCase(UUID id, String title,
+                                                                                          String caseNumber,
+                                                                                          Pageable pageable);
+
+    /**
+     * IDs of at most limit cases matching the search, for an approximate count that stops at the limit
+     */
+    List<IdView> findIdsByIdOrTitleContainingIgnoreCaseOrCaseNumberContainingIgnoreCase(UUID id, String title,
+                                                                                        String caseNumber,
+                                                                                        Limit limit);
+
     Optional<Case> findFirstByCaseNumber(String caseNumber);
 
     void deleteAllByCaseNumberIn(Set<String> caseNumbers);
 
+    /**
+     * Cases with any of the given IDs, their tasks fetched in the same query
+     */
+    @Query("select distinct c from Case c left join fetch c.tasks where c.id in :ids")
+    List<Case> findAllWithTasksByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Streams just the case number and ID of every case, used to build the in-memory case number index without
+     * hydrating cases or their tasks
+     */
+    @Query("select c.caseNumber as caseNumber, c.id as id from Case c where c.caseNumber is not null")
+    Stream<CaseNumberView> streamAllCaseNumbers();
+
+    /**
+     * Projection of a case to its number and ID
+     */
+    interface CaseNumberView {
+        String getCaseNumber();
+
+        UUID getId();
+    }
+
 
 }
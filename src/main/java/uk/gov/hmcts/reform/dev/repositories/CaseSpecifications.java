@@ -0,0 +1,126 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+import uk.gov.hmcts.reform.dev.models.Case;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Specifications for filtering cases, each translates to a predicate (or correlated subquery on tasks) in the one
+ * SQL statement, nothing is filtered in Java
+ */
+public final class CaseSpecifications {
+
+    private CaseSpecifications() {
+    }
+
+    /**
+     * Combine every filter given in a CaseFilter
+     *
+     * @param filter Filters to apply
+     * @param now Time against which task due dates are overdue
+     * @return Specification matching all given filters (every case if none given)
+     */
+    public static Specification<Case> of(CaseFilter filter, LocalDateTime now) {
+        List<Specification<Case>> specifications = new ArrayList<>();
+        if (filter.statuses() != null && !filter.statuses().isEmpty()) {
+            specifications.add(statusIn(filter.statuses()));
+        }
+        if (filter.createdFrom() != null || filter.createdTo() != null) {
+            specifications.add(createdBetween(filter.createdFrom(), filter.createdTo()));
+        }
+        if (filter.title() != null && !filter.title().isEmpty()) {
+            specifications.add(contains("title", filter.title()));
+        }
+        if (filter.caseNumber() != null && !filter.caseNumber().isEmpty()) {
+            specifications.add(contains("caseNumber", filter.caseNumber()));
+        }
+        if (filter.hasOverdueTasks() != null) {
+            specifications.add(
+                filter.hasOverdueTasks() ? hasOverdueTasks(now) : Specification.not(hasOverdueTasks(now))
+            );
+        }
+        if (filter.minTasks() != null || filter.maxTasks() != null) {
+            specifications.add(taskCountBetween(filter.minTasks(), filter.maxTasks()));
+        }
+        return Specification.allOf(specifications);
+    }
+
+    /**
+     * Cases in any of the given statuses, compared as dictionary codes, unknown names match nothing
+     */
+    public static Specification<Case> statusIn(Collection<String> names) {
+        List<Status> statuses = names.stream().map(Status::find).flatMap(Optional::stream).toList();
+        return (root, query, cb) -> statuses.isEmpty() ? cb.disjunction() : root.get("status").in(statuses);
+    }
+
+    /**
+     * Cases created within the range, either bound may be null
+     */
+    public static Specification<Case> createdBetween(LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.between(root.get("createdDate"), from, to);
+            }
+            return from != null
+                ? cb.greaterThanOrEqualTo(root.get("createdDate"), from)
+                : cb.lessThanOrEqualTo(root.get("createdDate"), to);
+        };
+    }
+
+    /**
+     * Cases whose attribute contains the text, case-insensitive
+     */
+    public static Specification<Case> contains(String attribute, String text) {
+        String pattern = "%" + escape(text.toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get(attribute)), pattern, '\\');
+    }
+
+    /**
+     * Cases with at least one task due before now which is not in a terminal status
+     */
+    public static Specification<Case> hasOverdueTasks(LocalDateTime now) {
+        List<Status> terminal = Status.TERMINAL_NAMES.stream().map(Status::find).flatMap(Optional::stream).toList();
+        return (root, query, cb) -> {
+            Subquery<Integer> overdue = query.subquery(Integer.class);
+            Root<Task> task = overdue.from(Task.class);
+            overdue.select(cb.literal(1)).where(
+                cb.equal(task.get("parentCase"), root),
+                cb.lessThan(task.get("dueDate"), now),
+                terminal.isEmpty()
+                    ? cb.conjunction()
+                    : cb.or(cb.isNull(task.get("status")), cb.not(task.get("status").in(terminal)))
+            );
+            return cb.exists(overdue);
+        };
+    }
+
+    /**
+     * Cases with a number of tasks within the range, either bound may be null
+     */
+    public static Specification<Case> taskCountBetween(Integer min, Integer max) {
+        return (root, query, cb) -> {
+            Subquery<Long> count = query.subquery(Long.class);
+            Root<Task> task = count.from(Task.class);
+            count.select(cb.count(task)).where(cb.equal(task.get("parentCase"), root));
+            if (min != null && max != null) {
+                return cb.between(count, (long) min, (long) max);
+            }
+            return min != null ? cb.greaterThanOrEqualTo(count, (long) min) : cb.lessThanOrEqualTo(count, (long) max);
+        };
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+}
@@ -0,0 +1,10 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import java.util.UUID;
+
+/**
+ * Projection of a case or task to its ID, for queries that only need to know which rows match
+ */
+public interface IdView {
+    UUID getId();
+}
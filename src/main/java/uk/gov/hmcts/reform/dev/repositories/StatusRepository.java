@@ -0,0 +1,22 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import uk.gov.hmcts.reform.dev.models.StatusEntry;
+
+import java.util.Optional;
+
+/**
+ * CRUD access to the status dictionary table
+ */
+public interface StatusRepository extends CrudRepository<StatusEntry, Short> {
+
+    Optional<StatusEntry> findByName(String name);
+
+    /**
+     * Highest code allocated so far, 0 if the dictionary is empty
+     */
+    @Query("select coalesce(max(s.code), 0) from StatusEntry s")
+    int findMaxCode();
+
+}
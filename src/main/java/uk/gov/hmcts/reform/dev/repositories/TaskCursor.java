@@ -0,0 +1,54 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in the (dueDate, id) task order, exchanged with clients as an opaque token
+ *
+ * @param dueDate Due date of the last task returned, null if it had none (null due dates sort last)
+ * @param id ID of the last task returned
+ */
+public record TaskCursor(LocalDateTime dueDate, UUID id) {
+
+    /**
+     * Encode as an opaque URL-safe token
+     *
+     * @return Cursor token
+     */
+    public String encode() {
+        String raw = (dueDate == null ? "" : dueDate.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}
+     *
+     * @param token Cursor token, may be null
+     * @return Decoded cursor or null if no token given
+     * @throws IllegalArgumentException If the token is malformed
+     */
+    public static TaskCursor decode(String token) throws IllegalArgumentException {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor '" + token + "'");
+            }
+            String dueDate = raw.substring(0, separator);
+            return new TaskCursor(
+                dueDate.isEmpty() ? null : LocalDateTime.parse(dueDate),
+                UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor '" + token + "'");
+        }
+    }
+
+}
@@ -1,16 +1,56 @@
 package uk.gov.hmcts.reform.dev.repositories;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import uk.gov.hmcts.reform.dev.models.Task;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
-public interface TaskRepository extends CrudRepository<Task, UUID> {
+public interface TaskRepository extends CrudRepository<Task, UUID>, TaskSearchRepository {
 
     Page<Task> findAllByParentCaseId(UUID id, Pageable pageable);
 
+    /**
+     * Tasks of a case without counting them, fetching one extra task to tell whether there is a next slice
+     */
+    Slice<Task> findSliceByParentCaseId(UUID id, Pageable pageable);
+
+    /**
+     * IDs of at most limit tasks of a case, for an approximate count that stops at the limit
+     */
+    List<IdView> findIdsByParentCaseId(UUID id, Limit limit);
+
     Page<Task> searchByIdOrTitleContainingIgnoreCase(UUID id, String title, Pageable pageable);
 
+    List<Task> findAllByIdIn(Collection<UUID> ids);
+
+    /**
+     * Just the IDs of every task of the given cases in ID order, so listing a case's tasks does not hydrate them
+     */
+    @Query("select t.parentCase.id as parentCaseId, t.id as id from Task t where t.parentCase.id in :caseIds "
+        + "order by t.id")
+    List<TaskParentView> findTaskIdsByParentCaseIdIn(@Param("caseIds") Collection<UUID> caseIds);
+
+    /**
+     * The first limit tasks of each of the given cases in ID order, the rows are ranked within each case in the
+     * database so tasks past the limit are never loaded
+     */
+    @Query("select t from Task t where t.id in (select r.id from (select t2.id as id, row_number() over "
+        + "(partition by t2.parentCase.id order by t2.id) as rn from Task t2 where t2.parentCase.id in :caseIds) r "
+        + "where r.rn <= :limit) order by t.id")
+    List<Task> findFirstTasksByParentCaseIdIn(@Param("caseIds") Collection<UUID> caseIds, @Param("limit") int limit);
+
+    interface TaskParentView {
+        UUID getParentCaseId();
+
+        UUID getId();
+    }
+
 }
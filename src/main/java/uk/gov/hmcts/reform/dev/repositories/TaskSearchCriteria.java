@@ -0,0 +1,18 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Filters for a task search, every filter is optional (null or empty) and all given filters must match
+ *
+ * @param title Text the title contains (case-insensitive)
+ * @param statuses Statuses the task may have
+ * @param dueFrom Earliest due date (inclusive)
+ * @param dueTo Latest due date (inclusive)
+ * @param caseId ID of the parent case
+ */
+public record TaskSearchCriteria(String title, Set<String> statuses, LocalDateTime dueFrom, LocalDateTime dueTo,
+                                 UUID caseId) {
+}
@@ -0,0 +1,22 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.util.List;
+
+/**
+ * Custom fragment of TaskRepository for the multi-filter task search
+ */
+public interface TaskSearchRepository {
+
+    /**
+     * Find tasks matching the criteria in (dueDate, id) order, in a single statement
+     *
+     * @param criteria Filters to apply
+     * @param after Cursor to continue after, or null for the first page
+     * @param limit Maximum number of tasks to return
+     * @return Matching tasks, their parent case left lazy with only its ID read
+     */
+    List<Task> search(TaskSearchCriteria criteria, TaskCursor after, int limit);
+
+}
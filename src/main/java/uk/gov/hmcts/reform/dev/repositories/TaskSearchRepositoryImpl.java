@@ -0,0 +1,80 @@
+package uk.gov.hmcts.reform.dev.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.models.Task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Criteria implementation of the task search, every filter is pushed into the one SQL statement
+ */
+public class TaskSearchRepositoryImpl implements TaskSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Task> search(TaskSearchCriteria criteria, TaskCursor after, int limit) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<Task> query = cb.createQuery(Task.class);
+        Root<Task> task = query.from(Task.class);
+
+        Path<LocalDateTime> dueDate = task.get("dueDate");
+        Path<UUID> id = task.get("id");
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (criteria.caseId() != null) {
+            predicates.add(cb.equal(task.get("parentCase").get("id"), criteria.caseId()));
+        }
+        if (criteria.statuses() != null && !criteria.statuses().isEmpty()) {
+            // Bound through StatusConverter, so an IN list of small integer codes, unknown names can never match
+            List<Status> statuses = criteria.statuses().stream().map(Status::find).flatMap(Optional::stream).toList();
+            predicates.add(statuses.isEmpty() ? cb.disjunction() : task.get("status").in(statuses));
+        }
+        if (criteria.dueFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(dueDate, criteria.dueFrom()));
+        }
+        if (criteria.dueTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(dueDate, criteria.dueTo()));
+        }
+        if (criteria.title() != null && !criteria.title().isEmpty()) {
+            predicates.add(cb.like(cb.lower(task.<String>get("title")),
+                                   "%" + escape(criteria.title().toLowerCase(Locale.ROOT)) + "%", '\\'));
+        }
+        if (after != null) {
+            if (after.dueDate() == null) {
+                predicates.add(cb.and(cb.isNull(dueDate), cb.greaterThan(id, after.id())));
+            } else {
+                predicates.add(cb.or(
+                    cb.greaterThan(dueDate, after.dueDate()),
+                    cb.and(cb.equal(dueDate, after.dueDate()), cb.greaterThan(id, after.id())),
+                    cb.isNull(dueDate)
+                ));
+            }
+        }
+
+        query.select(task)
+            .where(predicates.toArray(Predicate[]::new))
+            .orderBy(cb.asc(dueDate, false), cb.asc(id));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private static String escape(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+}
@@ -0,0 +1,485 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.dto.AuditEntry;
+import uk.gov.hmcts.reform.dev.dto.ChangeEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ObjLongConsumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only audit log of committed case/task changes, kept in rotating segment files outside the database so
+ * history costs no extra database writes
+ * <p>
+ * DAOService records an entry for every create, delete and property update, which is queued (lock-free) once the
+ * transaction commits. A single writer thread drains the queue, appends everything queued as one write and forces
+ * it to disk with one fsync per batch (group commit), so under load many changes share each fsync. A segment is
+ * closed and a new one started once it passes the segment size.
+ * <p>
+ * Each record is its length, the entry and a CRC32 of the entry. The in-memory index of record positions per
+ * case/task ID is kept per segment, for the newest {@code indexed-segments} segments only, so its size is bounded by
+ * the segment size rather than growing with the whole log. It holds one position per entry, a case's positions
+ * include its tasks' entries. History reaching back past the indexed segments scans the older ones, slower but
+ * complete. On startup only the indexed segments are scanned and a torn record at the end of the last segment (a
+ * crash mid-write) is truncated.
+ * <p>
+ * Entries are queued once their transaction commits and are only durable after the writer's group fsync, so a crash
+ * in between loses committed changes from the audit log (not from the database). It is a best-effort history rather
+ * than a write-ahead log, a failed write is logged and its batch dropped likewise.
+ */
+@Component
+public class AuditLog {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AuditLog.class);
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("audit-\\d{20}\\.log");
+    // Record positions pack the segment number above the offset within the segment
+    private static final int OFFSET_BITS = 40;
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+
+    private final Queue<AuditEntry> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicLong enqueued = new AtomicLong();
+    private final Object writtenMonitor = new Object();
+    private long written;
+
+    // Record positions by case/task ID, one map per segment for the newest indexedSegments segments only
+    private final ConcurrentSkipListMap<Integer, Map<UUID, Queue<Long>>> indexes = new ConcurrentSkipListMap<>();
+    private final List<Path> segments = new CopyOnWriteArrayList<>();
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long segmentBytes;
+    private final int maxBatch;
+    private final int indexedSegments;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // Only touched by the writer thread once started
+    private FileChannel current;
+    private long nextSequence = 1;
+
+    /**
+     * Autowired constructor, recovers existing segments and starts the writer thread
+     *
+     * @param enabled Whether changes are audited at all
+     * @param directory Directory holding the segment files
+     * @param segmentBytes Size after which a segment is closed and a new one started
+     * @param maxBatch Most entries written per group commit
+     * @param indexedSegments Newest segments whose record positions are held in memory, at least the current one
+     */
+    public AuditLog(@Value("${audit.enabled:true}") boolean enabled,
+                    @Value("${audit.directory:audit}") Path directory,
+                    @Value("${audit.segment-bytes:67108864}") long segmentBytes,
+                    @Value("${audit.max-batch:1024}") int maxBatch,
+                    @Value("${audit.indexed-segments:4}") int indexedSegments) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxBatch = maxBatch;
+        this.indexedSegments = Math.max(1, indexedSegments);
+        if (!enabled) {
+            writer = null;
+            return;
+        }
+
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open audit log in " + directory, e);
+        }
+        writer = new Thread(this::writeLoop, "audit-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Record a change, queued for the log once the current transaction commits (immediately if there is none)
+     *
+     * @param entry Change to record, its sequence is assigned when written
+     */
+    public void record(AuditEntry entry) {
+        if (!enabled) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            queue.offer(entry);
+            enqueued.incrementAndGet();
+            LockSupport.unpark(writer);
+        });
+    }
+
+    /**
+     * Wait until every entry queued so far is written and forced to disk
+     *
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public void sync() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        long target = enqueued.get();
+        LockSupport.unpark(writer);
+        synchronized (writtenMonitor) {
+            while (written < target && writer.isAlive()) {
+                writtenMonitor.wait(TimeUnit.SECONDS.toMillis(1));
+            }
+        }
+    }
+
+    /**
+     * History of a case (including its tasks) or a task, oldest first, including every change committed before
+     * the call
+     *
+     * @param id Case or task ID
+     * @param limit Most entries returned, the latest ones
+     * @return Audit entries for the ID, empty if auditing is disabled
+     * @throws IOException If a segment cannot be read
+     * @throws InterruptedException If interrupted while waiting for queued entries to be written
+     * @apiNote Segments are read newest first until limit entries are found, so a short history (or an unknown ID)
+     *          scans every segment older than the indexed ones
+     */
+    public List<AuditEntry> history(UUID id, int limit) throws IOException, InterruptedException {
+        if (!enabled) {
+            return List.of();
+        }
+        sync();
+        // Newest first while collecting
+        List<Long> latest = new ArrayList<>();
+        for (int segment = segments.size() - 1; segment >= 0 && latest.size() < limit; segment--) {
+            Map<UUID, Queue<Long>> index = indexes.get(segment);
+            List<Long> found = index != null ? List.copyOf(index.getOrDefault(id, new ArrayDeque<>()))
+                : positionsOf(segment, id);
+            for (int i = found.size() - 1; i >= 0 && latest.size() < limit; i--) {
+                latest.add(found.get(i));
+            }
+        }
+        Collections.reverse(latest);
+
+        List<AuditEntry> entries = new ArrayList<>(latest.size());
+        Map<Integer, FileChannel> channels = new HashMap<>();
+        try {
+            for (long position : latest) {
+                int segment = (int) (position >>> OFFSET_BITS);
+                FileChannel channel = channels.get(segment);
+                if (channel == null) {
+                    channel = FileChannel.open(segments.get(segment), StandardOpenOption.READ);
+                    channels.put(segment, channel);
+                }
+                entries.add(read(channel, position & OFFSET_MASK));
+            }
+        } finally {
+            for (FileChannel channel : channels.values()) {
+                channel.close();
+            }
+        }
+        return entries;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Index the newest segments and reopen the last one for appending, truncating a torn final record
+     */
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(file -> SEGMENT_NAME.matcher(file.getFileName().toString()).matches())
+                .sorted()
+                .toList();
+        }
+        long valid = 0;
+        for (int i = 0; i < files.size(); i++) {
+            Path file = files.get(i);
+            segments.add(file);
+            // Named after the first sequence written to it, which covers a last segment left empty
+            String name = file.getFileName().toString();
+            nextSequence = Math.max(nextSequence, Long.parseLong(name.substring(6, name.length() - 4)));
+            if (i < files.size() - indexedSegments) {
+                continue;
+            }
+
+            int segment = i;
+            Map<UUID, Queue<Long>> index = new ConcurrentHashMap<>();
+            indexes.put(segment, index);
+            valid = scan(file, (entry, offset) -> {
+                nextSequence = Math.max(nextSequence, entry.getSequence() + 1);
+                index(index, entry, position(segment, offset));
+            });
+        }
+
+        if (segments.isEmpty()) {
+            openSegment();
+            return;
+        }
+        current = FileChannel.open(segments.getLast(), StandardOpenOption.WRITE);
+        if (current.size() > valid) {
+            LOG.warn("Truncating {} bytes of torn audit records from {}", current.size() - valid, segments.getLast());
+            current.truncate(valid);
+            current.force(true);
+        }
+        current.position(valid);
+        if (valid >= segmentBytes) {
+            rotate();
+        }
+    }
+
+    /**
+     * Visit the valid records of a segment
+     *
+     * @param visitor Called with each entry and its offset in the segment
+     * @return Offset after the last valid record
+     */
+    private long scan(Path file, ObjLongConsumer<AuditEntry> visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CRC32 crc = new CRC32();
+            while (buffer.remaining() >= Integer.BYTES) {
+                int start = buffer.position();
+                int length = buffer.getInt();
+                if (length <= 0 || buffer.remaining() < length + Integer.BYTES) {
+                    return start;
+                }
+                ByteBuffer payload = buffer.slice(buffer.position(), length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                buffer.position(buffer.position() + length);
+                if ((int) crc.getValue() != buffer.getInt()) {
+                    return start;
+                }
+                visitor.accept(decode(payload), start);
+            }
+            return buffer.position();
+        }
+    }
+
+    private void writeLoop() {
+        List<AuditEntry> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            AuditEntry entry;
+            while (batch.size() < maxBatch && (entry = queue.poll()) != null) {
+                batch.add(entry);
+            }
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+                continue;
+            }
+            try {
+                write(batch);
+            } catch (IOException | RuntimeException e) {
+                LOG.error("Audit log write failed, {} entries lost", batch.size(), e);
+            } finally {
+                synchronized (writtenMonitor) {
+                    written += batch.size();
+                    writtenMonitor.notifyAll();
+                }
+                batch.clear();
+            }
+        }
+        try {
+            current.close();
+        } catch (IOException e) {
+            LOG.warn("Could not close audit segment", e);
+        }
+    }
+
+    /**
+     * Append a batch as one write and one fsync, then index it
+     */
+    private void write(List<AuditEntry> batch) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(batch.size() * 128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        ByteArrayOutputStream record = new ByteArrayOutputStream(128);
+        DataOutputStream recordOut = new DataOutputStream(record);
+        CRC32 crc = new CRC32();
+        long start = current.position();
+        long[] offsets = new long[batch.size()];
+
+        for (int i = 0; i < batch.size(); i++) {
+            AuditEntry entry = batch.get(i);
+            entry.setSequence(nextSequence++);
+            record.reset();
+            encode(recordOut, entry);
+            crc.reset();
+            crc.update(record.toByteArray());
+            offsets[i] = start + bytes.size();
+            out.writeInt(record.size());
+            record.writeTo(out);
+            out.writeInt((int) crc.getValue());
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        try {
+            while (buffer.hasRemaining()) {
+                current.write(buffer);
+            }
+            current.force(false);
+        } catch (IOException e) {
+            // Drop any partial batch so later batches are not appended after a torn record
+            current.truncate(start);
+            current.position(start);
+            throw e;
+        }
+
+        int segment = segments.size() - 1;
+        Map<UUID, Queue<Long>> index = indexes.get(segment);
+        for (int i = 0; i < batch.size(); i++) {
+            index(index, batch.get(i), position(segment, offsets[i]));
+        }
+        if (current.position() >= segmentBytes) {
+            rotate();
+        }
+    }
+
+    private void rotate() throws IOException {
+        current.close();
+        openSegment();
+    }
+
+    private void openSegment() throws IOException {
+        Path file = directory.resolve(String.format("audit-%020d.log", nextSequence));
+        current = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        current.position(current.size());
+        int segment = segments.size();
+        segments.add(file);
+
+        indexes.put(segment, new ConcurrentHashMap<>());
+        while (indexes.firstKey() <= segment - indexedSegments) {
+            indexes.pollFirstEntry();
+        }
+    }
+
+    /**
+     * Positions of an ID's records in a segment that is no longer indexed, by scanning it
+     */
+    private List<Long> positionsOf(int segment, UUID id) throws IOException {
+        List<Long> found = new ArrayList<>();
+        scan(segments.get(segment), (entry, offset) -> {
+            if (id.equals(entry.getId()) || id.equals(entry.getCaseId())) {
+                found.add(position(segment, offset));
+            }
+        });
+        return found;
+    }
+
+    private static long position(int segment, long offset) {
+        return ((long) segment << OFFSET_BITS) | offset;
+    }
+
+    private static void index(Map<UUID, Queue<Long>> index, AuditEntry entry, long position) {
+        index.computeIfAbsent(entry.getId(), id -> new ConcurrentLinkedQueue<>()).add(position);
+        if (entry.getCaseId() != null && !entry.getCaseId().equals(entry.getId())) {
+            index.computeIfAbsent(entry.getCaseId(), id -> new ConcurrentLinkedQueue<>()).add(position);
+        }
+    }
+
+    private static AuditEntry read(FileChannel channel, long offset) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        readFully(channel, length, offset);
+        ByteBuffer payload = ByteBuffer.allocate(length.flip().getInt());
+        readFully(channel, payload, offset + Integer.BYTES);
+        return decode(payload.flip());
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Audit record truncated at " + offset);
+            }
+        }
+    }
+
+    private static void encode(DataOutputStream out, AuditEntry entry) throws IOException {
+        out.writeLong(entry.getSequence());
+        out.writeLong(entry.getTimestamp().toEpochMilli());
+        out.writeByte(entry.getType().ordinal());
+        out.writeByte(entry.getEntity().ordinal());
+        writeUuid(out, entry.getId());
+        writeUuid(out, entry.getCaseId());
+        writeString(out, entry.getProperty());
+        writeString(out, entry.getPreviousValue());
+        writeString(out, entry.getValue());
+    }
+
+    private static AuditEntry decode(ByteBuffer in) {
+        return new AuditEntry(
+            in.getLong(), Instant.ofEpochMilli(in.getLong()),
+            ChangeEvent.Type.values()[in.get()], ChangeEvent.Entity.values()[in.get()],
+            readUuid(in), readUuid(in), readString(in), readString(in), readString(in)
+        );
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeBoolean(uuid != null);
+        if (uuid != null) {
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        }
+    }
+
+    private static UUID readUuid(ByteBuffer in) {
+        return in.get() == 0 ? null : new UUID(in.getLong(), in.getLong());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
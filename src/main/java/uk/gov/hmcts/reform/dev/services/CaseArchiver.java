@@ -0,0 +1,231 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.sharding.ShardRouter;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves cases in a terminal status (see {@link Status#TERMINAL_NAMES}) created before the archive age, with their
+ * tasks, out of the cases/tasks tables into archived_cases/archived_tasks, keeping searches and index scans on the
+ * primary tables proportional to live work
+ * <p>
+ * Runs on a background thread in bounded batches, each batch its own transaction with a pause between batches so
+ * archiving never holds locks or the connection pool for long. Archived cases stay readable through
+ * {@link DAOService#getCase} and {@link DAOService#getCaseByNumber}.
+ * <p>
+ * Also tracks whether the archive holds any cases, so creating a case only checks archived case numbers on every
+ * shard once something has been archived.
+ */
+@Component
+public class CaseArchiver {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CaseArchiver.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CaseNumberIndex caseNumberIndex;
+    private final SearchCache searchCache;
+    private final TaskWriteBehind taskWriteBehind;
+    private final ShardRouter shardRouter;
+    private final Duration archiveAfter;
+    private final int batchSize;
+    private final long batchPauseMillis;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean holdsCases = new AtomicBoolean();
+
+    /**
+     * Autowired constructor
+     *
+     * @param jdbcTemplate JdbcTemplate for the set-based copy and delete
+     * @param transactionTemplate TransactionTemplate to run each batch in
+     * @param caseNumberIndex In-memory case number index, archived numbers are removed from it
+     * @param searchCache Search cache, invalidated as archived cases leave search results
+     * @param taskWriteBehind Write-behind queue, flushed first so no update is lost on archived tasks
+     * @param shardRouter ShardRouter to archive each shard in turn
+     * @param enabled Whether archiving runs in the background at all
+     * @param archiveAfter Age (from created date) after which terminal cases are archived
+     * @param interval Delay between archive runs
+     * @param batchSize Cases moved per batch/transaction
+     * @param batchPause Pause between batches
+     */
+    public CaseArchiver(@Autowired JdbcTemplate jdbcTemplate,
+                        @Autowired TransactionTemplate transactionTemplate,
+                        @Autowired CaseNumberIndex caseNumberIndex,
+                        @Autowired SearchCache searchCache,
+                        @Autowired TaskWriteBehind taskWriteBehind,
+                        @Autowired ShardRouter shardRouter,
+                        @Value("${archive.enabled:false}") boolean enabled,
+                        @Value("${archive.after:P365D}") Duration archiveAfter,
+                        @Value("${archive.interval:PT1H}") Duration interval,
+                        @Value("${archive.batch-size:200}") int batchSize,
+                        @Value("${archive.batch-pause:PT0.5S}") Duration batchPause) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.caseNumberIndex = caseNumberIndex;
+        this.searchCache = searchCache;
+        this.taskWriteBehind = taskWriteBehind;
+        this.shardRouter = shardRouter;
+        this.archiveAfter = archiveAfter;
+        this.batchSize = batchSize;
+        this.batchPauseMillis = batchPause.toMillis();
+
+        if (enabled) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "case-archiver");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long delay = interval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::archiveQuietly, delay, delay, TimeUnit.MILLISECONDS);
+        } else {
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Check whether any shard's archive already holds cases, at startup and after its tables are replaced wholesale
+     */
+    @PostConstruct
+    public void checkHoldsCases() {
+        holdsCases.set(shardRouter.scatter(shard -> jdbcTemplate.queryForObject(
+            "select exists (select 1 from archived_cases)", Boolean.class
+        )).contains(true));
+    }
+
+    /**
+     * Whether the archive may hold cases, false only while no shard's archive has any
+     *
+     * @return True once a case has been archived or found in the archive at startup
+     */
+    public boolean holdsCases() {
+        return holdsCases.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void archiveQuietly() {
+        try {
+            archive(LocalDateTime.now().minus(archiveAfter));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            LOG.warn("Case archiving failed", e);
+        }
+    }
+
+    /**
+     * Archive every terminal case created before the cutoff, batch by batch (shard by shard when sharded, a case's
+     * archive rows stay on its shard)
+     *
+     * @param cutoff Cases created before this are archived
+     * @return Number of cases archived
+     * @throws InterruptedException If interrupted while pausing between batches
+     */
+    public synchronized int archive(LocalDateTime cutoff) throws InterruptedException {
+        taskWriteBehind.flush();
+        int total = 0;
+        for (int shard = 0; shard < shardRouter.count(); shard++) {
+            int moved;
+            do {
+                moved = shardRouter.on(shard, () -> Optional.ofNullable(
+                    transactionTemplate.execute(tx -> archiveBatch(cutoff))
+                ).orElse(0));
+                total += moved;
+                if (moved == batchSize && batchPauseMillis > 0) {
+                    Thread.sleep(batchPauseMillis);
+                }
+            } while (moved == batchSize);
+        }
+        if (total > 0) {
+            LOG.info("Archived {} cases created before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    /**
+     * Copy one batch of cases and their tasks into the archive tables and delete them from the primary tables, the
+     * cases are locked as they are selected so none can change status between the copy and the delete
+     */
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Short> terminal = Status.TERMINAL_NAMES.stream()
+            .map(Status::find).flatMap(Optional::stream).map(Status::getCode).toList();
+        if (terminal.isEmpty()) {
+            return 0;
+        }
+
+        List<Object> selectArgs = new ArrayList<>(terminal);
+        selectArgs.add(Timestamp.valueOf(cutoff));
+        selectArgs.add(batchSize);
+        List<UUID> ids = new ArrayList<>();
+        List<String> caseNumbers = new ArrayList<>();
+        jdbcTemplate.query(
+            "select id, case_number from cases where status in (" + placeholders(terminal.size()) + ")"
+                + " and created_date < ? order by created_date limit ? for update",
+            row -> {
+                ids.add(row.getObject("id", UUID.class));
+                caseNumbers.add(row.getString("case_number"));
+            },
+            selectArgs.toArray()
+        );
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        String in = " in (" + placeholders(ids.size()) + ")";
+        Object[] idArgs = ids.toArray();
+        List<Object> archivedArgs = new ArrayList<>();
+        archivedArgs.add(Timestamp.valueOf(LocalDateTime.now()));
+        archivedArgs.addAll(ids);
+
+        jdbcTemplate.update(
+            "insert into archived_cases (id, case_number, title, description, status, created_date, archived_date)"
+                + " select id, case_number, title, description, status, created_date, ? from cases where id" + in,
+            archivedArgs.toArray()
+        );
+        jdbcTemplate.update(
+            "insert into archived_tasks (id, title, description, status, due_date, parent_case_id)"
+                + " select id, title, description, status, due_date, parent_case_id from tasks"
+                + " where parent_case_id" + in,
+            idArgs
+        );
+        jdbcTemplate.update("delete from tasks where parent_case_id" + in, idArgs);
+        jdbcTemplate.update("delete from cases where id" + in, idArgs);
+
+        // Set before the rows commit, a create racing the commit then checks the archive rather than missing them
+        holdsCases.set(true);
+        caseNumberIndex.removeNumbersOnCommit(caseNumbers);
+        searchCache.invalidate();
+        return ids.size();
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+}
@@ -0,0 +1,372 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.dto.CaseDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pipelined importer for large JSON files of cases (an array of CaseDto, as in the example cases file)
+ * <p>
+ * The calling thread tokenizes the array with a streaming parser, copying every chunk-size elements into a buffer
+ * without binding them. Chunks are bound and validated in parallel on a fork-join pool, then split by case number
+ * hash across the writers' bounded queues, so a number repeated in the file always lands on the same writer and the
+ * repeat is rejected. Each writer saves its batches through {@link DAOService#saveCases}, one transaction per batch,
+ * falling back to case by case saves to reject only the offending cases when a batch fails.
+ * <p>
+ * At most max-chunks-in-flight chunks are tokenized but not yet written, the tokenizer blocks until a writer
+ * finishes one, so the heap used is bounded whatever the file size. Batches are committed as they go, an import
+ * failing midway leaves the cases written so far.
+ */
+@Component
+public class CaseImporter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CaseImporter.class);
+
+    /**
+     * Outcome of an import
+     *
+     * @param cases Number of cases saved
+     * @param rejected Number of cases rejected (invalid, or duplicated case number)
+     * @param bytes Bytes of JSON read
+     * @param duration Time taken
+     */
+    public record Report(long cases, long rejected, long bytes, Duration duration) {
+
+        public long getRowsPerSecond() {
+            long millis = Math.max(1, duration.toMillis());
+            return (cases + rejected) * 1000 / millis;
+        }
+    }
+
+    /**
+     * Cases for one writer from one chunk, the chunk's permit is released once its last batch is written
+     */
+    private record Batch(List<CaseDto> cases, AtomicInteger remaining) {
+    }
+
+    private static final Batch END = new Batch(List.of(), new AtomicInteger());
+
+    private final DAOService daoService;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader chunkReader;
+    private final int chunkSize;
+    private final int parsers;
+    private final int writers;
+    private final int maxChunksInFlight;
+
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicInteger chunksInFlight = new AtomicInteger();
+    private final Timer importTimer;
+
+    /**
+     * Autowired constructor
+     *
+     * @param daoService DAOService to save the imported cases through
+     * @param objectMapper Application ObjectMapper, for the streaming parser and binding chunks
+     * @param meterRegistry Registry for the import throughput metrics
+     * @param chunkSize Array elements per chunk handed to the parsers
+     * @param parsers Parallelism of the parse/validate pool, 0 for one per processor
+     * @param writers Number of writer threads (and concurrent write transactions)
+     * @param maxChunksInFlight Chunks tokenized but not yet written before the tokenizer waits
+     */
+    public CaseImporter(@Autowired DAOService daoService,
+                        @Autowired ObjectMapper objectMapper,
+                        @Autowired MeterRegistry meterRegistry,
+                        @Value("${import.chunk-size:1000}") int chunkSize,
+                        @Value("${import.parsers:0}") int parsers,
+                        @Value("${import.writers:4}") int writers,
+                        @Value("${import.max-chunks-in-flight:16}") int maxChunksInFlight) {
+        this.daoService = daoService;
+        this.objectMapper = objectMapper;
+        this.chunkReader = objectMapper.readerForListOf(CaseDto.class);
+        this.chunkSize = chunkSize;
+        this.parsers = parsers > 0 ? parsers : Runtime.getRuntime().availableProcessors();
+        this.writers = writers;
+        this.maxChunksInFlight = maxChunksInFlight;
+
+        FunctionCounter.builder("import.cases.imported", imported, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("import.cases.rejected", rejected, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("import.chunks.in.flight", chunksInFlight, AtomicInteger::get).register(meterRegistry);
+        importTimer = Timer.builder("import.duration").register(meterRegistry);
+    }
+
+    /**
+     * Import every case in a JSON array, one import at a time
+     *
+     * @param in JSON array of cases, not closed
+     * @return Report of cases saved/rejected and throughput
+     * @throws IOException If the input cannot be read or is not well-formed JSON
+     * @throws IllegalArgumentException If the input is not a JSON array
+     * @throws InterruptedException If interrupted while waiting on the pipeline
+     */
+    public synchronized Report importCases(InputStream in)
+        throws IOException, IllegalArgumentException, InterruptedException {
+        long start = System.nanoTime();
+        long importedBefore = imported.get();
+        long rejectedBefore = rejected.get();
+
+        Semaphore permits = new Semaphore(maxChunksInFlight);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        List<BlockingQueue<Batch>> queues = new ArrayList<>(writers);
+        for (int i = 0; i < writers; i++) {
+            // Each chunk puts at most one batch on a queue, so with the end marker a put never blocks
+            queues.add(new ArrayBlockingQueue<>(maxChunksInFlight + 1));
+        }
+
+        ForkJoinPool parsePool = new ForkJoinPool(parsers);
+        ExecutorService writerPool = Executors.newFixedThreadPool(writers, runnable -> {
+            Thread thread = new Thread(runnable, "case-import-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<?>> writerTasks = new ArrayList<>(writers);
+        for (BlockingQueue<Batch> queue : queues) {
+            writerTasks.add(writerPool.submit(() -> {
+                write(queue, permits, failure);
+                return null;
+            }));
+        }
+
+        long bytes;
+        try {
+            bytes = tokenize(in, chunk -> parsePool.execute(() -> parse(chunk, queues, permits, failure)), permits,
+                             failure);
+        } finally {
+            parsePool.shutdown();
+            parsePool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            for (BlockingQueue<Batch> queue : queues) {
+                queue.put(END);
+            }
+            for (Future<?> writerTask : writerTasks) {
+                try {
+                    writerTask.get();
+                } catch (ExecutionException e) {
+                    failure.compareAndSet(null, new IllegalStateException(e.getCause()));
+                }
+            }
+            writerPool.shutdown();
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        importTimer.record(duration);
+        Report report = new Report(imported.get() - importedBefore, rejected.get() - rejectedBefore, bytes, duration);
+        LOG.info("Imported {} cases ({} rejected): {} bytes in {} ms, {} rows/s", report.cases(), report.rejected(),
+                 report.bytes(), report.duration().toMillis(), report.getRowsPerSecond());
+        return report;
+    }
+
+    @FunctionalInterface
+    private interface ChunkSink {
+        void accept(byte[] chunk);
+    }
+
+    /**
+     * Split the array into chunks of raw JSON, waiting for a permit before each one
+     *
+     * @return Bytes read
+     */
+    private long tokenize(InputStream in, ChunkSink sink, Semaphore permits, AtomicReference<RuntimeException> failure)
+        throws IOException, InterruptedException {
+        JsonFactory factory = objectMapper.getFactory();
+        try (JsonParser parser = factory.createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Import must be a JSON array of cases");
+            }
+
+            ByteArrayOutputStream buffer = null;
+            JsonGenerator chunk = null;
+            int elements = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && failure.get() == null) {
+                if (token == null) {
+                    throw new IllegalArgumentException("Import ended before the end of the array");
+                }
+                if (chunk == null) {
+                    buffer = new ByteArrayOutputStream(chunkSize * 256);
+                    chunk = factory.createGenerator(buffer);
+                    chunk.writeStartArray();
+                }
+                chunk.copyCurrentStructure(parser);
+                if (++elements == chunkSize) {
+                    submit(chunk, buffer, sink, permits);
+                    chunk = null;
+                    elements = 0;
+                }
+            }
+            if (chunk != null) {
+                submit(chunk, buffer, sink, permits);
+            }
+            return parser.currentLocation().getByteOffset();
+        }
+    }
+
+    private void submit(JsonGenerator chunk, ByteArrayOutputStream buffer, ChunkSink sink, Semaphore permits)
+        throws IOException, InterruptedException {
+        chunk.writeEndArray();
+        chunk.close();
+        permits.acquire();
+        chunksInFlight.incrementAndGet();
+        sink.accept(buffer.toByteArray());
+    }
+
+    /**
+     * Bind and validate a chunk, then hand each writer its share
+     */
+    private void parse(byte[] chunk, List<BlockingQueue<Batch>> queues, Semaphore permits,
+                       AtomicReference<RuntimeException> failure) {
+        List<CaseDto> cases;
+        try {
+            cases = bind(chunk);
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+            release(permits);
+            return;
+        }
+
+        List<List<CaseDto>> partitions = new ArrayList<>(writers);
+        for (int i = 0; i < writers; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (CaseDto caseDto : cases) {
+            if (isValid(caseDto)) {
+                partitions.get(Math.floorMod(caseDto.getCaseNumber().hashCode(), writers)).add(caseDto);
+            } else {
+                rejected.incrementAndGet();
+            }
+        }
+
+        AtomicInteger remaining = new AtomicInteger(
+            (int) partitions.stream().filter(partition -> !partition.isEmpty()).count()
+        );
+        if (remaining.get() == 0) {
+            release(permits);
+            return;
+        }
+        for (int i = 0; i < writers; i++) {
+            if (!partitions.get(i).isEmpty()) {
+                queues.get(i).add(new Batch(partitions.get(i), remaining));
+            }
+        }
+    }
+
+    /**
+     * Bind a whole chunk, or element by element when any element fails to bind, those are counted as rejected
+     */
+    private List<CaseDto> bind(byte[] chunk) {
+        try {
+            return chunkReader.readValue(chunk);
+        } catch (IOException e) {
+            List<CaseDto> cases = new ArrayList<>();
+            try {
+                for (JsonNode element : objectMapper.readTree(chunk)) {
+                    try {
+                        cases.add(objectMapper.treeToValue(element, CaseDto.class));
+                    } catch (IOException | IllegalArgumentException elementFailure) {
+                        rejected.incrementAndGet();
+                    }
+                }
+            } catch (IOException treeFailure) {
+                // The tokenizer already checked the chunk is well-formed JSON
+                throw new IllegalStateException(treeFailure);
+            }
+            return cases;
+        }
+    }
+
+    private static boolean isValid(CaseDto caseDto) {
+        return caseDto != null
+            && caseDto.getCaseNumber() != null && !caseDto.getCaseNumber().isBlank()
+            && caseDto.getTitle() != null && !caseDto.getTitle().isBlank()
+            && (caseDto.getTasks() == null || caseDto.getTasks().isEmpty());
+    }
+
+    /**
+     * Save batches until the end marker, once the import has failed batches are only drained
+     */
+    private void write(BlockingQueue<Batch> queue, Semaphore permits, AtomicReference<RuntimeException> failure)
+        throws InterruptedException {
+        Batch batch;
+        while ((batch = queue.take()) != END) {
+            try {
+                if (failure.get() == null) {
+                    save(batch.cases());
+                }
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                if (batch.remaining().decrementAndGet() == 0) {
+                    release(permits);
+                }
+            }
+        }
+    }
+
+    private void save(List<CaseDto> cases) {
+        cases.forEach(caseDto -> {
+            caseDto.setId(null);
+            if (caseDto.getTasks() == null) {
+                caseDto.setTasks(new ArrayList<>());
+            }
+        });
+        try {
+            daoService.saveCases(cases);
+            imported.addAndGet(cases.size());
+            return;
+        } catch (DataIntegrityViolationException | IllegalArgumentException e) {
+            LOG.debug("Import batch of {} cases rejected, saving case by case", cases.size(), e);
+        }
+        for (CaseDto caseDto : cases) {
+            try {
+                daoService.saveCase(caseDto);
+                imported.incrementAndGet();
+            } catch (DataIntegrityViolationException | IllegalArgumentException e) {
+                rejected.incrementAndGet();
+            }
+        }
+    }
+
+    private void release(Semaphore permits) {
+        chunksInFlight.decrementAndGet();
+        permits.release();
+    }
+
+}
@@ -0,0 +1,152 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.repositories.CaseRepository;
+import uk.gov.hmcts.reform.dev.sharding.ShardRouter;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of case number to case ID, resolving human case numbers (e.g. 2025/EWHC/123) without a query
+ * <p>
+ * Built from the cases table at startup and maintained by DAOService. A saved or renumbered case reserves its number
+ * before the row is written, which fails if any other case holds it, and the reservation is visible immediately (so
+ * a transaction can resolve the cases it just created). A rollback releases only the number the transaction
+ * reserved, a renumbered case's previous number is released once the transaction commits, as are deletes. Only this
+ * node's writes are reflected, which holds while the application owns its database. When sharded it is also what
+ * keeps case numbers unique across shards, each shard's UniqueCaseNumber constraint only covers its own cases.
+ */
+@Component
+public class CaseNumberIndex {
+
+    private final Map<String, UUID> idsByNumber = new ConcurrentHashMap<>();
+    private final Map<UUID, String> numbersById = new ConcurrentHashMap<>();
+
+    CaseRepository caseRepository;
+    TransactionTemplate transactionTemplate;
+    ShardRouter shardRouter;
+
+    /**
+     * Autowired constructor
+     *
+     * @param caseRepository CaseRepository to build the index from
+     * @param transactionTemplate TransactionTemplate to stream the case numbers within
+     * @param shardRouter ShardRouter to read every shard's cases table
+     */
+    public CaseNumberIndex(@Autowired CaseRepository caseRepository,
+                           @Autowired TransactionTemplate transactionTemplate,
+                           @Autowired ShardRouter shardRouter) {
+        this.caseRepository = caseRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouter = shardRouter;
+    }
+
+    /**
+     * Rebuilds the index from the cases table (of every shard when sharded, the index spans all shards)
+     */
+    @PostConstruct
+    public void rebuild() {
+        idsByNumber.clear();
+        numbersById.clear();
+        shardRouter.scatter(shard -> transactionTemplate.execute(tx -> {
+            try (Stream<CaseRepository.CaseNumberView> views = caseRepository.streamAllCaseNumbers()) {
+                views.forEach(view -> put(view.getCaseNumber(), view.getId()));
+            }
+            return null;
+        }));
+    }
+
+    /**
+     * Resolve a case number to its case ID
+     *
+     * @param caseNumber Case number to resolve
+     * @return Optional containing the case ID if indexed
+     */
+    public Optional<UUID> find(String caseNumber) {
+        return caseNumber == null ? Optional.empty() : Optional.ofNullable(idsByNumber.get(caseNumber));
+    }
+
+    /**
+     * Whether a case number is already taken, a fast pre-check before the UniqueCaseNumber constraint
+     *
+     * @param caseNumber Case number to check
+     * @return True if indexed
+     */
+    public boolean contains(String caseNumber) {
+        return caseNumber != null && idsByNumber.containsKey(caseNumber);
+    }
+
+    /**
+     * Reserve a case number for a saved or renumbered case, released if the current transaction rolls back, any
+     * previous number of the case is released once it commits
+     *
+     * @param caseNumber New case number
+     * @param id ID of the case
+     * @return False if another case holds the number, nothing is changed
+     */
+    public boolean reserve(String caseNumber, UUID id) {
+        if (caseNumber == null) {
+            return true;
+        }
+        UUID holder = idsByNumber.putIfAbsent(caseNumber, id);
+        if (holder != null) {
+            return holder.equals(id);
+        }
+        TransactionHooks.afterCommit(() -> {
+            String previous = numbersById.put(id, caseNumber);
+            if (previous != null && !previous.equals(caseNumber)) {
+                idsByNumber.remove(previous, id);
+            }
+        });
+        TransactionHooks.afterRollback(() -> idsByNumber.remove(caseNumber, id));
+        return true;
+    }
+
+    /**
+     * Remove a case from the index once the current transaction commits
+     *
+     * @param id ID of the deleted case
+     */
+    public void removeOnCommit(UUID id) {
+        TransactionHooks.afterCommit(() -> remove(id));
+    }
+
+    /**
+     * Remove cases by number from the index once the current transaction commits
+     *
+     * @param caseNumbers Case numbers of the deleted cases
+     */
+    public void removeNumbersOnCommit(Collection<String> caseNumbers) {
+        TransactionHooks.afterCommit(() -> caseNumbers.forEach(caseNumber -> {
+            UUID id = idsByNumber.remove(caseNumber);
+            if (id != null) {
+                numbersById.remove(id, caseNumber);
+            }
+        }));
+    }
+
+    private void put(String caseNumber, UUID id) {
+        if (caseNumber == null || id == null) {
+            return;
+        }
+        idsByNumber.put(caseNumber, id);
+        numbersById.put(id, caseNumber);
+    }
+
+    private String remove(UUID id) {
+        String caseNumber = numbersById.remove(id);
+        if (caseNumber != null) {
+            idsByNumber.remove(caseNumber, id);
+        }
+        return caseNumber;
+    }
+
+}
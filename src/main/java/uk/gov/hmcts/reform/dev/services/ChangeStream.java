@@ -0,0 +1,180 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import uk.gov.hmcts.reform.dev.dto.ChangeEvent;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed case/task changes out to Server-Sent Event subscribers
+ * <p>
+ * Publishing never blocks on a subscriber: each has a bounded buffer drained by a small dispatcher pool. A subscriber
+ * too slow to keep up has its buffer dropped and receives a {@code resync} event instead, telling it to re-query
+ * (e.g. /case/search) before carrying on from the live stream.
+ */
+@Service
+public class ChangeStream {
+
+    public static final String RESYNC = "resync";
+
+    /**
+     * A connected client, its filters and its bounded buffer
+     */
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final UUID caseId;
+        final String status;
+        final Queue<ChangeEvent> buffer;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        final AtomicBoolean overflowed = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, UUID caseId, String status) {
+            this.emitter = emitter;
+            this.caseId = caseId;
+            this.status = status;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        boolean matches(ChangeEvent event) {
+            return (caseId == null || caseId.equals(event.getCaseId()))
+                && (status == null || status.equals(event.getStatus()));
+        }
+    }
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final ExecutorService dispatcher;
+
+    /**
+     * Autowired constructor
+     *
+     * @param bufferSize Events buffered per subscriber before it is dropped to a resync
+     * @param timeout How long a subscription stays open before the client must reconnect
+     * @param dispatchThreads Threads writing buffered events to subscribers
+     */
+    public ChangeStream(@Value("${change-stream.buffer-size:256}") int bufferSize,
+                        @Value("${change-stream.timeout:PT30M}") Duration timeout,
+                        @Value("${change-stream.dispatch-threads:4}") int dispatchThreads) {
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "change-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Subscribe to changes, optionally filtered
+     *
+     * @param caseId Only changes to this case and its tasks, or null for all
+     * @param status Only changes leaving an entity with this status, or null for all
+     * @return SseEmitter to return from the controller
+     */
+    public SseEmitter subscribe(UUID caseId, String status) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, caseId, status);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Publish a change to every matching subscriber, called once the transaction making it has committed (or
+     * immediately if there was none)
+     *
+     * @param event Change to publish
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(ChangeEvent event) {
+        event.setSequence(sequence.incrementAndGet());
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.matches(event)) {
+                continue;
+            }
+            if (!subscriber.buffer.offer(event)) {
+                subscriber.overflowed.set(true);
+                subscriber.buffer.clear();
+                dropped.incrementAndGet();
+            }
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Number of connected subscribers
+     *
+     * @return Subscriber count
+     */
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Number of times a slow subscriber's buffer was dropped to a resync
+     *
+     * @return Drop count
+     */
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        dispatcher.shutdown();
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.overflowed.getAndSet(false)) {
+                subscriber.emitter.send(SseEmitter.event().name(RESYNC).data(sequence.get()));
+            }
+            ChangeEvent event;
+            while ((event = subscriber.buffer.poll()) != null) {
+                subscriber.emitter.send(SseEmitter.event()
+                                            .id(Long.toString(event.getSequence()))
+                                            .name(event.getEntity().name().toLowerCase())
+                                            .data(event, MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+
+        if (!subscriber.buffer.isEmpty() || subscriber.overflowed.get()) {
+            schedule(subscriber);
+        }
+    }
+
+}
@@ -9,31 +9,102 @@ import jakarta.transaction.Transactional;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.crossstore.ChangeSetPersister;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.dto.AuditEntry;
+import uk.gov.hmcts.reform.dev.dto.BatchResult;
 import uk.gov.hmcts.reform.dev.dto.CaseDto;
+import uk.gov.hmcts.reform.dev.dto.ChangeEvent;
+import uk.gov.hmcts.reform.dev.dto.CursorPage;
+import uk.gov.hmcts.reform.dev.dto.ExpandedCaseDto;
+import uk.gov.hmcts.reform.dev.dto.SliceResult;
 import uk.gov.hmcts.reform.dev.dto.TaskDto;
+import uk.gov.hmcts.reform.dev.models.ArchivedCase;
+import uk.gov.hmcts.reform.dev.models.ArchivedTask;
 import uk.gov.hmcts.reform.dev.models.Case;
+import uk.gov.hmcts.reform.dev.models.Status;
 import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repositories.ArchivedCaseRepository;
+import uk.gov.hmcts.reform.dev.repositories.CaseFilter;
 import uk.gov.hmcts.reform.dev.repositories.CaseRepository;
+import uk.gov.hmcts.reform.dev.repositories.CaseSpecifications;
+import uk.gov.hmcts.reform.dev.repositories.TaskCursor;
 import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+import uk.gov.hmcts.reform.dev.repositories.TaskSearchCriteria;
+import uk.gov.hmcts.reform.dev.sharding.ShardMerge;
+import uk.gov.hmcts.reform.dev.sharding.ShardRouter;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static uk.gov.hmcts.reform.dev.dto.ChangeEvent.Entity.CASE;
+import static uk.gov.hmcts.reform.dev.dto.ChangeEvent.Entity.TASK;
+import static uk.gov.hmcts.reform.dev.dto.ChangeEvent.Type.*;
 
 @Service
 @Transactional
 public class DAOService {
 
     CaseRepository caseRepository;
+    ArchivedCaseRepository archivedCaseRepository;
     TaskRepository taskRepository;
+    CaseNumberIndex caseNumberIndex;
+    TaskWriteBehind taskWriteBehind;
+    ApplicationEventPublisher eventPublisher;
+    SearchCache searchCache;
+    TransactionTemplate readTransaction;
+    TransactionTemplate writeTransaction;
+    ShardRouter shardRouter;
+    AuditLog auditLog;
+    CaseArchiver caseArchiver;
+    int batchMaxIds;
+    int batchChunkSize;
+    int expandMaxTasks;
+    int approximateCountLimit;
+
+    /**
+     * Key for coalescing identical concurrent searches, within one write generation
+     */
+    private record SearchKey(String searchString, Pageable pageable, long generation) {
+    }
+
+    /**
+     * Key for coalescing identical concurrent case reads, within one write generation so a read arriving after a
+     * committed write never shares a query begun before it
+     */
+    private record CaseReadKey(UUID id, long generation) {
+    }
+
+    /**
+     * Order of /task/search results (due date, undated last, then ID) for merging shards' results
+     */
+    private static final Comparator<ShardMerge.Row<TaskDto>> TASK_SEARCH_ORDER = Comparator
+        .comparing((ShardMerge.Row<TaskDto> row) -> ((Task) row.entity()).getDueDate(),
+                   Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(row -> ((Task) row.entity()).getId(), ShardMerge.UUID_ORDER);
+
+    SingleFlight<CaseReadKey, Optional<CaseDto>> caseReads;
+    SingleFlight<SearchKey, Page<CaseDto>> caseSearches;
 
     ClassPathResource exampleCases;
     ClassPathResource exampleTasks;
@@ -47,18 +118,63 @@ public class DAOService {
      *
      * @param caseRepository CaseRepository for CRUD operations
      * @param taskRepository TaskRepository for CRUD operations
+     * @param archivedCaseRepository ArchivedCaseRepository for reads falling through to archived cases
+     * @param caseNumberIndex In-memory index of case numbers to IDs
+     * @param taskWriteBehind Optional write-behind queue for task property updates
+     * @param eventPublisher Publisher for change events, delivered to the change stream after commit
+     * @param searchCache Cache of search result pages, invalidated by any write affecting a CaseDto
+     * @param transactionManager Transaction manager for the coalesced read and per-shard transactions
+     * @param shardRouter Routes by-ID work to a case's shard and scatters searches across shards
+     * @param auditLog Append-only log recording the history of every committed change
+     * @param caseArchiver CaseArchiver, tells whether archived case numbers need checking at all
+     * @param singleFlightTimeout Longest a read waits on an identical in-flight read before running its own
+     * @param batchMaxIds Most IDs accepted by one batch fetch
+     * @param batchChunkSize Most IDs bound into one IN query of a batch fetch
+     * @param expandMaxTasks Most tasks embedded in each expanded case
+     * @param approximateCountLimit Most matches counted for an approximate count
      * @param exampleCases Example case objects for demonstration/testing (classpath resource)
      * @param exampleTasks Example task objects for demonstration/testing (classpath resource)
      */
     public DAOService(
         @Autowired CaseRepository caseRepository,
         @Autowired TaskRepository taskRepository,
+        @Autowired ArchivedCaseRepository archivedCaseRepository,
+        @Autowired CaseNumberIndex caseNumberIndex,
+        @Autowired TaskWriteBehind taskWriteBehind,
+        @Autowired ApplicationEventPublisher eventPublisher,
+        @Autowired SearchCache searchCache,
+        @Autowired PlatformTransactionManager transactionManager,
+        @Autowired ShardRouter shardRouter,
+        @Autowired AuditLog auditLog,
+        @Autowired CaseArchiver caseArchiver,
+        @Value("${single-flight.wait-timeout:PT5S}") Duration singleFlightTimeout,
+        @Value("${batch.max-ids:5000}") int batchMaxIds,
+        @Value("${batch.chunk-size:500}") int batchChunkSize,
+        @Value("${expand.max-tasks:100}") int expandMaxTasks,
+        @Value("${slice.approximate-count-limit:1000}") int approximateCountLimit,
         @Value("example-cases.json") ClassPathResource exampleCases,
         @Value("example-tasks.json") ClassPathResource exampleTasks) {
         this.exampleCases = exampleCases;
         this.exampleTasks = exampleTasks;
         this.caseRepository = caseRepository;
         this.taskRepository = taskRepository;
+        this.archivedCaseRepository = archivedCaseRepository;
+        this.caseNumberIndex = caseNumberIndex;
+        this.taskWriteBehind = taskWriteBehind;
+        this.eventPublisher = eventPublisher;
+        this.searchCache = searchCache;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.auditLog = auditLog;
+        this.caseArchiver = caseArchiver;
+        this.caseReads = new SingleFlight<>(singleFlightTimeout.toMillis());
+        this.caseSearches = new SingleFlight<>(singleFlightTimeout.toMillis());
+        this.batchMaxIds = batchMaxIds;
+        this.batchChunkSize = batchChunkSize;
+        this.expandMaxTasks = expandMaxTasks;
+        this.approximateCountLimit = approximateCountLimit;
     }
 
     /**
@@ -88,10 +204,12 @@ public class DAOService {
     }
 
     /**
-     * Loads test data from example files into the current DataBase instance
+     * Loads test data from example files into the current DataBase instance (one shard when sharded, the example
+     * tasks are saved in the same transaction as their cases)
      * @throws ConstraintViolationException If the CaseNumber unique constraint is violated (duplicated case number)
      */
     public void loadTestData() throws ConstraintViolationException {
+        shardRouter.routeNew();
         List<CaseDto> exampleCases = List.of();
         saveCases(exampleCases);
 
@@ -108,10 +226,10 @@ public class DAOService {
             exampleTasks = getExampleTasks();
 
             for(String key : exampleTasks.keySet()){
-                CaseDto c = getCaseByNumber(key).orElseThrow();
+                UUID caseId = findCaseId(key).orElseThrow();
 
                 for(TaskDto task : exampleTasks.get(key)){
-                    task.setParentCase(c.getId());
+                    task.setParentCase(caseId);
                     saveTask(task);
                 }
 
@@ -127,7 +245,17 @@ public class DAOService {
     public void clearTestData() {
         try{
             List<CaseDto> exampleCases = getExampleCases();
-            this.caseRepository.deleteAllByCaseNumberIn(exampleCases.stream().map(CaseDto::getCaseNumber).collect(Collectors.toSet()));
+            Set<String> caseNumbers = exampleCases.stream().map(CaseDto::getCaseNumber).collect(Collectors.toSet());
+            caseNumbers.forEach(caseNumber -> findCaseId(caseNumber).ifPresent(id -> {
+                eventPublisher.publishEvent(new ChangeEvent(DELETED, CASE, id, id, null));
+                auditLog.record(new AuditEntry(DELETED, CASE, id, id, null, null, null));
+            }));
+            shardRouter.scatter(shard -> writeTransaction.execute(tx -> {
+                caseRepository.deleteAllByCaseNumberIn(caseNumbers);
+                return null;
+            }));
+            searchCache.invalidate();
+            caseNumberIndex.removeNumbersOnCommit(caseNumbers);
         }catch (IOException e){
             throw new RuntimeException(e);
         }
@@ -178,36 +306,205 @@ public class DAOService {
     private CaseDto convertCase(Case c){
         return new CaseDto(
             c.getId(), c.getCaseNumber(), c.getTitle(),
-            c.getDescription(), c.getStatus(), c.getCreatedDate(),
+            c.getDescription(), Status.nameOf(c.getStatus()), c.getCreatedDate(),
             c.getTasks().stream().map(Task::getId).toList()
         );
     }
 
     /**
-     * Converts an internal Task object to a TaskDto for external use
+     * Converts an archived case to a CaseDto, indistinguishable from a live one
+     *
+     * @param c ArchivedCase object to convert to data transfer equivalent
+     * @return CaseDto converted from input
+     */
+    private CaseDto convertArchivedCase(ArchivedCase c){
+        return new CaseDto(
+            c.getId(), c.getCaseNumber(), c.getTitle(),
+            c.getDescription(), Status.nameOf(c.getStatus()), c.getCreatedDate(),
+            c.getTasks().stream().map(ArchivedTask::getId).toList()
+        );
+    }
+
+    /**
+     * Converts an internal Task object to a TaskDto for external use, including any write-behind updates not yet
+     * flushed, only the parent case's ID is read so a lazy parent is not loaded
      *
      * @param task Task object to convert to data transfer equivalent
      * @return TaskDto converted from input
      */
     private TaskDto convertTask(Task task){
-        return new TaskDto(
+        return taskWriteBehind.overlay(new TaskDto(
             task.getId(), task.getTitle(), task.getDescription(),
-            task.getStatus(), task.getDueDate(), task.getParentCase().getId()
+            Status.nameOf(task.getStatus()), task.getDueDate(), task.getParentCase().getId()
+        ));
+    }
+
+    /**
+     * Converts a list of internal Case objects to CaseDtos, see {@link #convertCase(Case)}
+     *
+     * @param cases Case objects to convert to data transfer equivalents
+     * @return CaseDtos converted from input, in the same order
+     */
+    private List<CaseDto> convertCases(List<Case> cases){
+        return cases.stream().map(this::convertCase).toList();
+    }
+
+    /**
+     * Converts a list of internal Case objects to CaseDtos with the first expandMaxTasks tasks of each embedded
+     * <p>
+     * The task collections are never touched: one query lists the task IDs of every case and a second loads at most
+     * expandMaxTasks tasks per case, capped in the database, so a case with many tasks costs no more than the cap.
+     * Both are in ID order so the embedded tasks lead the listed IDs.
+     *
+     * @param cases Case objects to convert to data transfer equivalents
+     * @return ExpandedCaseDtos converted from input, in the same order
+     */
+    private List<ExpandedCaseDto> expandCases(List<Case> cases){
+        if (cases.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> caseIds = cases.stream().map(Case::getId).toList();
+        Map<UUID, List<UUID>> taskIds = taskRepository.findTaskIdsByParentCaseIdIn(caseIds).stream()
+            .collect(Collectors.groupingBy(
+                TaskRepository.TaskParentView::getParentCaseId,
+                Collectors.mapping(TaskRepository.TaskParentView::getId, Collectors.toList())
+            ));
+        Map<UUID, List<TaskDto>> taskDetails = expandMaxTasks <= 0 ? Map.of()
+            : taskRepository.findFirstTasksByParentCaseIdIn(caseIds, expandMaxTasks).stream()
+                .map(this::convertTask)
+                .collect(Collectors.groupingBy(TaskDto::getParentCase));
+        return cases.stream().map(c -> new ExpandedCaseDto(
+            new CaseDto(
+                c.getId(), c.getCaseNumber(), c.getTitle(),
+                c.getDescription(), Status.nameOf(c.getStatus()), c.getCreatedDate(),
+                taskIds.getOrDefault(c.getId(), List.of())
+            ),
+            taskDetails.getOrDefault(c.getId(), List.of())
+        )).toList();
+    }
+
+    /**
+     * Converts an archived case to an ExpandedCaseDto, indistinguishable from a live one, its tasks are read as
+     * for {@link #expandCases(List)} rather than through the task collection
+     *
+     * @param c ArchivedCase object to convert to data transfer equivalent
+     * @return ExpandedCaseDto converted from input
+     */
+    private ExpandedCaseDto expandArchivedCase(ArchivedCase c){
+        List<ArchivedTask> tasks = expandMaxTasks <= 0 ? List.of()
+            : archivedCaseRepository.findTasksByCaseId(c.getId(), PageRequest.of(0, expandMaxTasks));
+        return new ExpandedCaseDto(
+            new CaseDto(
+                c.getId(), c.getCaseNumber(), c.getTitle(),
+                c.getDescription(), Status.nameOf(c.getStatus()), c.getCreatedDate(),
+                archivedCaseRepository.findTaskIdsByCaseId(c.getId())
+            ),
+            tasks.stream().map(task -> new TaskDto(
+                task.getId(), task.getTitle(), task.getDescription(),
+                Status.nameOf(task.getStatus()), task.getDueDate(), c.getId()
+            )).toList()
         );
     }
 
+    /**
+     * Publish a change to a case, delivered to the change stream once the current transaction commits
+     *
+     * @param type Type of change
+     * @param caseDto Case as it is after the change
+     * @return The same CaseDto
+     */
+    private CaseDto publishCase(ChangeEvent.Type type, CaseDto caseDto) {
+        eventPublisher.publishEvent(new ChangeEvent(type, CASE, caseDto.getId(), caseDto.getId(), caseDto.getStatus()));
+        return caseDto;
+    }
+
+    /**
+     * Publish a change to a task, delivered to the change stream once the current transaction commits
+     *
+     * @param type Type of change
+     * @param taskDto Task as it is after the change
+     * @return The same TaskDto
+     */
+    private TaskDto publishTask(ChangeEvent.Type type, TaskDto taskDto) {
+        eventPublisher.publishEvent(new ChangeEvent(
+            type, TASK, taskDto.getId(), taskDto.getParentCase(), taskDto.getStatus()
+        ));
+        return taskDto;
+    }
+
+    /**
+     * Value of an updatable case property as recorded in the audit log
+     *
+     * @param c Case to read
+     * @param property Property name as passed to updateCaseProperty
+     * @return Value as a string, null if unset or not a case property
+     */
+    private static String caseValue(Case c, String property) {
+        return switch (property) {
+            case "status" -> Status.nameOf(c.getStatus());
+            case "description" -> c.getDescription();
+            case "title" -> c.getTitle();
+            case "caseNumber" -> c.getCaseNumber();
+            case "createdDate" -> Objects.toString(c.getCreatedDate(), null);
+            default -> null;
+        };
+    }
+
+    /**
+     * Value of an updatable task property as recorded in the audit log
+     *
+     * @param taskDto Task to read, including write-behind updates
+     * @param property Property name as passed to updateTaskProperty
+     * @return Value as a string, null if unset or not a task property
+     */
+    private static String taskValue(TaskDto taskDto, String property) {
+        return switch (property) {
+            case "status" -> taskDto.getStatus();
+            case "description" -> taskDto.getDescription();
+            case "title" -> taskDto.getTitle();
+            case "dueDate" -> Objects.toString(taskDto.getDueDate(), null);
+            case "parentCase" -> Objects.toString(taskDto.getParentCase(), null);
+            default -> null;
+        };
+    }
+
     /**
      * Save an externally sourced case
      *
      * @param caseDto CaseDto to convert to a Case and save
      * @return CaseDto post-save transaction
-     * @throws IllegalArgumentException If either the CaseDto contains tasks or the caseNumber already exists in the DB
+     * @throws IllegalArgumentException If the CaseDto contains tasks
+     * @throws DataIntegrityViolationException If the caseNumber already exists, live (reserved in the index before
+     *                                         the insert, backed by the DB constraint) or archived
      */
     public CaseDto saveCase(CaseDto caseDto) throws IllegalArgumentException, DataIntegrityViolationException{
         if(!caseDto.getTasks().isEmpty()) {
             throw new IllegalArgumentException("New case contains tasks");
         }
-        return convertCase(caseRepository.save(convertCaseDto(caseDto)));
+        if(caseNumberIndex.contains(caseDto.getCaseNumber()) || isArchivedCaseNumber(caseDto.getCaseNumber())) {
+            throw new DataIntegrityViolationException("Case number '" + caseDto.getCaseNumber() + "' already exists");
+        }
+        shardRouter.routeNew();
+        // Persisting assigns the ID but only queues the insert, the number is reserved before it is flushed
+        Case saved = caseRepository.save(convertCaseDto(caseDto));
+        if (!caseNumberIndex.reserve(saved.getCaseNumber(), saved.getId())) {
+            throw new DataIntegrityViolationException("Case number '" + caseDto.getCaseNumber() + "' already exists");
+        }
+        searchCache.invalidate();
+        auditLog.record(new AuditEntry(CREATED, CASE, saved.getId(), saved.getId(), null, null, null));
+        return publishCase(CREATED, convertCase(saved));
+    }
+
+    /**
+     * Whether an archived case holds a case number, checked on every shard (archived cases are out of the index) but
+     * only once the archive holds any cases
+     *
+     * @param caseNumber Case number to check
+     * @return True if an archived case has the number
+     */
+    private boolean isArchivedCaseNumber(String caseNumber) {
+        return caseArchiver.holdsCases()
+            && shardRouter.scatter(shard -> archivedCaseRepository.existsByCaseNumber(caseNumber)).contains(true);
     }
 
     /**
@@ -219,11 +516,16 @@ public class DAOService {
      * @throws IllegalArgumentException If the TaskDto provided has no parentCase property
      */
     public TaskDto saveTask(TaskDto taskDto) throws NoSuchElementException, IllegalArgumentException {
+        if (taskDto.getParentCase() != null) {
+            shardRouter.route(taskDto.getParentCase());
+        }
         Task output = taskRepository.save(convertTaskDto(taskDto));
         Case c = caseRepository.findById(taskDto.getParentCase()).orElseThrow();
         c.addTask(output);
         caseRepository.save(c);
-        return convertTask(output);
+        searchCache.invalidate();
+        auditLog.record(new AuditEntry(CREATED, TASK, output.getId(), c.getId(), null, null, null));
+        return publishTask(CREATED, convertTask(output));
     }
 
     /**
@@ -232,7 +534,15 @@ public class DAOService {
      * @param id UUID of the case to delete, silently succeeds if case does not exist
      */
     public void deleteCase(UUID id) {
-        caseRepository.deleteById(id);
+        shardRouter.route(id);
+        caseRepository.findById(id).ifPresent(c -> {
+            taskWriteBehind.discardOnCommit(c.getTasks().stream().map(Task::getId).toList());
+            caseRepository.delete(c);
+            caseNumberIndex.removeOnCommit(id);
+            searchCache.invalidate();
+            eventPublisher.publishEvent(new ChangeEvent(DELETED, CASE, id, id, Status.nameOf(c.getStatus())));
+            auditLog.record(new AuditEntry(DELETED, CASE, id, id, null, null, null));
+        });
     }
 
     /**
@@ -241,7 +551,16 @@ public class DAOService {
      * @param id UUID of the task to delete, silently succeeds if task does not exist
      */
     public void deleteTask(UUID id) {
-        taskRepository.deleteById(id);
+        shardRouter.route(id);
+        taskRepository.findById(id).ifPresent(task -> {
+            taskRepository.delete(task);
+            taskWriteBehind.discard(id);
+            searchCache.invalidate();
+            eventPublisher.publishEvent(new ChangeEvent(
+                DELETED, TASK, id, task.getParentCase().getId(), Status.nameOf(task.getStatus())
+            ));
+            auditLog.record(new AuditEntry(DELETED, TASK, id, task.getParentCase().getId(), null, null, null));
+        });
     }
 
     /**
@@ -271,6 +590,7 @@ public class DAOService {
      * @apiNote This function will interrupt midway having already saved the previous TaskDto objects
      *      *          without declaring which it did or didn't save,
      *      *          TODO: Implement improved version to provide transaction success/fail info
+     *          When sharded every task must belong to cases on the same shard, as they share one transaction
      */
     public Collection<TaskDto> saveTasks(Collection<TaskDto> taskDtos) throws IllegalArgumentException, NoSuchElementException {
         return taskDtos.stream().map(this::saveTask).toList();
@@ -286,27 +606,331 @@ public class DAOService {
      * @apiNote This function does not allow for partial matches of UUID due to the repo interface
      *          limitations,
      *          TODO: reimplement to allow partial ID search (niche use case but necessary)
+     *          Results are cached until the next committed write, misses for identical concurrent searches
+     *          share one query, run outside the caller's transaction so waiting callers do not hold a connection.
      */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public Page<CaseDto> searchCases(String searchString, Pageable pageable) {
-        UUID id = null;
+        String normalised = SearchCache.normalise(searchString);
+        long generation = searchCache.generation();
+        Optional<Page<CaseDto>> cached = searchCache.get(normalised, pageable, generation);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        UUID searchId = searchId(searchString);
+
+        SearchKey key = new SearchKey(normalised, pageable, generation);
+        Page<CaseDto> page = caseSearches.execute(key, () -> scatterCases(
+            pageable, searchQuery(searchId, searchString), this::convertCases
+        ));
+        searchCache.put(normalised, pageable, generation, page);
+        return page;
+    }
+
+    /**
+     * Search cases as {@link #searchCases(String, Pageable)} with each case's tasks embedded, the tasks of the whole
+     * page are loaded in two queries whatever its size, see {@link #expandCases(List)}
+     *
+     * @param searchString String to search by, will be coerced into UUID if possible
+     * @param pageable Pageable object for continuity
+     * @return A Page containing ExpandedCaseDto objects matching the searchString in some capacity
+     *
+     * @apiNote Expanded pages are neither cached nor coalesced, they are far larger than plain pages
+     */
+    public Page<ExpandedCaseDto> searchCasesExpanded(String searchString, Pageable pageable) {
+        return scatterCases(pageable, searchQuery(searchId(searchString), searchString), this::expandCases);
+    }
+
+    /**
+     * Search cases as {@link #searchCases(String, Pageable)} without counting every match, one extra case is fetched
+     * to tell whether there is a next slice
+     *
+     * @param searchString String to search by, will be coerced into UUID if possible
+     * @param pageable Pageable object for continuity
+     * @param approximateCount Whether to count matches, up to approximateCountLimit of them
+     * @param expand Whether to embed each case's tasks
+     * @return SliceResult containing CaseDto (or ExpandedCaseDto) objects matching the searchString
+     *
+     * @apiNote Slices are neither cached nor coalesced
+     */
+    public SliceResult<CaseDto> searchCasesSlice(String searchString, Pageable pageable, boolean approximateCount,
+                                                 boolean expand) {
+        UUID searchId = searchId(searchString);
+        Function<List<Case>, List<? extends CaseDto>> convert = expand ? this::expandCases : this::convertCases;
+        Slice<CaseDto> slice;
+        if (shardRouter.count() == 1) {
+            slice = readTransaction.execute(tx -> {
+                Slice<Case> cases = caseRepository
+                    .searchSliceByIdOrTitleContainingIgnoreCaseOrCaseNumberContainingIgnoreCase(
+                        searchId, searchString, searchString, pageable
+                    );
+                return new SliceImpl<CaseDto>(
+                    List.copyOf(convert.apply(cases.getContent())), cases.getPageable(), cases.hasNext()
+                );
+            });
+        } else {
+            Pageable shardPageable = ShardMerge.shardPageable(pageable, "id");
+            List<Slice<ShardMerge.Row<CaseDto>>> slices = shardRouter.scatter(shard -> readTransaction.execute(tx -> {
+                Slice<Case> cases = caseRepository
+                    .searchSliceByIdOrTitleContainingIgnoreCaseOrCaseNumberContainingIgnoreCase(
+                        searchId, searchString, searchString, shardPageable
+                    );
+                return new SliceImpl<>(
+                    rows(cases.getContent(), convert.andThen(List::<CaseDto>copyOf)), cases.getPageable(),
+                    cases.hasNext()
+                );
+            }));
+            slice = ShardMerge.mergeSlices(slices, pageable, ShardMerge.<CaseDto>comparator(shardPageable.getSort()))
+                .map(ShardMerge.Row::value);
+        }
+        return sliceResult(slice, approximateCount, () -> shardRouter.scatter(shard -> readTransaction.execute(
+            tx -> caseRepository.findIdsByIdOrTitleContainingIgnoreCaseOrCaseNumberContainingIgnoreCase(
+                searchId, searchString, searchString, Limit.of(approximateCountLimit)
+            ).size()
+        )).stream().mapToLong(Integer::longValue).sum());
+    }
+
+    /**
+     * Search string as a case ID
+     *
+     * @param searchString String to search by
+     * @return The UUID, or null if it is not one
+     */
+    private static UUID searchId(String searchString) {
         try {
-            id = UUID.fromString(searchString);
+            return UUID.fromString(searchString);
         }catch(IllegalArgumentException ignored){
+            return null;
+        }
+    }
+
+    /**
+     * Wrap a slice for the response, with an approximate count if asked for
+     * <p>
+     * The count is exact without a query on the last slice, otherwise matches are counted up to
+     * approximateCountLimit, so a broad search stops early rather than counting everything
+     *
+     * @param slice Slice of results
+     * @param approximateCount Whether to count
+     * @param count Count of matches, at most approximateCountLimit per shard
+     * @return SliceResult of the slice
+     */
+    private <T> SliceResult<T> sliceResult(Slice<T> slice, boolean approximateCount, LongSupplier count) {
+        SliceResult<T> result = new SliceResult<>(
+            slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), null, false
+        );
+        if (!approximateCount) {
+            return result;
+        }
+        long seen = (slice.getPageable().isPaged() ? slice.getPageable().getOffset() : 0)
+            + slice.getNumberOfElements();
+        if (!slice.hasNext()) {
+            result.setApproximateTotal(seen);
+            return result;
         }
+        long counted = Math.min(count.getAsLong(), approximateCountLimit);
+        result.setApproximateTotal(Math.max(counted, seen + 1));
+        result.setApproximateTotalCapped(counted >= approximateCountLimit);
+        return result;
+    }
+
+    /**
+     * Paged query matching a search string against ID, title and case number
+     *
+     * @param searchId Search string as a UUID, or null if it is not one
+     * @param searchString String to search by
+     * @return Query for scatterCases
+     */
+    private Function<Pageable, Page<Case>> searchQuery(UUID searchId, String searchString) {
+        return shardPageable -> caseRepository.searchByIdOrTitleContainingIgnoreCaseOrCaseNumberContainingIgnoreCase(
+            searchId, searchString, searchString, shardPageable
+        );
+    }
 
-        return caseRepository.searchByIdOrTitleContainingIgnoreCaseOrCaseNumberContainingIgnoreCase(
-            id, searchString, searchString, pageable
-        ).map(this::convertCase);
+    /**
+     * Filter cases by any combination of status, created date range, title/number text, overdue tasks and task
+     * count, see {@link CaseSpecifications}
+     *
+     * @param filter Filters to apply, null or empty filters are ignored
+     * @param pageable Pageable object for continuity
+     * @return A Page containing CaseDto objects matching every given filter
+     */
+    public Page<CaseDto> filterCases(CaseFilter filter, Pageable pageable) {
+        Specification<Case> specification = CaseSpecifications.of(filter, LocalDateTime.now());
+        return scatterCases(
+            pageable, shardPageable -> caseRepository.findAll(specification, shardPageable), this::convertCases
+        );
+    }
+
+    /**
+     * Run a paged case query on every shard and merge the results into the requested page
+     * <p>
+     * Each shard returns its first (page + 1) * size cases in the requested order (with ID breaking ties), which are
+     * k-way merged, so deep pages cost more on every shard. With a single shard the query simply runs in a read-only
+     * transaction.
+     *
+     * @param pageable Requested page
+     * @param query Paged query to run on each shard
+     * @param convert Conversion of each shard's cases, within the shard's transaction, one output per case in order
+     * @return Merged page, total is the sum across shards
+     */
+    private <D> Page<D> scatterCases(Pageable pageable, Function<Pageable, Page<Case>> query,
+                                     Function<List<Case>, List<D>> convert) {
+        if (shardRouter.count() == 1) {
+            return readTransaction.execute(tx -> {
+                Page<Case> page = query.apply(pageable);
+                return new PageImpl<>(convert.apply(page.getContent()), page.getPageable(), page.getTotalElements());
+            });
+        }
+        Pageable shardPageable = ShardMerge.shardPageable(pageable, "id");
+        List<Page<ShardMerge.Row<D>>> pages = shardRouter.scatter(shard -> readTransaction.execute(tx -> {
+            Page<Case> page = query.apply(shardPageable);
+            return new PageImpl<>(rows(page.getContent(), convert), page.getPageable(), page.getTotalElements());
+        }));
+        return ShardMerge.mergePages(pages, pageable, ShardMerge.<D>comparator(shardPageable.getSort()))
+            .map(ShardMerge.Row::value);
+    }
+
+    /**
+     * Pair each case with its converted value for merging across shards
+     *
+     * @param cases Cases from one shard
+     * @param convert Conversion of the cases, one output per case in order
+     * @return Rows of each case and its value
+     */
+    private static <D> List<ShardMerge.Row<D>> rows(List<Case> cases, Function<List<Case>, List<D>> convert) {
+        List<D> values = convert.apply(cases);
+        return IntStream.range(0, cases.size()).mapToObj(i -> new ShardMerge.Row<>(cases.get(i), values.get(i)))
+            .toList();
     }
 
     /**
      * Get a case by ID, returning an empty Optional if not found
      *
      * @param id UUID of the Case to fetch
-     * @return Optional containing CaseDto if match found in DB
+     * @return Optional containing CaseDto if match found in DB, live or archived
+     *
+     * @apiNote Identical concurrent requests share one query, run outside the caller's transaction so waiting
+     *          callers do not hold a connection, but not across a committed write
      */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public Optional<CaseDto> getCase(UUID id) {
-        return caseRepository.findById(id).map(this::convertCase);
+        CaseReadKey key = new CaseReadKey(id, searchCache.generation());
+        return caseReads.execute(key, () -> shardRouter.on(shardRouter.shardOf(id), () -> readTransaction.execute(
+            tx -> caseRepository.findById(id).map(this::convertCase)
+                .or(() -> archivedCaseRepository.findById(id).map(this::convertArchivedCase))
+        )));
+    }
+
+    /**
+     * Get a case by ID with its tasks embedded, returning an empty Optional if not found
+     *
+     * @param id UUID of the Case to fetch
+     * @return Optional containing ExpandedCaseDto if match found in DB, live or archived
+     */
+    public Optional<ExpandedCaseDto> getExpandedCase(UUID id) {
+        shardRouter.route(id);
+        return caseRepository.findById(id).map(c -> expandCases(List.of(c)).getFirst())
+            .or(() -> archivedCaseRepository.findById(id).map(this::expandArchivedCase));
+    }
+
+    /**
+     * Get cases by a list of IDs, live or archived, in one IN query per chunk of IDs (per shard when sharded) with
+     * their task IDs fetched in the same query
+     *
+     * @param ids IDs of the cases to fetch, duplicates are only returned once
+     * @return BatchResult of the cases found in request order and the IDs not found
+     * @throws IllegalArgumentException If there are too many IDs or any is null
+     */
+    public BatchResult<CaseDto> getCases(List<UUID> ids) throws IllegalArgumentException {
+        Map<UUID, CaseDto> found = fetchByIds(
+            ids, chunk -> caseRepository.findAllWithTasksByIdIn(chunk).stream().map(this::convertCase).toList(),
+            CaseDto::getId
+        );
+        List<UUID> unresolved = ids.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!unresolved.isEmpty()) {
+            found.putAll(fetchByIds(
+                unresolved,
+                chunk -> archivedCaseRepository.findAllWithTasksByIdIn(chunk).stream()
+                    .map(this::convertArchivedCase).toList(),
+                CaseDto::getId
+            ));
+        }
+        return inRequestOrder(ids, found);
+    }
+
+    /**
+     * Get tasks by a list of IDs in one IN query per chunk of IDs (per shard when sharded)
+     *
+     * @param ids IDs of the tasks to fetch, duplicates are only returned once
+     * @return BatchResult of the tasks found in request order and the IDs not found
+     * @throws IllegalArgumentException If there are too many IDs or any is null
+     */
+    public BatchResult<TaskDto> getTasks(List<UUID> ids) throws IllegalArgumentException {
+        return inRequestOrder(ids, fetchByIds(
+            ids, chunk -> taskRepository.findAllByIdIn(chunk).stream().map(this::convertTask).toList(),
+            TaskDto::getId
+        ));
+    }
+
+    /**
+     * Run an IN query over a list of IDs, grouped by shard and split into chunks of at most batchChunkSize IDs, each
+     * shard's chunks in one read-only transaction
+     *
+     * @param ids IDs to fetch
+     * @param query Query for one chunk of IDs on the current shard
+     * @param idOf ID of a result
+     * @return Results by ID
+     * @throws IllegalArgumentException If there are too many IDs or any is null
+     */
+    private <T> Map<UUID, T> fetchByIds(List<UUID> ids, Function<List<UUID>, List<T>> query, Function<T, UUID> idOf)
+        throws IllegalArgumentException {
+        if (ids.size() > batchMaxIds) {
+            throw new IllegalArgumentException("At most " + batchMaxIds + " IDs can be fetched at once");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("IDs cannot be null");
+        }
+        Map<Integer, List<UUID>> byShard = ids.stream().distinct()
+            .collect(Collectors.groupingBy(shardRouter::shardOf));
+        List<List<T>> shardResults = shardRouter.scatter(shard -> {
+            List<UUID> shardIds = byShard.getOrDefault(shard, List.of());
+            if (shardIds.isEmpty()) {
+                return List.of();
+            }
+            return readTransaction.execute(tx -> {
+                List<T> results = new ArrayList<>(shardIds.size());
+                for (int from = 0; from < shardIds.size(); from += batchChunkSize) {
+                    int to = Math.min(from + batchChunkSize, shardIds.size());
+                    results.addAll(query.apply(shardIds.subList(from, to)));
+                }
+                return results;
+            });
+        });
+        Map<UUID, T> found = new HashMap<>();
+        shardResults.forEach(results -> results.forEach(result -> found.put(idOf.apply(result), result)));
+        return found;
+    }
+
+    /**
+     * Order fetched results by their IDs' first position in the request
+     *
+     * @param ids Requested IDs
+     * @param found Results by ID
+     * @return BatchResult of the results in request order and the IDs not found
+     */
+    private static <T> BatchResult<T> inRequestOrder(List<UUID> ids, Map<UUID, T> found) {
+        BatchResult<T> result = new BatchResult<>();
+        for (UUID id : new LinkedHashSet<>(ids)) {
+            T value = found.get(id);
+            if (value != null) {
+                result.getResults().add(value);
+            } else {
+                result.getMissing().add(id);
+            }
+        }
+        return result;
     }
 
     /**
@@ -316,6 +940,7 @@ public class DAOService {
      * @return Optional containing TaskDto if match found in DB
      */
     public Optional<TaskDto> getTask(UUID id) {
+        shardRouter.route(id);
         return taskRepository.findById(id).map(this::convertTask);
     }
 
@@ -327,16 +952,25 @@ public class DAOService {
      * @param property Name of the property to update (status, description, title, caseNumber or createdDate)
      * @return Updated CaseDto
      * @throws IllegalArgumentException If date unparseable or Case not found with ID
+     * @throws DataIntegrityViolationException If renumbering to a caseNumber another case holds, live or archived
      */
-    public CaseDto updateCaseProperty(UUID id, String value, String property) throws IllegalArgumentException {
+    public CaseDto updateCaseProperty(UUID id, String value, String property) throws IllegalArgumentException,
+        DataIntegrityViolationException {
+        shardRouter.route(id);
         Optional<Case> caseOptional = caseRepository.findById(id);
         if (caseOptional.isPresent()) {
+            String previous = caseValue(caseOptional.get(), property);
             try {
                 switch (property) {
-                    case "status" -> caseOptional.get().setStatus(value);
+                    case "status" -> caseOptional.get().setStatus(Status.of(value));
                     case "description" -> caseOptional.get().setDescription(value);
                     case "title" -> caseOptional.get().setTitle(value);
-                    case "caseNumber" -> caseOptional.get().setCaseNumber(value);
+                    case "caseNumber" -> {
+                        if (!caseNumberIndex.reserve(value, id) || isArchivedCaseNumber(value)) {
+                            throw new DataIntegrityViolationException("Case number '" + value + "' already exists");
+                        }
+                        caseOptional.get().setCaseNumber(value);
+                    }
                     case "createdDate" -> {
                         LocalDateTime localDate = LocalDateTime.parse(value);
                         caseOptional.get().setCreatedDate(localDate);
@@ -347,7 +981,11 @@ public class DAOService {
                 throw new IllegalArgumentException("Could not parse date '" + value + "'");
             }
             caseRepository.save(caseOptional.get());
-            return convertCase(caseOptional.get());
+            searchCache.invalidate();
+            auditLog.record(new AuditEntry(
+                UPDATED, CASE, id, id, property, previous, caseValue(caseOptional.get(), property)
+            ));
+            return publishCase(UPDATED, convertCase(caseOptional.get()));
         }
         throw new IllegalArgumentException("Case not found '"+id+"'");
     }
@@ -360,13 +998,37 @@ public class DAOService {
      * @param property Name of the property to update (status, description, title or dueDate)
      * @return Updated TaskDto
      * @throws IllegalArgumentException If date unparseable or Task not found with ID
+     *
+     * @apiNote With write-behind enabled, updates to status, description, title and dueDate are queued and
+     *          flushed in batches, the returned TaskDto (and later reads on this node) already reflect them
      */
     public TaskDto updateTaskProperty(UUID id, String value, String property) throws IllegalArgumentException {
+        shardRouter.route(id);
         Optional<Task> taskOptional = taskRepository.findById(id);
+        if (taskOptional.isPresent() && taskWriteBehind.accepts(property)) {
+            try {
+                Object parsed = switch (property) {
+                    case "status" -> Status.of(value);
+                    case "dueDate" -> LocalDateTime.parse(value);
+                    default -> value;
+                };
+                String previous = taskValue(convertTask(taskOptional.get()), property);
+                taskWriteBehind.enqueue(id, property, parsed);
+                TaskDto updated = taskWriteBehind.overlay(convertTask(taskOptional.get()), property, parsed);
+                auditLog.record(new AuditEntry(
+                    UPDATED, TASK, id, updated.getParentCase(), property, previous, taskValue(updated, property)
+                ));
+                return publishTask(UPDATED, updated);
+            }catch(DateTimeParseException e){
+                throw new IllegalArgumentException("Could not parse date '" + value + "'");
+            }
+        }
         if (taskOptional.isPresent()) {
+            taskWriteBehind.drainInto(taskOptional.get());
+            String previous = taskValue(convertTask(taskOptional.get()), property);
             try {
                 switch (property) {
-                    case "status" -> taskOptional.get().setStatus(value);
+                    case "status" -> taskOptional.get().setStatus(Status.of(value));
                     case "description" -> taskOptional.get().setDescription(value);
                     case "title" -> taskOptional.get().setTitle(value);
                     case "dueDate" -> {
@@ -376,10 +1038,14 @@ public class DAOService {
                     case "parentCase" -> {
                         try{
                             UUID caseId = UUID.fromString(value);
+                            if (shardRouter.shardOf(caseId) != shardRouter.shardOf(id)) {
+                                throw new IllegalArgumentException("Case on another shard");
+                            }
                             Optional<Case> caseOptional = caseRepository.findById(caseId);
                             if (caseOptional.isPresent()) {
                                 caseOptional.get().addTask(taskOptional.get());
                                 caseRepository.save(caseOptional.get());
+                                searchCache.invalidate();
                             }else{
                                 throw new IllegalArgumentException("Case not found '"+value+"'");
                             }
@@ -393,7 +1059,11 @@ public class DAOService {
                 throw new IllegalArgumentException("Could not parse date '" + value + "'");
             }
             taskRepository.save(taskOptional.get());
-            return convertTask(taskOptional.get());
+            TaskDto updated = convertTask(taskOptional.get());
+            auditLog.record(new AuditEntry(
+                UPDATED, TASK, id, updated.getParentCase(), property, previous, taskValue(updated, property)
+            ));
+            return publishTask(UPDATED, updated);
         }
         throw new IllegalArgumentException("Case not found '"+id+"'");
     }
@@ -406,17 +1076,86 @@ public class DAOService {
      * @return Page containing any matching TaskDto objects
      */
     public Page<TaskDto> getTasksForParent(UUID id, Pageable pageable) {
+        shardRouter.route(id);
         return taskRepository.findAllByParentCaseId(id, pageable).map(this::convertTask);
     }
 
+    /**
+     * Get Tasks by the parent case ID without counting them, one extra task is fetched to tell whether there is a
+     * next slice
+     *
+     * @param id UUID of the parent case
+     * @param pageable Pageable object for continuity
+     * @param approximateCount Whether to count the case's tasks, up to approximateCountLimit of them
+     * @return SliceResult containing any matching TaskDto objects
+     */
+    public SliceResult<TaskDto> getTasksForParentSlice(UUID id, Pageable pageable, boolean approximateCount) {
+        shardRouter.route(id);
+        return sliceResult(
+            taskRepository.findSliceByParentCaseId(id, pageable).map(this::convertTask), approximateCount,
+            () -> taskRepository.findIdsByParentCaseId(id, Limit.of(approximateCountLimit)).size()
+        );
+    }
+
+    /**
+     * Search tasks across cases by title, status, due date range and parent case with cursor pagination
+     *
+     * @param criteria Filters to apply, all optional
+     * @param cursor Cursor token from the previous page, or null for the first page
+     * @param size Maximum number of tasks in the page
+     * @return CursorPage of matching TaskDto objects in due date order (tasks without a due date last)
+     * @throws IllegalArgumentException If the cursor token is invalid
+     *
+     * @apiNote Write-behind updates are flushed first, status/title/due date filters and the due date order must
+     *          match the values tasks are returned with, run outside the caller's transaction so the flush commits
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public CursorPage<TaskDto> searchTasks(TaskSearchCriteria criteria, String cursor, int size)
+        throws IllegalArgumentException {
+        TaskCursor after = TaskCursor.decode(cursor);
+        taskWriteBehind.flush();
+        // One extra row tells whether there is a next page without counting
+        List<List<ShardMerge.Row<TaskDto>>> shardRows = shardRouter.scatter(shard -> readTransaction.execute(
+            tx -> taskRepository.search(criteria, after, size + 1).stream()
+                .map(task -> new ShardMerge.Row<>(task, convertTask(task)))
+                .toList()
+        ));
+        List<ShardMerge.Row<TaskDto>> rows = ShardMerge.merge(shardRows, TASK_SEARCH_ORDER, 0, size + 1);
+
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Task last = (Task) rows.getLast().entity();
+            nextCursor = new TaskCursor(last.getDueDate(), last.getId()).encode();
+        }
+        return new CursorPage<>(rows.stream().map(ShardMerge.Row::value).toList(), nextCursor);
+    }
+
     /**
      * Get a Case by its caseNumber
      *
      * @param caseNumber Case Number to find by
-     * @return Optional containing CaseDto if match found
+     * @return Optional containing CaseDto if match found, live (from the index, then the cases table in case another
+     *         writer added it) or archived
      */
     public Optional<CaseDto> getCaseByNumber(String caseNumber) {
-        return caseRepository.findFirstByCaseNumber(caseNumber).map(this::convertCase);
+        return findCaseId(caseNumber).flatMap(id -> {
+            shardRouter.route(id);
+            return caseRepository.findById(id);
+        }).map(this::convertCase).or(() -> shardRouter.scatter(shard -> readTransaction.execute(
+            tx -> caseRepository.findFirstByCaseNumber(caseNumber).map(this::convertCase)
+                .or(() -> archivedCaseRepository.findFirstByCaseNumber(caseNumber).map(this::convertArchivedCase))
+        )).stream().flatMap(Optional::stream).findFirst());
+    }
+
+    /**
+     * Resolve a caseNumber to the Case ID from the in-memory index, without querying the DB
+     *
+     * @param caseNumber Case Number to resolve
+     * @return Optional containing the Case ID if indexed
+     */
+    public Optional<UUID> findCaseId(String caseNumber) {
+        return caseNumberIndex.find(caseNumber);
     }
 
 }
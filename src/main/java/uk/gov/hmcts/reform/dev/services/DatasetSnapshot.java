@@ -0,0 +1,505 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.sharding.ShardContext;
+import uk.gov.hmcts.reform.dev.sharding.ShardRouter;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Whole-dataset binary snapshots, for cloning environments far faster than replaying JSON through the API
+ * <p>
+ * File layout (big-endian): magic, version, the status dictionary (code and name of every status), the number of
+ * shard blocks, then per shard a cases, tasks, archived cases and archived tasks section. Each section is a run of
+ * records, each prefixed by its length in bytes and ended by a zero length. Rows hold only status codes, mapped back
+ * to this node's codes by name on restore. Strings are a length (-1 for null) and UTF-8 bytes, dates are epoch
+ * seconds (UTC, {@link Long#MIN_VALUE} for null) and nanos.
+ * <p>
+ * Snapshots first flush the task write-behind queue, then stream each shard's rows from JDBC straight to a buffered
+ * file within one repeatable-read transaction, so the four tables of a shard are read as of one point in time.
+ * Restores memory-map the file and decode every record once before inserting anything, so a truncated or corrupt
+ * file is rejected with the database still empty. They then insert with JDBC batches, one transaction per batch.
+ * Only one restore runs at a time. Both report rows per second.
+ * When sharded rows are restored to the shard their case ID hashes to, so a snapshot can only be restored into the
+ * same number of shards it was taken from (or one) as task IDs are tied to their case's shard.
+ */
+@Component
+public class DatasetSnapshot {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DatasetSnapshot.class);
+
+    private static final int MAGIC = 0x534E4150; // "SNAP"
+    private static final int VERSION = 2;
+    private static final short NO_STATUS = 0;
+
+    private static final String INSERT_CASE =
+        "insert into cases (id, case_number, title, description, status, created_date) values (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TASK = "insert into tasks (id, title, description, status, due_date,"
+        + " parent_case_id) values (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ARCHIVED_CASE = "insert into archived_cases (id, case_number, title,"
+        + " description, status, created_date, archived_date) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ARCHIVED_TASK = "insert into archived_tasks (id, title, description, status,"
+        + " due_date, parent_case_id) values (?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Outcome of a snapshot or restore
+     *
+     * @param cases Number of cases written/read
+     * @param tasks Number of tasks written/read
+     * @param archivedCases Number of archived cases written/read
+     * @param archivedTasks Number of archived tasks written/read
+     * @param bytes Size of the snapshot file
+     * @param duration Time taken
+     */
+    public record Report(long cases, long tasks, long archivedCases, long archivedTasks, long bytes,
+                         Duration duration) {
+
+        public long getRowsPerSecond() {
+            long millis = Math.max(1, duration.toMillis());
+            return (cases + tasks + archivedCases + archivedTasks) * 1000 / millis;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final CaseNumberIndex caseNumberIndex;
+    private final SearchCache searchCache;
+    private final TaskWriteBehind taskWriteBehind;
+    private final CaseArchiver caseArchiver;
+    private final ShardRouter shardRouter;
+    private final int batchSize;
+
+    /**
+     * Autowired constructor
+     *
+     * @param jdbcTemplate JdbcTemplate for streaming reads and batched inserts
+     * @param transactionTemplate TransactionTemplate to run each restore batch in
+     * @param caseNumberIndex In-memory case number index, rebuilt after a restore
+     * @param searchCache Search cache, invalidated after a restore
+     * @param taskWriteBehind Write-behind queue, flushed before a snapshot so queued updates are included
+     * @param caseArchiver CaseArchiver, told after a restore whether the archive now holds cases
+     * @param shardRouter ShardRouter to snapshot and restore every shard
+     * @param batchSize Rows per insert batch/transaction on restore
+     */
+    public DatasetSnapshot(@Autowired JdbcTemplate jdbcTemplate,
+                           @Autowired TransactionTemplate transactionTemplate,
+                           @Autowired CaseNumberIndex caseNumberIndex,
+                           @Autowired SearchCache searchCache,
+                           @Autowired TaskWriteBehind taskWriteBehind,
+                           @Autowired CaseArchiver caseArchiver,
+                           @Autowired ShardRouter shardRouter,
+                           @Value("${snapshot.batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.snapshotTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.caseNumberIndex = caseNumberIndex;
+        this.searchCache = searchCache;
+        this.taskWriteBehind = taskWriteBehind;
+        this.caseArchiver = caseArchiver;
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Write every case and task, live and archived, to a snapshot file, replacing it if it exists
+     *
+     * @param file File to write
+     * @return Report of rows written and throughput
+     * @throws IOException If the file cannot be written
+     */
+    public Report snapshot(Path file) throws IOException {
+        long start = System.nanoTime();
+        taskWriteBehind.flush();
+        long[] counts = new long[4];
+        try (DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            List<Status> statuses = List.copyOf(Status.all());
+            out.writeInt(statuses.size());
+            for (Status status : statuses) {
+                out.writeShort(status.getCode());
+                writeString(out, status.getName());
+            }
+
+            out.writeInt(shardRouter.count());
+            RecordWriter records = new RecordWriter(out);
+            for (int shard = 0; shard < shardRouter.count(); shard++) {
+                shardRouter.on(shard, () -> {
+                    snapshotTransaction.executeWithoutResult(tx -> writeShard(records, counts));
+                    return null;
+                });
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        Report report = new Report(counts[0], counts[1], counts[2], counts[3], Files.size(file),
+                                   Duration.ofNanos(System.nanoTime() - start));
+        LOG.info("Snapshot of {} cases, {} tasks, {} archived cases and {} archived tasks to {}: {} bytes in {} ms,"
+                     + " {} rows/s", report.cases(), report.tasks(), report.archivedCases(), report.archivedTasks(),
+                 file, report.bytes(), report.duration().toMillis(), report.getRowsPerSecond());
+        return report;
+    }
+
+    /**
+     * Write the current shard's block, its four sections read within the caller's transaction
+     */
+    private void writeShard(RecordWriter records, long[] counts) {
+        counts[0] += writeCases(records, "cases", false);
+        records.end();
+        counts[1] += writeTasks(records, "tasks");
+        records.end();
+        counts[2] += writeCases(records, "archived_cases", true);
+        records.end();
+        counts[3] += writeTasks(records, "archived_tasks");
+        records.end();
+    }
+
+    /**
+     * Write the current shard's cases (or archived cases, with their archived date last) as records
+     */
+    private long writeCases(RecordWriter records, String table, boolean archived) {
+        long[] count = new long[1];
+        jdbcTemplate.query(
+            "select id, case_number, title, description, status, created_date"
+                + (archived ? ", archived_date" : "") + " from " + table,
+            row -> {
+                records.write(record -> {
+                    writeUuid(record, row.getObject("id", UUID.class));
+                    writeString(record, row.getString("case_number"));
+                    writeString(record, row.getString("title"));
+                    writeString(record, row.getString("description"));
+                    record.writeShort(statusCode(row));
+                    writeDate(record, row.getObject("created_date", LocalDateTime.class));
+                    if (archived) {
+                        writeDate(record, row.getObject("archived_date", LocalDateTime.class));
+                    }
+                });
+                count[0]++;
+            }
+        );
+        return count[0];
+    }
+
+    /**
+     * Write the current shard's tasks (or archived tasks) as records, the parent case ID last
+     */
+    private long writeTasks(RecordWriter records, String table) {
+        long[] count = new long[1];
+        jdbcTemplate.query(
+            "select id, title, description, status, due_date, parent_case_id from " + table,
+            row -> {
+                records.write(record -> {
+                    writeUuid(record, row.getObject("id", UUID.class));
+                    writeString(record, row.getString("title"));
+                    writeString(record, row.getString("description"));
+                    record.writeShort(statusCode(row));
+                    writeDate(record, row.getObject("due_date", LocalDateTime.class));
+                    writeUuid(record, row.getObject("parent_case_id", UUID.class));
+                });
+                count[0]++;
+            }
+        );
+        return count[0];
+    }
+
+    /**
+     * Load a snapshot file into empty case and task tables, live and archived
+     *
+     * @param file Snapshot file to read
+     * @return Report of rows read and throughput
+     * @throws IOException If the file cannot be read
+     * @throws IllegalArgumentException If the file is not a snapshot, is truncated or corrupt, too large to map at
+     *                                  once (2GB) or was taken from a different number of shards
+     * @throws IllegalStateException If the cases or archived cases table is not empty
+     */
+    public synchronized Report restore(Path file)
+        throws IOException, IllegalArgumentException, IllegalStateException {
+        boolean empty = shardRouter.scatter(shard -> transactionTemplate.execute(tx -> jdbcTemplate.queryForObject(
+            "select (select count(*) from cases) + (select count(*) from archived_cases)", Long.class
+        ))).stream().allMatch(existing -> existing == null || existing == 0);
+        if (!empty) {
+            throw new IllegalStateException("Cannot restore into a database which already holds cases");
+        }
+
+        long start = System.nanoTime();
+        long[] counts = new long[4];
+        long bytes;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            bytes = channel.size();
+            if (bytes > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Snapshot larger than 2GB cannot be mapped in one region");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, bytes);
+            if (bytes < 8 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IllegalArgumentException("Not a version " + VERSION + " snapshot");
+            }
+
+            // Snapshot codes to this node's statuses, filled in once the file is known to be intact
+            Map<Short, Status> statuses = new HashMap<>();
+            RecordReader caseReader = record -> new Object[]{
+                readUuid(record), readString(record), readString(record), readString(record),
+                statusCode(statuses, record.getShort()), readDate(record)
+            };
+            RecordReader archivedCaseReader = record -> new Object[]{
+                readUuid(record), readString(record), readString(record), readString(record),
+                statusCode(statuses, record.getShort()), readDate(record), readDate(record)
+            };
+            RecordReader taskReader = record -> new Object[]{
+                readUuid(record), readString(record), readString(record), statusCode(statuses, record.getShort()),
+                readDate(record), readUuid(record)
+            };
+
+            Map<Short, String> statusNames = new HashMap<>();
+            int blocks;
+            try {
+                int statusCount = buffer.getInt();
+                for (int i = 0; i < statusCount; i++) {
+                    short code = buffer.getShort();
+                    statusNames.put(code, readString(buffer));
+                }
+                blocks = buffer.getInt();
+                validate(buffer.duplicate(), blocks, caseReader, archivedCaseReader, taskReader);
+            } catch (BufferUnderflowException | IndexOutOfBoundsException | DateTimeException e) {
+                throw new IllegalArgumentException("Snapshot is truncated or corrupt", e);
+            }
+            statusNames.forEach((code, name) -> statuses.put(code, Status.of(name)));
+
+            for (int block = 0; block < blocks; block++) {
+                counts[0] += restoreSection(buffer, INSERT_CASE, 0, caseReader);
+                counts[1] += restoreSection(buffer, INSERT_TASK, 5, taskReader);
+                counts[2] += restoreSection(buffer, INSERT_ARCHIVED_CASE, 0, archivedCaseReader);
+                counts[3] += restoreSection(buffer, INSERT_ARCHIVED_TASK, 5, taskReader);
+            }
+        }
+
+        caseNumberIndex.rebuild();
+        caseArchiver.checkHoldsCases();
+        searchCache.invalidate();
+        Report report = new Report(counts[0], counts[1], counts[2], counts[3], bytes,
+                                   Duration.ofNanos(System.nanoTime() - start));
+        LOG.info("Restore of {} cases, {} tasks, {} archived cases and {} archived tasks from {}: {} bytes in {} ms,"
+                     + " {} rows/s", report.cases(), report.tasks(), report.archivedCases(), report.archivedTasks(),
+                 file, report.bytes(), report.duration().toMillis(), report.getRowsPerSecond());
+        return report;
+    }
+
+    @FunctionalInterface
+    private interface RecordReader {
+        Object[] read(ByteBuffer record);
+    }
+
+    @FunctionalInterface
+    private interface RecordBody {
+        void write(DataOutputStream record) throws IOException, SQLException;
+    }
+
+    /**
+     * Reads records until the section's zero length, inserting them in batches per shard
+     *
+     * @param caseColumn Index of the case ID in each row, which decides the row's shard
+     */
+    private long restoreSection(ByteBuffer buffer, String sql, int caseColumn, RecordReader reader) {
+        long rows = 0;
+        Map<Integer, List<Object[]>> batches = new HashMap<>();
+        int length;
+        while ((length = buffer.getInt()) != 0) {
+            ByteBuffer record = buffer.slice(buffer.position(), length);
+            buffer.position(buffer.position() + length);
+            Object[] row = reader.read(record);
+            int shard = ShardContext.shardOf((UUID) row[caseColumn]);
+            List<Object[]> batch = batches.computeIfAbsent(shard, key -> new ArrayList<>(batchSize));
+            batch.add(row);
+            if (batch.size() == batchSize) {
+                insert(shard, sql, batch);
+                rows += batch.size();
+                batches.remove(shard);
+            }
+        }
+        for (Map.Entry<Integer, List<Object[]>> batch : batches.entrySet()) {
+            insert(batch.getKey(), sql, batch.getValue());
+            rows += batch.getValue().size();
+        }
+        return rows;
+    }
+
+    private void insert(int shard, String sql, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            shardRouter.on(shard, () -> transactionTemplate.execute(tx -> jdbcTemplate.batchUpdate(sql, batch)));
+        }
+    }
+
+    /**
+     * Decode every record before inserting anything, checking each is exactly its length and the file ends with the
+     * last block. When sharded also check every task ID, live or archived, hashes to its case's shard, which only
+     * holds for snapshots taken from the same number of shards.
+     *
+     * @param buffer Buffer positioned at the first block, its position is moved
+     * @param blocks Number of shard blocks
+     * @throws IllegalArgumentException If the file is corrupt or any task would be unreachable by its ID
+     */
+    private void validate(ByteBuffer buffer, int blocks, RecordReader caseReader, RecordReader archivedCaseReader,
+                          RecordReader taskReader) throws IllegalArgumentException {
+        if (blocks < 1) {
+            throw new IllegalArgumentException("Snapshot is truncated or corrupt");
+        }
+        boolean sharded = shardRouter.count() > 1;
+        for (int block = 0; block < blocks; block++) {
+            validateSection(buffer, caseReader, false);
+            validateSection(buffer, taskReader, sharded);
+            validateSection(buffer, archivedCaseReader, false);
+            validateSection(buffer, taskReader, sharded);
+        }
+        if (buffer.hasRemaining()) {
+            throw new IllegalArgumentException("Snapshot has " + buffer.remaining() + " unexpected trailing bytes");
+        }
+    }
+
+    private static void validateSection(ByteBuffer buffer, RecordReader reader, boolean checkShards)
+        throws IllegalArgumentException {
+        int length;
+        while ((length = buffer.getInt()) != 0) {
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IllegalArgumentException("Snapshot is truncated or corrupt");
+            }
+            ByteBuffer record = buffer.slice(buffer.position(), length);
+            buffer.position(buffer.position() + length);
+            Object[] row = reader.read(record);
+            if (record.hasRemaining()) {
+                throw new IllegalArgumentException("Snapshot is truncated or corrupt");
+            }
+            // Task rows hold their ID first and parent case ID last
+            if (checkShards && ShardContext.shardOf((UUID) row[0]) != ShardContext.shardOf((UUID) row[5])) {
+                throw new IllegalArgumentException("Snapshot was taken from a different number of shards");
+            }
+        }
+    }
+
+    /**
+     * Writes length-prefixed records, each record is built in a reused buffer to learn its length, IOExceptions are
+     * carried out of the JDBC row callbacks unchecked
+     */
+    private static final class RecordWriter {
+        private final DataOutputStream out;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        private final DataOutputStream record = new DataOutputStream(bytes);
+
+        RecordWriter(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void write(RecordBody body) throws SQLException {
+            try {
+                bytes.reset();
+                body.write(record);
+                out.writeInt(bytes.size());
+                bytes.writeTo(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void end() {
+            try {
+                out.writeInt(0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static short statusCode(ResultSet row) throws SQLException {
+        short code = row.getShort("status");
+        return row.wasNull() ? NO_STATUS : code;
+    }
+
+    private static Short statusCode(Map<Short, Status> statuses, short code) {
+        Status status = statuses.get(code);
+        return status == null ? null : status.getCode();
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(ByteBuffer in) {
+        return new UUID(in.getLong(), in.getLong());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDate(DataOutputStream out, LocalDateTime date) throws IOException {
+        if (date == null) {
+            out.writeLong(Long.MIN_VALUE);
+            return;
+        }
+        out.writeLong(date.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(date.getNano());
+    }
+
+    private static LocalDateTime readDate(ByteBuffer in) {
+        long seconds = in.getLong();
+        if (seconds == Long.MIN_VALUE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(seconds, in.getInt(), ZoneOffset.UTC);
+    }
+
+}
@@ -0,0 +1,189 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.dev.dto.CaseDto;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of /case/search result pages, keyed by normalised search string, pageable and write generation
+ * <p>
+ * Any case write bumps the generation once it commits, so invalidation is a single increment and a page cached
+ * under an older generation can never be served again. Dead generations are never read so fall to the back of the
+ * LRU order and are evicted first once the memory budget is reached.
+ * <p>
+ * CaseDto is mutable, so pages are copied on the way in and out, a caller changing a page it was given can neither
+ * alter what is cached nor what another caller is served.
+ */
+@Component
+public class SearchCache {
+
+    // Rough per-object overheads for the memory estimate, a CaseDto and its strings/list headers
+    private static final long CASE_OVERHEAD_BYTES = 160;
+    private static final long TASK_ID_BYTES = 32;
+
+    private record Key(String searchString, Pageable pageable, long generation) {
+    }
+
+    private record Entry(Page<CaseDto> page, long bytes) {
+    }
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final boolean enabled;
+    private final long maxBytes;
+    private long storedBytes;
+
+    /**
+     * Autowired constructor
+     *
+     * @param meterRegistry Registry for the hit/miss/size metrics
+     * @param enabled Whether search results are cached at all
+     * @param maxBytes Memory budget for cached pages (estimated)
+     */
+    public SearchCache(@Autowired MeterRegistry meterRegistry,
+                       @Value("${search-cache.enabled:true}") boolean enabled,
+                       @Value("${search-cache.max-bytes:33554432}") long maxBytes) {
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+
+        FunctionCounter.builder("search.cache.hits", hits, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("search.cache.misses", misses, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("search.cache.evictions", evictions, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("search.cache.bytes", this, SearchCache::getStoredBytes).register(meterRegistry);
+        Gauge.builder("search.cache.hit.ratio", this, SearchCache::hitRatio).register(meterRegistry);
+    }
+
+    /**
+     * Normalise a search string for keying, the search is case-insensitive throughout (including UUID parsing)
+     *
+     * @param searchString Search string as requested
+     * @return Normalised search string
+     */
+    public static String normalise(String searchString) {
+        return searchString == null ? null : searchString.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Current write generation, read before running a query whose result will be cached
+     *
+     * @return Write generation
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Get a cached page
+     *
+     * @param searchString Normalised search string
+     * @param pageable Pageable of the search
+     * @param generation Generation read before the lookup
+     * @return Optional containing the cached page
+     */
+    public Optional<Page<CaseDto>> get(String searchString, Pageable pageable, long generation) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(new Key(searchString, pageable, generation));
+        }
+        (entry == null ? misses : hits).incrementAndGet();
+        return entry == null ? Optional.empty() : Optional.of(copy(entry.page()));
+    }
+
+    /**
+     * Cache a page, ignored if a write has committed since the generation was read
+     *
+     * @param searchString Normalised search string
+     * @param pageable Pageable of the search
+     * @param generation Generation read before the query ran
+     * @param page Result of the query
+     */
+    public void put(String searchString, Pageable pageable, long generation, Page<CaseDto> page) {
+        if (!enabled || generation != this.generation.get()) {
+            return;
+        }
+        long bytes = estimate(searchString, page);
+        if (bytes > maxBytes) {
+            return;
+        }
+        Entry entry = new Entry(copy(page), bytes);
+
+        synchronized (this) {
+            Entry previous = entries.put(new Key(searchString, pageable, generation), entry);
+            storedBytes += bytes - (previous == null ? 0 : previous.bytes());
+
+            Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+            while (storedBytes > maxBytes && eldest.hasNext()) {
+                storedBytes -= eldest.next().getValue().bytes();
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Invalidate every cached page once the current transaction commits
+     */
+    public void invalidate() {
+        TransactionHooks.afterCommit(generation::incrementAndGet);
+    }
+
+    public synchronized long getStoredBytes() {
+        return storedBytes;
+    }
+
+    /**
+     * Ratio of hits to lookups since startup
+     *
+     * @return Hit ratio between 0 and 1
+     */
+    public double hitRatio() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    private static Page<CaseDto> copy(Page<CaseDto> page) {
+        List<CaseDto> content = page.getContent().stream()
+            .map(c -> new CaseDto(c.getId(), c.getCaseNumber(), c.getTitle(), c.getDescription(), c.getStatus(),
+                                  c.getCreatedDate(), new ArrayList<>(c.getTasks())))
+            .toList();
+        return new PageImpl<>(content, page.getPageable(), page.getTotalElements());
+    }
+
+    private static long estimate(String searchString, Page<CaseDto> page) {
+        long bytes = CASE_OVERHEAD_BYTES + 2L * (searchString == null ? 0 : searchString.length());
+        for (CaseDto c : page.getContent()) {
+            bytes += CASE_OVERHEAD_BYTES + TASK_ID_BYTES * c.getTasks().size()
+                + 2L * (length(c.getCaseNumber()) + length(c.getTitle()) + length(c.getDescription()));
+        }
+        return bytes;
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+}
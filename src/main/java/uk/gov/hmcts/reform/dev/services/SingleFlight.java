@@ -0,0 +1,85 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical computations, so a thundering herd of the same read runs one query
+ * <p>
+ * The first caller for a key computes the result on its own thread, callers arriving while it is in flight wait for
+ * and share that result (or its exception). Nothing is cached once the computation finishes. Waiting is bounded, a
+ * caller that times out computes the result itself rather than failing.
+ *
+ * @param <K> Key identifying identical computations
+ * @param <V> Result type, shared between callers so should not be mutated
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long waitTimeoutMillis;
+
+    /**
+     * @param waitTimeoutMillis Longest a caller waits on another's computation before running its own
+     */
+    public SingleFlight(long waitTimeoutMillis) {
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+
+    /**
+     * Compute a value for the key, or share the computation already in flight for it
+     *
+     * @param key Key identifying the computation
+     * @param supplier Computation to run if none is in flight
+     * @return Result of the computation
+     * @throws RuntimeException Any exception thrown by the computation, rethrown to every caller sharing it
+     */
+    public V execute(K key, Supplier<V> supplier) throws RuntimeException {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+
+        if (existing == null) {
+            try {
+                V value = supplier.get();
+                call.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                call.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, call);
+            }
+        }
+
+        try {
+            return existing.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return supplier.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for in-flight '" + key + "'", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Number of computations currently in flight
+     *
+     * @return In-flight count
+     */
+    public int size() {
+        return inFlight.size();
+    }
+
+}
@@ -0,0 +1,155 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.models.StatusEntry;
+import uk.gov.hmcts.reform.dev.repositories.StatusRepository;
+import uk.gov.hmcts.reform.dev.sharding.ShardRouter;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the in-memory {@link Status} interning table and the statuses dictionary table in step
+ * <p>
+ * On startup existing codes are loaded from the table, afterward codes for new names are allocated by the table
+ * itself: the name's existing row is read, or the next free code inserted, in its own transaction so the row survives
+ * even if the case/task write that introduced it rolls back. Another node inserting the same name or code at once
+ * fails the insert on the primary key or UniqueStatusName, and the table is read again. A code or name another node
+ * added after this one loaded is read from the table the first time it is met (reading a row, filtering by name) and
+ * interned from then on. When sharded the dictionary lives on shard 0 only, every shard's status codes resolve
+ * through it.
+ */
+@Service
+public class StatusDictionary {
+
+    /**
+     * Seeded so the common statuses always hold the lowest codes
+     */
+    public static final List<String> DEFAULT_STATUSES = List.of("Ongoing", "Pending", "In Progress", "Completed");
+
+    private static final int ALLOCATE_ATTEMPTS = 5;
+
+    StatusRepository statusRepository;
+    JdbcTemplate jdbcTemplate;
+    TransactionTemplate transactionTemplate;
+    ShardRouter shardRouter;
+    int maxStatuses;
+
+    /**
+     * Autowired constructor
+     *
+     * @param statusRepository StatusRepository for the dictionary table
+     * @param jdbcTemplate JdbcTemplate to insert new codes, failing rather than merging into an existing row
+     * @param transactionManager Transaction manager to write new statuses independently of the caller
+     * @param shardRouter ShardRouter to keep the dictionary on shard 0
+     * @param maxStatuses Most distinct statuses, new names past it are rejected
+     */
+    public StatusDictionary(@Autowired StatusRepository statusRepository,
+                            @Autowired JdbcTemplate jdbcTemplate,
+                            @Autowired PlatformTransactionManager transactionManager,
+                            @Autowired ShardRouter shardRouter,
+                            @Value("${status.max-count:1000}") int maxStatuses) {
+        this.statusRepository = statusRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.maxStatuses = maxStatuses;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Loads the dictionary table into memory, writes back any statuses interned before loading and seeds defaults
+     *
+     * @throws IllegalStateException If the table conflicts with statuses already interned in memory
+     */
+    @PostConstruct
+    public void load() throws IllegalStateException {
+        Set<Short> stored = new HashSet<>();
+        Iterable<StatusEntry> entries = shardRouter.on(
+            0, () -> transactionTemplate.execute(tx -> statusRepository.findAll())
+        );
+        for (StatusEntry entry : entries) {
+            Status.register(entry.getCode(), entry.getName());
+            stored.add(entry.getCode());
+        }
+
+        for (Status status : List.copyOf(Status.all())) {
+            if (!stored.contains(status.getCode())) {
+                persist(status);
+            }
+        }
+
+        Status.limit(maxStatuses);
+        Status.lookupWith(this::nameOf, this::codeOf);
+        Status.allocateWith(this::allocate);
+        DEFAULT_STATUSES.forEach(Status::of);
+    }
+
+    /**
+     * Code of a status name in the dictionary table, inserting the next free code if it has none
+     *
+     * @param name Status name
+     * @return Code stored for the name
+     * @throws IllegalStateException If the code space has been exhausted
+     * @throws DataIntegrityViolationException If inserts still conflict with other nodes after every attempt
+     */
+    private short allocate(String name) throws IllegalStateException, DataIntegrityViolationException {
+        return shardRouter.on(0, () -> {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(tx -> statusRepository.findByName(name)
+                        .map(StatusEntry::getCode)
+                        .orElseGet(() -> insert(name)));
+                } catch (DataIntegrityViolationException e) {
+                    if (attempt == ALLOCATE_ATTEMPTS) {
+                        throw e;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Name stored for a code, null if the dictionary table has none
+     */
+    private String nameOf(short code) {
+        return shardRouter.on(0, () -> transactionTemplate.execute(
+            tx -> statusRepository.findById(code).map(StatusEntry::getName).orElse(null)
+        ));
+    }
+
+    /**
+     * Code stored for a name, null if the dictionary table has none
+     */
+    private Short codeOf(String name) {
+        return shardRouter.on(0, () -> transactionTemplate.execute(
+            tx -> statusRepository.findByName(name).map(StatusEntry::getCode).orElse(null)
+        ));
+    }
+
+    private short insert(String name) {
+        int code = statusRepository.findMaxCode() + 1;
+        if (code >= Short.MAX_VALUE) {
+            throw new IllegalStateException("No status codes left to allocate '" + name + "'");
+        }
+        jdbcTemplate.update("insert into statuses (code, name) values (?, ?)", (short) code, name);
+        return (short) code;
+    }
+
+    private void persist(Status status) {
+        shardRouter.on(0, () -> transactionTemplate.execute(
+            tx -> statusRepository.save(new StatusEntry(status.getCode(), status.getName()))
+        ));
+    }
+
+}
@@ -0,0 +1,329 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.dto.TaskDto;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.sharding.ShardContext;
+import uk.gov.hmcts.reform.dev.sharding.ShardRouter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Opt-in write-behind queue for high frequency task property updates (e.g. workers posting status)
+ * <p>
+ * Updates are coalesced per task, only the latest value of each property is kept, and flushed as one JDBC batch
+ * UPDATE per column every flush interval or once the batch size is reached. Pending and in-flight values are laid
+ * over tasks read on this node so callers read their own writes, and everything pending is flushed on shutdown.
+ * Queries filtering or ordering on these columns (/task/search) flush first, as an overlay cannot add or remove rows.
+ */
+@Component
+public class TaskWriteBehind {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TaskWriteBehind.class);
+
+    /**
+     * Task properties eligible for write-behind and their column in the tasks table
+     */
+    private static final Map<String, String> COLUMNS = Map.of(
+        "status", "status",
+        "title", "title",
+        "description", "description",
+        "dueDate", "due_date"
+    );
+
+    private final Map<UUID, Map<String, Object>> pending = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<String, Object>> flushing = new ConcurrentHashMap<>();
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final boolean enabled;
+    private final int batchSize;
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * Autowired constructor
+     *
+     * @param jdbcTemplate JdbcTemplate for the batched updates
+     * @param transactionTemplate TransactionTemplate to flush each batch in
+     * @param shardRouter ShardRouter to flush each shard's tasks on that shard
+     * @param enabled Whether task property updates are written behind at all
+     * @param flushInterval How often pending updates are flushed
+     * @param batchSize Number of pending tasks which triggers an early flush
+     */
+    public TaskWriteBehind(@Autowired JdbcTemplate jdbcTemplate,
+                           @Autowired TransactionTemplate transactionTemplate,
+                           @Autowired ShardRouter shardRouter,
+                           @Value("${write-behind.enabled:false}") boolean enabled,
+                           @Value("${write-behind.flush-interval:PT0.2S}") Duration flushInterval,
+                           @Value("${write-behind.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouter = shardRouter;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+
+        if (enabled) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "task-write-behind");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = flushInterval.toMillis();
+            flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            flusher = null;
+        }
+    }
+
+    /**
+     * Whether a property update can be written behind
+     *
+     * @param property Name of the task property
+     * @return True if write-behind is enabled and the property is eligible
+     */
+    public boolean accepts(String property) {
+        return enabled && COLUMNS.containsKey(property);
+    }
+
+    /**
+     * Queue a property update once the current transaction commits (immediately if there is none), in step with the
+     * audit entry and change event recorded for it, replacing any pending value for the same task and property
+     *
+     * @param id ID of the task
+     * @param property Name of the property, must be {@link #accepts(String) accepted}
+     * @param value Parsed value (Status for status, LocalDateTime for dueDate, otherwise String)
+     */
+    public void enqueue(UUID id, String property, Object value) {
+        TransactionHooks.afterCommit(() -> {
+            pending.compute(id, (key, properties) -> {
+                Map<String, Object> updated = properties == null ? new HashMap<>() : new HashMap<>(properties);
+                updated.put(property, value);
+                return updated;
+            });
+            // One early flush queued at a time, however many updates arrive past the batch size before it runs
+            if (pending.size() >= batchSize && earlyFlushScheduled.compareAndSet(false, true)) {
+                flusher.execute(() -> {
+                    earlyFlushScheduled.set(false);
+                    flushQuietly();
+                });
+            }
+        });
+    }
+
+    /**
+     * Apply in-flight and pending values for a task to an entity about to be saved synchronously and drop them from
+     * the queue, the entity save then carries them
+     *
+     * @param task Task entity
+     */
+    public void drainInto(Task task) {
+        if (!enabled) {
+            return;
+        }
+        // In-flight values too, the synchronous save writes every column and must not undo them
+        apply(flushing.get(task.getId()), task);
+        apply(pending.remove(task.getId()), task);
+    }
+
+    /**
+     * Lay in-flight and pending values for the task over a DTO read from the database
+     *
+     * @param taskDto TaskDto to update in place
+     * @return The same TaskDto
+     */
+    public TaskDto overlay(TaskDto taskDto) {
+        if (!enabled) {
+            return taskDto;
+        }
+        apply(flushing.get(taskDto.getId()), taskDto);
+        apply(pending.get(taskDto.getId()), taskDto);
+        return taskDto;
+    }
+
+    /**
+     * Lay an update {@link #enqueue(UUID, String, Object) enqueued} in the current transaction, so not yet queued,
+     * over a DTO already carrying the queued values
+     *
+     * @param taskDto TaskDto to update in place
+     * @param property Name of the property
+     * @param value Parsed value, as enqueued
+     * @return The same TaskDto
+     */
+    public TaskDto overlay(TaskDto taskDto, String property, Object value) {
+        apply(Collections.singletonMap(property, value), taskDto);
+        return taskDto;
+    }
+
+    /**
+     * Discard anything pending for a deleted task
+     *
+     * @param id ID of the task
+     */
+    public void discard(UUID id) {
+        if (enabled) {
+            pending.remove(id);
+        }
+    }
+
+    /**
+     * Discard anything pending for tasks deleted along with their case, once the current transaction commits
+     *
+     * @param ids IDs of the case's tasks
+     */
+    public void discardOnCommit(Collection<UUID> ids) {
+        if (enabled && !ids.isEmpty()) {
+            TransactionHooks.afterCommit(() -> ids.forEach(pending::remove));
+        }
+    }
+
+    /**
+     * Write all pending updates, one batched UPDATE per column in a single transaction (one per shard when sharded)
+     * <p>
+     * On failure the updates are put back (unless newer values arrived meanwhile) for the next flush, when sharded
+     * only those of the shards which failed.
+     */
+    public synchronized void flush() {
+        Map<UUID, Map<String, Object>> batch = new HashMap<>();
+        for (UUID id : List.copyOf(pending.keySet())) {
+            Map<String, Object> properties = pending.remove(id);
+            if (properties != null) {
+                batch.put(id, properties);
+                flushing.put(id, properties);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, Map<UUID, Map<String, Object>>> byShard = new HashMap<>();
+        batch.forEach((id, properties) -> byShard.computeIfAbsent(ShardContext.shardOf(id), shard -> new HashMap<>())
+            .put(id, properties));
+
+        RuntimeException failure = null;
+        for (Map.Entry<Integer, Map<UUID, Map<String, Object>>> shardBatch : byShard.entrySet()) {
+            try {
+                shardRouter.on(shardBatch.getKey(), () -> flush(shardBatch.getValue()));
+            } catch (RuntimeException e) {
+                shardBatch.getValue().forEach((id, properties) -> pending.merge(id, properties, (failed, newer) -> {
+                    Map<String, Object> merged = new HashMap<>(failed);
+                    merged.putAll(newer);
+                    return merged;
+                }));
+                if (failure == null) {
+                    failure = e;
+                }
+            } finally {
+                shardBatch.getValue().keySet().forEach(flushing::remove);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private Void flush(Map<UUID, Map<String, Object>> batch) {
+        Map<String, List<Object[]>> byColumn = new HashMap<>();
+        batch.forEach((id, properties) -> properties.forEach(
+            (property, value) -> byColumn.computeIfAbsent(COLUMNS.get(property), column -> new ArrayList<>())
+                .add(new Object[]{toColumnValue(value), id})
+        ));
+        return transactionTemplate.execute(tx -> {
+            byColumn.forEach(
+                (column, rows) -> jdbcTemplate.batchUpdate("update tasks set " + column + " = ? where id = ?", rows)
+            );
+            return null;
+        });
+    }
+
+    /**
+     * Number of tasks with updates waiting to be flushed
+     *
+     * @return Pending task count
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Flush everything left on shutdown, the graceful shutdown has already drained in-flight requests
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LOG.warn("Write-behind flush failed, {} tasks will be retried", pending.size(), e);
+        }
+    }
+
+    private static Object toColumnValue(Object value) {
+        return value instanceof Status status ? status.getCode() : value;
+    }
+
+    private static void apply(Map<String, Object> properties, Task task) {
+        if (properties == null) {
+            return;
+        }
+        properties.forEach((property, value) -> {
+            switch (property) {
+                case "status" -> task.setStatus((Status) value);
+                case "title" -> task.setTitle((String) value);
+                case "description" -> task.setDescription((String) value);
+                case "dueDate" -> task.setDueDate((LocalDateTime) value);
+                default -> throw new IllegalStateException("Unexpected write-behind property '" + property + "'");
+            }
+        });
+    }
+
+    private static void apply(Map<String, Object> properties, TaskDto taskDto) {
+        if (properties == null) {
+            return;
+        }
+        properties.forEach((property, value) -> {
+            switch (property) {
+                case "status" -> taskDto.setStatus(Status.nameOf((Status) value));
+                case "title" -> taskDto.setTitle((String) value);
+                case "description" -> taskDto.setDescription((String) value);
+                case "dueDate" -> taskDto.setDueDate((LocalDateTime) value);
+                default -> throw new IllegalStateException("Unexpected write-behind property '" + property + "'");
+            }
+        });
+    }
+
+}
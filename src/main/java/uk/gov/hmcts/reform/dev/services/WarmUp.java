@@ -0,0 +1,177 @@
+package uk.gov.hmcts.reform.dev.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.dev.dto.CaseDto;
+import uk.gov.hmcts.reform.dev.dto.TaskDto;
+import uk.gov.hmcts.reform.dev.repositories.CaseFilter;
+import uk.gov.hmcts.reform.dev.repositories.TaskSearchCriteria;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Exercises the hot paths (case reads and searches, case/task creation, DTO serialisation) before the application
+ * reports ready, so the first real requests do not pay for class loading, JIT compilation and Hibernate query plan
+ * compilation
+ * <p>
+ * Runs as an ApplicationRunner, Spring only moves readiness to ACCEPTING_TRAFFIC once runners have finished. Writes
+ * happen in a transaction which is always rolled back. The {@code warmUp} health indicator is OUT_OF_SERVICE until
+ * it completes, then reports the duration and the first against the warm latency of each path.
+ */
+@Component
+public class WarmUp implements ApplicationRunner, HealthIndicator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WarmUp.class);
+
+    /**
+     * Latency of the first (cold) iteration of a path against the mean of the last quarter of iterations
+     */
+    public record PathLatency(double coldMillis, double warmMillis) {
+    }
+
+    @FunctionalInterface
+    private interface WarmUpPath {
+        void run(int iteration);
+    }
+
+    private final DAOService daoService;
+    private final SearchCache searchCache;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate rolledBack;
+    private final boolean enabled;
+    private final int iterations;
+
+    private volatile boolean complete;
+    private volatile Duration duration;
+    private volatile Map<String, PathLatency> latencies = Map.of();
+
+    /**
+     * Autowired constructor
+     *
+     * @param daoService Service whose paths are warmed
+     * @param searchCache Search cache, invalidated afterwards so warm-up searches are not kept
+     * @param objectMapper The application's ObjectMapper, as used for responses
+     * @param transactionManager Transaction manager for the rolled back writes
+     * @param enabled Whether to warm up at all
+     * @param iterations Number of times each path is run
+     */
+    public WarmUp(@Autowired DAOService daoService,
+                  @Autowired SearchCache searchCache,
+                  @Autowired ObjectMapper objectMapper,
+                  @Autowired PlatformTransactionManager transactionManager,
+                  @Value("${warm-up.enabled:true}") boolean enabled,
+                  @Value("${warm-up.iterations:200}") int iterations) {
+        this.daoService = daoService;
+        this.searchCache = searchCache;
+        this.objectMapper = objectMapper;
+        this.rolledBack = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || iterations <= 0) {
+            complete = true;
+            return;
+        }
+        long start = System.nanoTime();
+        Map<String, WarmUpPath> paths = new LinkedHashMap<>();
+        paths.put("getCase", i -> daoService.getCase(UUID.randomUUID()));
+        paths.put("searchCases", i -> daoService.searchCases("warm-up " + i, PageRequest.of(0, 20)));
+        paths.put("filterCases", i -> daoService.filterCases(
+            new CaseFilter(Set.of("Pending"), LocalDateTime.now().minusDays(1), null, "warm-up", null, true, 1, null),
+            PageRequest.of(0, 20)
+        ));
+        paths.put("searchTasks", i -> daoService.searchTasks(
+            new TaskSearchCriteria("warm-up", Set.of("Pending"), null, null, null), null, 20
+        ));
+        paths.put("createAndSerialise", this::createAndSerialise);
+
+        Map<String, PathLatency> measured = new LinkedHashMap<>();
+        try {
+            paths.forEach((name, path) -> measured.put(name, measure(path)));
+        } catch (RuntimeException e) {
+            // A failed warm-up only costs latency, never block readiness on it
+            LOG.warn("Warm-up stopped early", e);
+        } finally {
+            searchCache.invalidate();
+            latencies = Map.copyOf(measured);
+            duration = Duration.ofNanos(System.nanoTime() - start);
+            complete = true;
+        }
+
+        LOG.info("Warm-up: {} iterations of {} paths in {} ms", iterations, measured.size(), duration.toMillis());
+        measured.forEach((name, latency) -> LOG.info("Warm-up {}: {} ms cold, {} ms warm", name,
+                                                     String.format("%.3f", latency.coldMillis()),
+                                                     String.format("%.3f", latency.warmMillis())));
+    }
+
+    /**
+     * Create a case with a task, read them back and serialise them, always rolled back
+     */
+    private void createAndSerialise(int iteration) {
+        rolledBack.executeWithoutResult(tx -> {
+            tx.setRollbackOnly();
+            CaseDto caseDto = daoService.saveCase(new CaseDto(
+                null, "warm-up-" + UUID.randomUUID(), "Warm-up", "Warm-up case", "Pending", LocalDateTime.now(),
+                new ArrayList<>()
+            ));
+            TaskDto taskDto = daoService.saveTask(new TaskDto(
+                null, "Warm-up", "Warm-up task", "Pending", LocalDateTime.now(), caseDto.getId()
+            ));
+            daoService.getTask(taskDto.getId());
+            try {
+                objectMapper.writeValueAsBytes(caseDto);
+                objectMapper.writeValueAsBytes(daoService.getTasksForParent(caseDto.getId(), PageRequest.of(0, 20))
+                                                   .getContent());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private PathLatency measure(WarmUpPath path) {
+        List<Long> timings = new ArrayList<>(iterations);
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            path.run(i);
+            timings.add(System.nanoTime() - start);
+        }
+        List<Long> warm = timings.subList(timings.size() - Math.max(1, timings.size() / 4), timings.size());
+        double warmMean = warm.stream().mapToLong(Long::longValue).average().orElse(0);
+        return new PathLatency(timings.getFirst() / 1e6, warmMean / 1e6);
+    }
+
+    @Override
+    public Health health() {
+        if (!complete) {
+            return Health.outOfService().withDetail("iterations", iterations).build();
+        }
+        Health.Builder health = Health.up().withDetail("enabled", enabled);
+        if (duration != null) {
+            health.withDetail("durationMillis", duration.toMillis()).withDetail("paths", latencies);
+        }
+        return health.build();
+    }
+
+}
@@ -0,0 +1,96 @@
+package uk.gov.hmcts.reform.dev.sharding;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Shard layout and the shard the current thread is working on, static so the routing datasource and the Hibernate
+ * ID generator (neither of which are Spring beans) can reach it
+ * <p>
+ * A case lives on the shard its ID hashes to and its tasks live with it, task IDs are generated to hash to the same
+ * shard (see {@link ShardedUuidGenerator}) so a task ID routes without a lookup. With one shard (sharding disabled)
+ * everything is shard 0 and nothing is bound to threads.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private static volatile int count = 1;
+
+    private ShardContext() {
+    }
+
+    static void configure(int shards) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        count = shards;
+    }
+
+    public static int count() {
+        return count;
+    }
+
+    /**
+     * Shard an ID belongs to
+     *
+     * @param id Case or task ID
+     * @return Shard index, always 0 with a single shard
+     */
+    public static int shardOf(UUID id) {
+        int shards = count;
+        if (shards == 1) {
+            return 0;
+        }
+        // fmix64 from MurmurHash3, spreads the (mostly random) bits evenly before taking the modulus
+        long hash = id.getMostSignificantBits() ^ id.getLeastSignificantBits();
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb3fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) Math.floorMod(hash, (long) shards);
+    }
+
+    /**
+     * Shard bound to the current thread
+     *
+     * @return Shard index, or null if none is bound (the routing datasource then uses shard 0)
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    static void set(Integer shard) {
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+    }
+
+    /**
+     * A random (version 4) UUID which hashes to the given shard, drawn until one does so it stays uniformly random
+     * within the shard (on average one draw per shard)
+     *
+     * @param shard Shard the ID must belong to
+     * @return Random UUID belonging to the shard
+     */
+    public static UUID randomIdFor(int shard) {
+        UUID id = UUID.randomUUID();
+        while (shardOf(id) != shard) {
+            id = UUID.randomUUID();
+        }
+        return id;
+    }
+
+    /**
+     * A random shard, for placing new cases
+     *
+     * @return Shard index
+     */
+    static int randomShard() {
+        return count == 1 ? 0 : ThreadLocalRandom.current().nextInt(count);
+    }
+
+}
@@ -0,0 +1,12 @@
+package uk.gov.hmcts.reform.dev.sharding;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * The datasource of each shard, in shard order, only present with sharding enabled
+ *
+ * @param shards Shard datasources
+ */
+public record ShardDataSources(List<DataSource> shards) {
+}
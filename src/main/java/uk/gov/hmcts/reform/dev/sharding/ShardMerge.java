@@ -0,0 +1,179 @@
+package uk.gov.hmcts.reform.dev.sharding;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Gather side of scatter-gather: k-way merges of results each shard has already sorted
+ */
+public final class ShardMerge {
+
+    /**
+     * UUID order used by H2, unsigned unlike {@link UUID#compareTo}
+     */
+    public static final Comparator<UUID> UUID_ORDER = Comparator
+        .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+        .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    /**
+     * A result to merge, with the entity it was read from to compare on the properties the shards sorted by
+     *
+     * @param entity Entity as read by the shard
+     * @param value Result mapped from the entity (within the shard's transaction)
+     */
+    public record Row<T>(Object entity, T value) {
+    }
+
+    private ShardMerge() {
+    }
+
+    /**
+     * The request each shard answers for a page of the merged results: the first (page + 1) * size rows in the same
+     * order, as any of them may belong on the merged page
+     *
+     * @param pageable Requested page
+     * @param tieBreak Property appended to the sort so every shard orders ties identically
+     * @return Pageable to run on each shard
+     */
+    public static Pageable shardPageable(Pageable pageable, String tieBreak) {
+        Sort sort = pageable.getSort().and(Sort.by(tieBreak));
+        if (pageable.isUnpaged()) {
+            return Pageable.unpaged(sort);
+        }
+        return PageRequest.of(0, Math.toIntExact(pageable.getOffset() + pageable.getPageSize()), sort);
+    }
+
+    /**
+     * Merge each shard's page of results into the requested page
+     *
+     * @param shardPages Each shard's results for {@link #shardPageable(Pageable, String) its pageable}
+     * @param pageable Requested page
+     * @param comparator Order the shards sorted in
+     * @return Page of merged results, with the total across all shards
+     */
+    public static <T> Page<T> mergePages(List<Page<T>> shardPages, Pageable pageable, Comparator<T> comparator) {
+        long total = shardPages.stream().mapToLong(Page::getTotalElements).sum();
+        List<List<T>> sorted = shardPages.stream().map(Page::getContent).toList();
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(merge(sorted, comparator, 0, Integer.MAX_VALUE), pageable, total);
+        }
+        return new PageImpl<>(merge(sorted, comparator, pageable.getOffset(), pageable.getPageSize()), pageable,
+                              total);
+    }
+
+    /**
+     * Merge each shard's slice of results into the requested slice, which has a next slice if any shard has more
+     * results or the merged results run past it
+     *
+     * @param shardSlices Each shard's results for {@link #shardPageable(Pageable, String) its pageable}
+     * @param pageable Requested slice
+     * @param comparator Order the shards sorted in
+     * @return Slice of merged results
+     */
+    public static <T> Slice<T> mergeSlices(List<Slice<T>> shardSlices, Pageable pageable, Comparator<T> comparator) {
+        List<List<T>> sorted = shardSlices.stream().map(Slice::getContent).toList();
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(merge(sorted, comparator, 0, Integer.MAX_VALUE), pageable, false);
+        }
+        List<T> merged = merge(sorted, comparator, pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = merged.size() > pageable.getPageSize() || shardSlices.stream().anyMatch(Slice::hasNext);
+        return new SliceImpl<>(merged.subList(0, Math.min(merged.size(), pageable.getPageSize())), pageable,
+                               hasNext);
+    }
+
+    /**
+     * K-way merge of sorted lists
+     *
+     * @param sorted Lists each sorted by the comparator
+     * @param comparator Order of the lists
+     * @param skip Number of merged elements to skip
+     * @param limit Maximum number of merged elements to return
+     * @return Merged elements after the first skip, at most limit of them
+     */
+    public static <T> List<T> merge(List<List<T>> sorted, Comparator<T> comparator, long skip, int limit) {
+        record Head<T>(T value, int list, int index) {
+        }
+
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>(Math.max(1, sorted.size()),
+                                                            (a, b) -> comparator.compare(a.value(), b.value()));
+        for (int i = 0; i < sorted.size(); i++) {
+            if (!sorted.get(i).isEmpty()) {
+                heads.add(new Head<>(sorted.get(i).getFirst(), i, 0));
+            }
+        }
+        List<T> merged = new ArrayList<>(Math.min(limit, 1024));
+        long position = 0;
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Head<T> head = heads.poll();
+            if (position++ >= skip) {
+                merged.add(head.value());
+            }
+            List<T> list = sorted.get(head.list());
+            if (head.index() + 1 < list.size()) {
+                heads.add(new Head<>(list.get(head.index() + 1), head.list(), head.index() + 1));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Comparator equivalent to a Spring Data sort over the rows' entity properties, nulls ordered as the sort says
+     * (first for ascending by default, matching H2)
+     *
+     * @param sort Sort the shards were queried with
+     * @return Comparator for the rows
+     */
+    public static <T> Comparator<Row<T>> comparator(Sort sort) {
+        Comparator<Row<T>> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<Row<T>> byProperty = (a, b) -> compareValues(
+                property(a, order.getProperty()), property(b, order.getProperty()), order
+            );
+            comparator = comparator.thenComparing(byProperty);
+        }
+        return comparator;
+    }
+
+    private static Object property(Row<?> row, String property) {
+        BeanWrapper bean = PropertyAccessorFactory.forBeanPropertyAccess(row.entity());
+        return bean.getPropertyValue(property);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareValues(Object a, Object b, Sort.Order order) {
+        if (a == null || b == null) {
+            if (a == b) {
+                return 0;
+            }
+            boolean nullsFirst = switch (order.getNullHandling()) {
+                case NULLS_FIRST -> true;
+                case NULLS_LAST -> false;
+                case NATIVE -> order.isAscending();
+            };
+            return (a == null) == nullsFirst ? -1 : 1;
+        }
+        int compared;
+        if (a instanceof UUID left && b instanceof UUID right) {
+            compared = UUID_ORDER.compare(left, right);
+        } else if (a instanceof String left && b instanceof String right && order.isIgnoreCase()) {
+            compared = left.compareToIgnoreCase(right);
+        } else {
+            compared = ((Comparable) a).compareTo(b);
+        }
+        return order.isAscending() ? compared : -compared;
+    }
+
+}
@@ -0,0 +1,211 @@
+package uk.gov.hmcts.reform.dev.sharding;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Routes work to shards: binds a transaction to the shard of the case it works on, runs work on a given shard, and
+ * scatters work across every shard in parallel for searches
+ * <p>
+ * Always present, with sharding disabled there is one shard, nothing is bound and scattered work runs inline on the
+ * caller's thread (and transaction) exactly as it did before sharding.
+ */
+@Component
+public class ShardRouter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShardRouter.class);
+
+    private final int count;
+    private final ExecutorService scatterPool;
+
+    /**
+     * Autowired constructor, shard schemas are copied from shard 0 once Hibernate has created it there
+     *
+     * @param shardDataSources Shard datasources, absent with sharding disabled
+     * @param entityManagerFactory Only depended on so the schema exists on shard 0 before it is copied
+     * @param ddlAuto Hibernate schema mode, the schema is only copied when Hibernate creates it
+     */
+    public ShardRouter(@Autowired ObjectProvider<ShardDataSources> shardDataSources,
+                       @Autowired EntityManagerFactory entityManagerFactory,
+                       @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+        ShardDataSources shards = shardDataSources.getIfAvailable();
+        count = shards == null ? 1 : shards.shards().size();
+        ShardContext.configure(count);
+        if (count == 1) {
+            scatterPool = null;
+            return;
+        }
+
+        if (ddlAuto.startsWith("create")) {
+            copySchema(shards.shards());
+        }
+        scatterPool = Executors.newFixedThreadPool(count, runnable -> {
+            Thread thread = new Thread(runnable, "shard-scatter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        LOG.info("Sharding across {} datasources", count);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scatterPool != null) {
+            scatterPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Recreate shard 0's schema (as created by Hibernate) on every other shard, H2 specific
+     */
+    private static void copySchema(List<DataSource> shards) {
+        List<String> schema = new JdbcTemplate(shards.getFirst()).queryForList("SCRIPT NODATA", String.class)
+            .stream()
+            .filter(statement -> {
+                String upper = statement.stripLeading().toUpperCase(Locale.ROOT);
+                return (upper.startsWith("CREATE") || upper.startsWith("ALTER"))
+                    && !upper.startsWith("CREATE USER") && !upper.startsWith("CREATE SCHEMA");
+            })
+            .toList();
+        for (DataSource shard : shards.subList(1, shards.size())) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shard);
+            jdbcTemplate.execute("DROP ALL OBJECTS");
+            schema.forEach(jdbcTemplate::execute);
+        }
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Shard an ID belongs to
+     *
+     * @param id Case or task ID
+     * @return Shard index
+     */
+    public int shardOf(UUID id) {
+        return ShardContext.shardOf(id);
+    }
+
+    /**
+     * Bind the current transaction to the shard of a case or task, must be called before the transaction's first
+     * statement
+     *
+     * @param id Case or task ID
+     * @throws IllegalArgumentException If the transaction is already bound to a different shard
+     */
+    public void route(UUID id) throws IllegalArgumentException {
+        if (count > 1) {
+            bind(shardOf(id));
+        }
+    }
+
+    /**
+     * Bind the current transaction to a random shard for creating cases, unless it is already bound (then new
+     * cases join the cases it already works on)
+     */
+    public void routeNew() {
+        if (count > 1 && ShardContext.current() == null) {
+            bind(ShardContext.randomShard());
+        }
+    }
+
+    private void bind(int shard) {
+        Integer current = ShardContext.current();
+        if (current != null) {
+            if (current != shard) {
+                throw new IllegalArgumentException(
+                    "Cannot work on shard " + shard + " in a transaction already on shard " + current
+                );
+            }
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Routing to a shard requires a transaction");
+        }
+        ShardContext.set(shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                ShardContext.set(null);
+            }
+        });
+    }
+
+    /**
+     * Run work on a shard, transactions begun within it use that shard
+     *
+     * @param shard Shard index
+     * @param action Work to run
+     * @return Result of the work
+     */
+    public <T> T on(int shard, Supplier<T> action) {
+        if (count == 1) {
+            return action.get();
+        }
+        Integer previous = ShardContext.current();
+        ShardContext.set(shard);
+        try {
+            return action.get();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    /**
+     * Run work on every shard in parallel, each on its own thread outside the caller's transaction
+     *
+     * @param action Work to run, given the shard index
+     * @return Result from each shard, in shard order
+     */
+    public <T> List<T> scatter(IntFunction<T> action) {
+        if (count == 1) {
+            return Collections.singletonList(action.apply(0));
+        }
+        List<Future<T>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int shard = i;
+            futures.add(scatterPool.submit(() -> on(shard, () -> action.apply(shard))));
+        }
+        List<T> results = new ArrayList<>(count);
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Interrupted waiting on shards", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return results;
+    }
+
+}
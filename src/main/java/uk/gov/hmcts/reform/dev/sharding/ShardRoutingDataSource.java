@@ -0,0 +1,40 @@
+package uk.gov.hmcts.reform.dev.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hands out connections to the shard bound to the current thread, shard 0 when none is bound
+ * <p>
+ * Wrapped in a LazyConnectionDataSourceProxy so the shard is chosen at the first statement of a transaction rather
+ * than when it begins, letting DAOService bind the shard inside its transactional methods.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Constructor
+     *
+     * @param shards Datasource of each shard, in shard order
+     */
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            targets.put(i, shards.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.getFirst());
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = ShardContext.current();
+        return shard == null ? 0 : shard;
+    }
+
+}
@@ -0,0 +1,18 @@
+package uk.gov.hmcts.reform.dev.sharding;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a random UUID belonging to the shard bound to the current thread, in place of
+ * {@code @GeneratedValue(strategy = GenerationType.UUID)}
+ */
+@IdGeneratorType(ShardedUuidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface ShardedUuid {
+}
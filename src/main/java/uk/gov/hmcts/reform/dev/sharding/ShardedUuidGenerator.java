@@ -0,0 +1,31 @@
+package uk.gov.hmcts.reform.dev.sharding;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+
+/**
+ * ID generator behind {@link ShardedUuid}, plain random UUIDs with a single shard
+ */
+public class ShardedUuidGenerator implements BeforeExecutionGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        if (ShardContext.count() == 1) {
+            return UUID.randomUUID();
+        }
+        Integer shard = ShardContext.current();
+        return ShardContext.randomIdFor(shard == null ? 0 : shard);
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+}
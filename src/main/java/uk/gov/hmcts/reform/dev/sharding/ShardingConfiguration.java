@@ -0,0 +1,50 @@
+package uk.gov.hmcts.reform.dev.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single datasource with N shard datasources behind a routing datasource when
+ * {@code sharding.enabled} is set
+ * <p>
+ * Shard URLs come from {@code sharding.url-template} with the shard index substituted, by default in-memory H2
+ * databases so sharding can be tried locally. Credentials and driver come from the usual spring.datasource
+ * properties.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class ShardingConfiguration {
+
+    @Bean
+    public ShardDataSources shardDataSources(DataSourceProperties properties,
+                                             @Value("${sharding.count:4}") int count,
+                                             @Value("${sharding.url-template}") String urlTemplate) {
+        List<DataSource> shards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            HikariDataSource shard = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(String.format(urlTemplate, i))
+                .build();
+            shard.setPoolName("shard-" + i);
+            shards.add(shard);
+        }
+        return new ShardDataSources(List.copyOf(shards));
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shardDataSources) {
+        return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(shardDataSources.shards()));
+    }
+
+}
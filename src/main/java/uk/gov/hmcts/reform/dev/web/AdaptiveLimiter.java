@@ -0,0 +1,92 @@
+package uk.gov.hmcts.reform.dev.web;
+
+import lombok.Getter;
+
+/**
+ * AIMD concurrency limiter driven by measured latency
+ * <p>
+ * The limit grows by roughly one per limit's worth of fast completions while the limiter is at least half used,
+ * and shrinks multiplicatively whenever a request exceeds the target latency or fails with a server error. Requests
+ * beyond the current limit are refused immediately rather than queued.
+ */
+public class AdaptiveLimiter {
+
+    private static final double BACKOFF = 0.9;
+
+    @Getter
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+
+    private double limit;
+    private int inFlight;
+    private long accepted;
+    private long rejected;
+
+    /**
+     * @param name Name of the route class limited
+     * @param initialLimit Starting concurrency limit
+     * @param minLimit Floor the limit never drops below
+     * @param maxLimit Ceiling the limit never grows beyond
+     * @param targetLatencyNanos Latency above which a completion counts as overload
+     */
+    public AdaptiveLimiter(String name, int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos) {
+        this.name = name;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    /**
+     * Try to admit a request
+     *
+     * @return True if admitted, the caller must then call {@link #release(long, boolean)}
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            rejected++;
+            return false;
+        }
+        inFlight++;
+        accepted++;
+        return true;
+    }
+
+    /**
+     * Record completion of an admitted request and adapt the limit
+     *
+     * @param latencyNanos Time the request took
+     * @param failed True if the request failed in a way indicating overload (server error)
+     */
+    public synchronized void release(long latencyNanos, boolean failed) {
+        inFlight--;
+        if (failed || latencyNanos > targetLatencyNanos) {
+            limit = Math.max(minLimit, limit * BACKOFF);
+        } else if (inFlight * 2 >= (int) limit) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    /**
+     * Point in time view of the limiter
+     *
+     * @return Snapshot of limit, in-flight and admission counts
+     */
+    public synchronized Snapshot snapshot() {
+        return new Snapshot((int) limit, inFlight, accepted, rejected);
+    }
+
+    /**
+     * State of a limiter for reporting
+     *
+     * @param limit Current concurrency limit
+     * @param inFlight Requests currently admitted
+     * @param accepted Total requests admitted
+     * @param rejected Total requests refused
+     */
+    public record Snapshot(int limit, int inFlight, long accepted, long rejected) {
+    }
+
+}
@@ -0,0 +1,145 @@
+package uk.gov.hmcts.reform.dev.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Load shedding in front of the case and task controllers and the bulk import/snapshot routes
+ * <p>
+ * Each route class (reads, writes, bulk) has its own {@link AdaptiveLimiter}, requests over the current limit fail
+ * fast with 503 and a Retry-After header instead of queueing on the thread pool and database connection, so the
+ * service keeps answering the requests it does admit within their latency target.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    /**
+     * Classes of route limited independently, so bulk imports cannot starve single reads
+     */
+    public enum RouteClass {
+        READ, WRITE, BULK
+    }
+
+    private static final UrlPathHelper PATH_HELPER = UrlPathHelper.defaultInstance;
+
+    private static final Set<String> BULK_ROUTES = Set.of("/case/list", "/import", "/snapshot", "/restore");
+    private static final Set<String> READ_POST_ROUTES = Set.of(
+        "/case/search", "/case/filter", "/case/batch", "/task/batch"
+    );
+
+    private final Map<RouteClass, AdaptiveLimiter> limiters = new EnumMap<>(RouteClass.class);
+    private final boolean enabled;
+    private final String retryAfterSeconds;
+
+    /**
+     * Autowired constructor
+     *
+     * @param enabled Whether admission control is applied at all
+     * @param retryAfter Retry-After sent with rejections
+     * @param minLimit Floor for every limiter
+     * @param maxLimit Ceiling for every limiter
+     * @param readLimit Initial limit for reads
+     * @param readLatency Target latency for reads
+     * @param writeLimit Initial limit for writes
+     * @param writeLatency Target latency for writes
+     * @param bulkLimit Initial limit for bulk writes
+     * @param bulkLatency Target latency for bulk writes
+     */
+    public AdmissionControlFilter(@Value("${admission.enabled:true}") boolean enabled,
+                                  @Value("${admission.retry-after:PT1S}") Duration retryAfter,
+                                  @Value("${admission.min-limit:1}") int minLimit,
+                                  @Value("${admission.max-limit:200}") int maxLimit,
+                                  @Value("${admission.read.initial-limit:50}") int readLimit,
+                                  @Value("${admission.read.target-latency:PT0.2S}") Duration readLatency,
+                                  @Value("${admission.write.initial-limit:20}") int writeLimit,
+                                  @Value("${admission.write.target-latency:PT0.5S}") Duration writeLatency,
+                                  @Value("${admission.bulk.initial-limit:2}") int bulkLimit,
+                                  @Value("${admission.bulk.target-latency:PT10S}") Duration bulkLatency) {
+        this.enabled = enabled;
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+        limiters.put(RouteClass.READ, new AdaptiveLimiter(
+            "read", readLimit, minLimit, maxLimit, readLatency.toNanos()));
+        limiters.put(RouteClass.WRITE, new AdaptiveLimiter(
+            "write", writeLimit, minLimit, maxLimit, writeLatency.toNanos()));
+        limiters.put(RouteClass.BULK, new AdaptiveLimiter(
+            "bulk", bulkLimit, minLimit, maxLimit, bulkLatency.toNanos()));
+    }
+
+    /**
+     * Classify a request by method and path
+     *
+     * @param method HTTP method
+     * @param path Path within the application
+     * @return RouteClass of the request, or null if not admission controlled
+     */
+    public static RouteClass classify(String method, String path) {
+        if (BULK_ROUTES.contains(path)) {
+            return RouteClass.BULK;
+        }
+        if (!path.startsWith("/case") && !path.startsWith("/task")) {
+            return null;
+        }
+        if ("GET".equals(method) || READ_POST_ROUTES.contains(path)) {
+            return RouteClass.READ;
+        }
+        return RouteClass.WRITE;
+    }
+
+    /**
+     * Current limiter states for reporting
+     *
+     * @return Snapshot of each route class' limiter
+     */
+    public Map<RouteClass, AdaptiveLimiter.Snapshot> snapshot() {
+        Map<RouteClass, AdaptiveLimiter.Snapshot> snapshot = new EnumMap<>(RouteClass.class);
+        limiters.forEach((routeClass, limiter) -> snapshot.put(routeClass, limiter.snapshot()));
+        return snapshot;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || classify(request.getMethod(), PATH_HELPER.getPathWithinApplication(request)) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        AdaptiveLimiter limiter = limiters.get(
+            classify(request.getMethod(), PATH_HELPER.getPathWithinApplication(request))
+        );
+
+        if (!limiter.tryAcquire()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                               "Overloaded, " + limiter.getName() + " limit reached");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            limiter.release(System.nanoTime() - start, failed);
+        }
+    }
+
+}
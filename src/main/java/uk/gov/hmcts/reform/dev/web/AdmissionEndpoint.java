@@ -0,0 +1,28 @@
+package uk.gov.hmcts.reform.dev.web;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing the admission control limits, in-flight requests and rejection counts
+ */
+@Component
+@Endpoint(id = "admission")
+public class AdmissionEndpoint {
+
+    private final AdmissionControlFilter admissionControlFilter;
+
+    public AdmissionEndpoint(@Autowired AdmissionControlFilter admissionControlFilter) {
+        this.admissionControlFilter = admissionControlFilter;
+    }
+
+    @ReadOperation
+    public Map<AdmissionControlFilter.RouteClass, AdaptiveLimiter.Snapshot> limits() {
+        return admissionControlFilter.snapshot();
+    }
+
+}
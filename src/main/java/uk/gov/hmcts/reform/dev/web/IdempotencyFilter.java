@@ -0,0 +1,223 @@
+package uk.gov.hmcts.reform.dev.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes the create endpoints idempotent for requests carrying an {@code Idempotency-Key} header
+ * <p>
+ * The first request for a key runs as normal and its response is stored, retries with the same key (and route) are
+ * answered from the store without reaching the controllers. A duplicate arriving while the first is still running
+ * waits for it, server errors are not stored so they can be retried.
+ * <p>
+ * The request body is read up front (the create endpoints bind it whole anyway) and its SHA-256 kept with the key, a
+ * key reused with a different body gets 422 instead of another request's response. If claims in progress fill the
+ * store's memory budget, new keys get 503 until some complete.
+ * <p>
+ * Runs before {@link AdmissionControlFilter} so only the owner of a key takes a permit, duplicates waiting on it or
+ * replayed from the store neither hold one nor feed their latency to the limiter.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 8)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String REPLAYED = "Idempotent-Replayed";
+
+    private static final Set<String> CREATE_ROUTES = Set.of("/case", "/task", "/case/list");
+
+    private static final UrlPathHelper PATH_HELPER = UrlPathHelper.defaultInstance;
+
+    private final IdempotencyStore store;
+    private final long waitTimeoutMillis;
+
+    /**
+     * Autowired constructor
+     *
+     * @param store Store of responses by key
+     * @param waitTimeout How long a duplicate waits for the original request before giving up with 409
+     */
+    public IdempotencyFilter(@Autowired IdempotencyStore store,
+                             @Value("${idempotency.wait-timeout:PT30S}") Duration waitTimeout) {
+        this.store = store;
+        this.waitTimeoutMillis = waitTimeout.toMillis();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+            || !CREATE_ROUTES.contains(PATH_HELPER.getPathWithinApplication(request))
+            || request.getHeader(IDEMPOTENCY_KEY) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        String key = PATH_HELPER.getPathWithinApplication(request) + " " + request.getHeader(IDEMPOTENCY_KEY);
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        byte[] bodyHash = sha256(body);
+
+        while (true) {
+            IdempotencyStore.Claim claim = store.claim(key, bodyHash);
+            switch (claim.state()) {
+                case OWNER -> {
+                    process(key, new CachedBodyRequest(request, body), response, chain);
+                    return;
+                }
+                case MISMATCH -> {
+                    response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                                       "Idempotency-Key already used with a different request body");
+                    return;
+                }
+                case FULL -> {
+                    response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                                       "Too many requests with an Idempotency-Key in progress");
+                    return;
+                }
+                case DUPLICATE -> {
+                    // Wait for the owner below
+                }
+            }
+
+            Optional<IdempotencyStore.StoredResponse> stored;
+            try {
+                stored = claim.response().get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                response.sendError(HttpStatus.CONFLICT.value(), "Request with this Idempotency-Key still in progress");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(e);
+            } catch (ExecutionException e) {
+                throw new ServletException(e.getCause());
+            }
+
+            if (stored.isPresent()) {
+                replay(stored.get(), response);
+                return;
+            }
+            // Original was abandoned, claim again and process this one
+        }
+    }
+
+    private void process(String key, HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(request, wrapper);
+            if (wrapper.getStatus() < 500) {
+                store.complete(key, new IdempotencyStore.StoredResponse(
+                    wrapper.getStatus(), wrapper.getContentType(), wrapper.getContentAsByteArray()
+                ));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.abandon(key);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotencyStore.StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static byte[] sha256(byte[] body) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Request whose body was already read for hashing, served again from memory to the controllers
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Body already read");
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+    }
+
+}
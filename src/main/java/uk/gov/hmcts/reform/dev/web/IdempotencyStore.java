@@ -0,0 +1,200 @@
+package uk.gov.hmcts.reform.dev.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded store of responses by idempotency key, for replaying create requests retried by clients
+ * <p>
+ * The first request for a key claims it and later duplicates wait on that claim, completed responses are kept
+ * until their TTL runs out or the total body size exceeds the memory budget (oldest first). Each key remembers a
+ * hash of the request body it was claimed with, reusing the key for a different body is refused rather than
+ * replayed.
+ * <p>
+ * Claims still in progress count against the memory budget too but cannot be evicted, once they alone fill it new
+ * keys are refused until some complete.
+ */
+@Component
+public class IdempotencyStore {
+
+    /**
+     * Captured response to replay
+     *
+     * @param status HTTP status code
+     * @param contentType Content type header, may be null
+     * @param body Response body bytes
+     */
+    public record StoredResponse(int status, String contentType, byte[] body) {
+    }
+
+    /**
+     * Outcome of claiming a key
+     */
+    public enum ClaimState {
+        // The caller should process the request and then complete or abandon the key
+        OWNER,
+        // Another request holds the key with the same body, wait on its response
+        DUPLICATE,
+        // The key is held for a different request body
+        MISMATCH,
+        // In progress claims fill the memory budget, the key was not claimed
+        FULL
+    }
+
+    /**
+     * Result of claiming a key
+     *
+     * @param state Whether the caller owns the key, should wait for its owner or was refused
+     * @param response Completes with the stored response, or empty if the owner abandoned the key (null if refused)
+     */
+    public record Claim(ClaimState state, CompletableFuture<Optional<StoredResponse>> response) {
+    }
+
+    // Rough size of an entry before its response is stored, the key's chars plus map/queue node and future headers
+    private static final int ENTRY_OVERHEAD_BYTES = 200;
+
+    private static final class Entry {
+        final String key;
+        final byte[] bodyHash;
+        final CompletableFuture<Optional<StoredResponse>> response = new CompletableFuture<>();
+        volatile long expiresAt = Long.MAX_VALUE;
+        volatile int size;
+
+        Entry(String key, byte[] bodyHash) {
+            this.key = key;
+            this.bodyHash = bodyHash;
+            this.size = ENTRY_OVERHEAD_BYTES + 2 * key.length() + bodyHash.length;
+        }
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> completed = new ConcurrentLinkedQueue<>();
+    private final AtomicLong storedBytes = new AtomicLong();
+
+    private final long ttlNanos;
+    private final long maxBytes;
+
+    /**
+     * Autowired constructor
+     *
+     * @param ttl How long a completed response is replayed for
+     * @param maxBytes Memory budget for stored responses and claims in progress
+     */
+    public IdempotencyStore(@Value("${idempotency.ttl:PT10M}") Duration ttl,
+                            @Value("${idempotency.max-bytes:16777216}") long maxBytes) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Claim a key, or join the existing claim on it
+     *
+     * @param key Scoped idempotency key
+     * @param bodyHash Hash of the request body, a key is only replayed for the body it was claimed with
+     * @return Claim stating whether the caller owns the key
+     */
+    public Claim claim(String key, byte[] bodyHash) {
+        evictExpired();
+        while (true) {
+            Entry fresh = new Entry(key, bodyHash);
+            Entry existing = entries.putIfAbsent(key, fresh);
+            if (existing == null) {
+                storedBytes.addAndGet(fresh.size);
+                evictOverBudget();
+                if (storedBytes.get() > maxBytes) {
+                    abandon(key);
+                    return new Claim(ClaimState.FULL, null);
+                }
+                return new Claim(ClaimState.OWNER, fresh.response);
+            }
+            if (existing.expiresAt - System.nanoTime() < 0) {
+                entries.remove(key, existing);
+                continue;
+            }
+            if (!MessageDigest.isEqual(existing.bodyHash, bodyHash)) {
+                return new Claim(ClaimState.MISMATCH, null);
+            }
+            return new Claim(ClaimState.DUPLICATE, existing.response);
+        }
+    }
+
+    /**
+     * Store the response for an owned key and release any waiting duplicates
+     *
+     * @param key Scoped idempotency key previously claimed
+     * @param response Response to replay for the key
+     */
+    public void complete(String key, StoredResponse response) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return;
+        }
+        if (entry.size + response.body().length > maxBytes) {
+            if (entries.remove(key, entry)) {
+                storedBytes.addAndGet(-entry.size);
+            }
+        } else {
+            entry.size += response.body().length;
+            entry.expiresAt = System.nanoTime() + ttlNanos;
+            storedBytes.addAndGet(response.body().length);
+            completed.add(entry);
+        }
+        entry.response.complete(Optional.of(response));
+        evictOverBudget();
+    }
+
+    /**
+     * Release an owned key without a response (e.g. server error) so the next retry is processed afresh
+     *
+     * @param key Scoped idempotency key previously claimed
+     */
+    public void abandon(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entries.remove(key, entry)) {
+            storedBytes.addAndGet(-entry.size);
+            entry.response.complete(Optional.empty());
+        }
+    }
+
+    /**
+     * Estimated bytes of stored responses and claims in progress currently held
+     *
+     * @return Stored bytes
+     */
+    public long getStoredBytes() {
+        return storedBytes.get();
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        Entry head;
+        while ((head = completed.peek()) != null && head.expiresAt - now < 0) {
+            evict(head);
+        }
+    }
+
+    private void evictOverBudget() {
+        Entry head;
+        while (storedBytes.get() > maxBytes && (head = completed.peek()) != null) {
+            evict(head);
+        }
+    }
+
+    private void evict(Entry entry) {
+        if (completed.remove(entry)) {
+            entries.remove(entry.key, entry);
+            storedBytes.addAndGet(-entry.size);
+        }
+    }
+
+}
@@ -0,0 +1,153 @@
+package uk.gov.hmcts.reform.dev.web;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-process trace of one request: a span per stage (controller, DAOService, repository, SQL statement) with its
+ * nesting depth, offset from the start of the request and duration
+ * <p>
+ * The trace is bound to the request thread by {@link TracingFilter}, {@link #span(String)} is a no-op costing one
+ * ThreadLocal read when the request is not traced. Work handed to other threads (e.g. sharded scatter queries) is
+ * not traced. Spans beyond the per-trace cap are counted but not kept.
+ */
+@Getter
+public final class RequestTrace {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+    private static final int MAX_SPANS = 500;
+    private static final Scope NO_OP = () -> { };
+
+    /**
+     * Closes a span, for try-with-resources
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * One timed stage, durations in microseconds
+     */
+    @Getter
+    public static final class Span {
+        private final String name;
+        private final int depth;
+        private final long startMicros;
+        private long durationMicros = -1;
+
+        private Span(String name, int depth, long startMicros) {
+            this.name = name;
+            this.depth = depth;
+            this.startMicros = startMicros;
+        }
+    }
+
+    private final String id;
+    private final String method;
+    private final String path;
+    private final Instant start = Instant.now();
+    private final List<Span> spans = new ArrayList<>();
+    private int droppedSpans;
+    private int status;
+    private long durationMicros;
+
+    @Getter(AccessLevel.NONE)
+    private final long startNanos = System.nanoTime();
+    @Getter(AccessLevel.NONE)
+    private int depth;
+
+    private RequestTrace(String id, String method, String path) {
+        this.id = id;
+        this.method = method;
+        this.path = path;
+    }
+
+    /**
+     * Start tracing the current thread's request
+     *
+     * @param id Request ID
+     * @param method HTTP method
+     * @param path Request path
+     * @return The new trace
+     */
+    static RequestTrace begin(String id, String method, String path) {
+        RequestTrace trace = new RequestTrace(id, method, path);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /**
+     * Stop tracing the current thread's request
+     *
+     * @param status HTTP status of the response
+     */
+    void end(int status) {
+        this.status = status;
+        this.durationMicros = micros(System.nanoTime());
+        CURRENT.remove();
+    }
+
+    /**
+     * Whether the current thread's request is traced
+     *
+     * @return True if traced
+     */
+    public static boolean active() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Open a span in the current thread's trace, if any
+     *
+     * @param name Stage name
+     * @return Scope to close when the stage ends
+     */
+    public static Scope span(String name) {
+        RequestTrace trace = CURRENT.get();
+        return trace == null ? NO_OP : trace.open(name);
+    }
+
+    private Scope open(String name) {
+        if (spans.size() >= MAX_SPANS) {
+            droppedSpans++;
+            return NO_OP;
+        }
+        Span span = new Span(name, depth++, micros(System.nanoTime()));
+        spans.add(span);
+        return () -> {
+            span.durationMicros = micros(System.nanoTime()) - span.startMicros;
+            depth--;
+        };
+    }
+
+    private long micros(long nanos) {
+        return (nanos - startNanos) / 1000;
+    }
+
+    /**
+     * Multi-line breakdown for the slow request log, one indented line per span
+     *
+     * @return Breakdown of the trace
+     */
+    public String describe() {
+        StringBuilder builder = new StringBuilder(64 + spans.size() * 64);
+        builder.append(method).append(' ').append(path).append(" [").append(id).append("] ").append(status)
+            .append(" in ").append(durationMicros / 1000).append(" ms");
+        for (Span span : spans) {
+            builder.append(System.lineSeparator()).append("  ").append("  ".repeat(span.depth))
+                .append(span.durationMicros / 1000.0).append(" ms @ ").append(span.startMicros / 1000.0)
+                .append(" ms ").append(span.name);
+        }
+        if (droppedSpans > 0) {
+            builder.append(System.lineSeparator()).append("  ... ").append(droppedSpans).append(" more spans");
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,223 @@
+package uk.gov.hmcts.reform.dev.web;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.CompositeHealthContributor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.NamedContributor;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Saturation health, under the {@code saturation} contributor and included in the readiness group
+ * <ul>
+ *     <li>{@code connectionPool}: fraction of the Hikari pool's maximum size in use</li>
+ *     <li>{@code connectionWaiters}: threads waiting for a connection</li>
+ *     <li>{@code requestQueue}: requests queued for a Tomcat worker thread</li>
+ *     <li>{@code gcPause}: fraction of wall-clock time spent in GC over the sample interval</li>
+ * </ul>
+ * Each is sampled on a fixed interval and goes OUT_OF_SERVICE only once every sample for the sustain period has been
+ * over its threshold, taking the node out of the load balancer before latency climbs, and back UP with the first
+ * sample under it. A measure which cannot be taken (no Hikari pool, no Tomcat server) reports UNKNOWN.
+ */
+@Component
+public class SaturationHealthContributor implements CompositeHealthContributor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SaturationHealthContributor.class);
+
+    /**
+     * One sampled measure with its threshold, the sampler returns empty when the measure is unavailable
+     */
+    private static final class Measure implements HealthIndicator {
+        private final Supplier<OptionalDouble> sampler;
+        private final SustainedThreshold threshold;
+        private volatile boolean available;
+
+        Measure(Supplier<OptionalDouble> sampler, SustainedThreshold threshold) {
+            this.sampler = sampler;
+            this.threshold = threshold;
+        }
+
+        void sample(long nowNanos) {
+            OptionalDouble sample = sampler.get();
+            if (sample.isPresent()) {
+                threshold.record(sample.getAsDouble(), nowNanos);
+            }
+            available = sample.isPresent();
+        }
+
+        @Override
+        public Health health() {
+            if (!available) {
+                return Health.unknown().build();
+            }
+            long now = System.nanoTime();
+            Health.Builder health = threshold.isTripped(now) ? Health.outOfService() : Health.up();
+            return health.withDetail("value", threshold.getValue())
+                .withDetail("threshold", threshold.getThreshold())
+                .withDetail("exceededForMillis", TimeUnit.NANOSECONDS.toMillis(threshold.exceededForNanos(now)))
+                .build();
+        }
+    }
+
+    private final Map<String, Measure> measures = new LinkedHashMap<>();
+    private final ApplicationContext context;
+    private final HikariDataSource hikari;
+    private final ScheduledExecutorService sampler;
+
+    private long lastGcMillis = totalGcMillis();
+    private long lastGcSample = System.nanoTime();
+
+    /**
+     * Autowired constructor
+     *
+     * @param context Application context, for the web server once started
+     * @param dataSource Application datasource, measured when it is (or wraps) a Hikari pool
+     * @param sampleInterval How often every measure is sampled
+     * @param sustain How long a measure must stay over its threshold before going OUT_OF_SERVICE
+     * @param poolUsage Threshold for the fraction of the pool in use
+     * @param poolWaiters Threshold for threads waiting on a connection
+     * @param requestQueue Threshold for requests queued for a worker thread
+     * @param gcPauseRatio Threshold for the fraction of time spent in GC
+     */
+    public SaturationHealthContributor(@Autowired ApplicationContext context,
+                                       @Autowired DataSource dataSource,
+                                       @Value("${saturation.sample-interval:PT1S}") Duration sampleInterval,
+                                       @Value("${saturation.sustain:PT30S}") Duration sustain,
+                                       @Value("${saturation.pool-usage:0.9}") double poolUsage,
+                                       @Value("${saturation.pool-waiters:5}") double poolWaiters,
+                                       @Value("${saturation.request-queue:50}") double requestQueue,
+                                       @Value("${saturation.gc-pause-ratio:0.2}") double gcPauseRatio) {
+        this.context = context;
+        this.hikari = DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class);
+        long sustainNanos = sustain.toNanos();
+        measures.put("connectionPool", measure(this::poolUsage, poolUsage, sustainNanos));
+        measures.put("connectionWaiters", measure(this::poolWaiters, poolWaiters, sustainNanos));
+        measures.put("requestQueue", measure(this::requestQueue, requestQueue, sustainNanos));
+        measures.put("gcPause", measure(this::gcPauseRatio, gcPauseRatio, sustainNanos));
+
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "saturation-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = sampleInterval.toMillis();
+        sampler.scheduleAtFixedRate(this::sampleQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private static Measure measure(Supplier<OptionalDouble> sampler, double threshold, long sustainNanos) {
+        return new Measure(sampler, new SustainedThreshold(threshold, sustainNanos));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sampler.shutdownNow();
+    }
+
+    private void sampleQuietly() {
+        long now = System.nanoTime();
+        for (Measure measure : measures.values()) {
+            try {
+                measure.sample(now);
+            } catch (RuntimeException e) {
+                LOG.warn("Saturation sample failed", e);
+            }
+        }
+    }
+
+    private OptionalDouble poolUsage() {
+        HikariPoolMXBean pool = hikariPool();
+        if (pool == null) {
+            return OptionalDouble.empty();
+        }
+        int max = hikari.getMaximumPoolSize();
+        return OptionalDouble.of(max <= 0 ? 0 : (double) pool.getActiveConnections() / max);
+    }
+
+    private OptionalDouble poolWaiters() {
+        HikariPoolMXBean pool = hikariPool();
+        return pool == null ? OptionalDouble.empty() : OptionalDouble.of(pool.getThreadsAwaitingConnection());
+    }
+
+    private HikariPoolMXBean hikariPool() {
+        // Null until the pool has started
+        return hikari == null ? null : hikari.getHikariPoolMXBean();
+    }
+
+    private OptionalDouble requestQueue() {
+        if (context instanceof WebServerApplicationContext webContext
+            && webContext.getWebServer() instanceof TomcatWebServer tomcat) {
+            Executor executor = tomcat.getTomcat().getConnector().getProtocolHandler().getExecutor();
+            if (executor instanceof org.apache.tomcat.util.threads.ThreadPoolExecutor pool) {
+                return OptionalDouble.of(pool.getQueue().size());
+            }
+        }
+        return OptionalDouble.empty();
+    }
+
+    /**
+     * Only called from the sampler thread
+     */
+    private OptionalDouble gcPauseRatio() {
+        long now = System.nanoTime();
+        long gcMillis = totalGcMillis();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(now - lastGcSample);
+        double ratio = elapsedMillis <= 0 ? 0 : (double) (gcMillis - lastGcMillis) / elapsedMillis;
+        lastGcMillis = gcMillis;
+        lastGcSample = now;
+        return OptionalDouble.of(Math.min(1.0, ratio));
+    }
+
+    /**
+     * Collection time of the stop-the-world collectors, the concurrent cycle beans (G1 Concurrent GC, ZGC Cycles)
+     * report time spent alongside the application and are left out
+     */
+    private static long totalGcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector.getName().contains("Concurrent") || collector.getName().contains("Cycles")) {
+                continue;
+            }
+            total += Math.max(0, collector.getCollectionTime());
+        }
+        return total;
+    }
+
+    @Override
+    public HealthContributor getContributor(String name) {
+        return measures.get(name);
+    }
+
+    @Override
+    public Iterator<NamedContributor<HealthContributor>> iterator() {
+        return measures.entrySet().stream()
+            .map(entry -> NamedContributor.<HealthContributor>of(entry.getKey(), entry.getValue()))
+            .iterator();
+    }
+
+}
@@ -0,0 +1,129 @@
+package uk.gov.hmcts.reform.dev.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Startup phase timings, measured from JVM start so class loading before Spring is included
+ * <p>
+ * Logs the time to context refresh, time to ready and the slowest startup steps recorded by the
+ * {@link BufferingApplicationStartup} set in Application, then the time to the first request once it completes.
+ * Both are also published as the {@code startup.time.to.ready} and {@code startup.time.to.first.request} gauges,
+ * and the full step timeline is on the actuator {@code startup} endpoint.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StartupReport extends OncePerRequestFilter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StartupReport.class);
+
+    private final long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final AtomicBoolean firstRequest = new AtomicBoolean();
+    private final ConfigurableApplicationContext context;
+    private final int slowestSteps;
+
+    private volatile long timeToReady = -1;
+    private volatile long timeToFirstRequest = -1;
+
+    /**
+     * Autowired constructor
+     *
+     * @param context Application context, for its ApplicationStartup
+     * @param meterRegistry Registry the startup gauges are published to
+     * @param slowestSteps Number of slowest startup steps to log
+     */
+    public StartupReport(@Autowired ConfigurableApplicationContext context,
+                         @Autowired MeterRegistry meterRegistry,
+                         @Value("${startup-report.slowest-steps:10}") int slowestSteps) {
+        this.context = context;
+        this.slowestSteps = slowestSteps;
+        TimeGauge.builder("startup.time.to.ready", this, TimeUnit.MILLISECONDS, report -> report.timeToReady)
+            .description("Time from JVM start until the application was ready")
+            .register(meterRegistry);
+        TimeGauge.builder("startup.time.to.first.request", this, TimeUnit.MILLISECONDS,
+                          report -> report.timeToFirstRequest)
+            .description("Time from JVM start until the first request completed")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Log the startup phases once the application is ready
+     *
+     * @param event Ready event, carries the time Spring took to start
+     */
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        timeToReady = System.currentTimeMillis() - jvmStart;
+        Duration springTime = event.getTimeTaken();
+        LOG.info("Startup: {} ms from JVM start to ready, {} ms before Spring started, {} ms in Spring",
+                 timeToReady, timeToReady - (springTime == null ? 0 : springTime.toMillis()),
+                 springTime == null ? "?" : springTime.toMillis());
+
+        if (context.getApplicationStartup() instanceof BufferingApplicationStartup startup) {
+            StartupTimeline timeline = startup.getBufferedTimeline();
+            Map<String, Duration> byStep = timeline.getEvents().stream().collect(Collectors.groupingBy(
+                StartupReport::stepName,
+                Collectors.reducing(Duration.ZERO, StartupTimeline.TimelineEvent::getDuration, Duration::plus)
+            ));
+            byStep.entrySet().stream()
+                .sorted(Map.Entry.<String, Duration>comparingByValue(Comparator.reverseOrder()))
+                .limit(slowestSteps)
+                .forEach(step -> LOG.info("Startup step {}: {} ms", step.getKey(), step.getValue().toMillis()));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (timeToFirstRequest >= 0 || !firstRequest.compareAndSet(false, true)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            timeToFirstRequest = System.currentTimeMillis() - jvmStart;
+            LOG.info("Startup: {} ms from JVM start to first request completed", timeToFirstRequest);
+        }
+    }
+
+    /**
+     * Bean instantiation steps are grouped by bean name, everything else by step name
+     */
+    private static String stepName(StartupTimeline.TimelineEvent timelineEvent) {
+        String name = timelineEvent.getStartupStep().getName();
+        for (var tag : timelineEvent.getStartupStep().getTags()) {
+            if (tag.getKey().equals("beanName")) {
+                return name + " [" + tag.getValue() + "]";
+            }
+        }
+        return name;
+    }
+
+}
@@ -0,0 +1,69 @@
+package uk.gov.hmcts.reform.dev.web;
+
+/**
+ * Tracks whether a sampled value has stayed over a threshold for a sustained period, a single sample under the
+ * threshold resets it so brief spikes never trip it
+ */
+public class SustainedThreshold {
+
+    private final double threshold;
+    private final long sustainNanos;
+
+    private double value;
+    private long exceededSince = -1;
+
+    /**
+     * Constructor
+     *
+     * @param threshold Value over which a sample counts as exceeding
+     * @param sustainNanos How long samples must keep exceeding before the threshold is tripped
+     */
+    public SustainedThreshold(double threshold, long sustainNanos) {
+        this.threshold = threshold;
+        this.sustainNanos = sustainNanos;
+    }
+
+    /**
+     * Record a sample
+     *
+     * @param sample Sampled value
+     * @param nowNanos Time of the sample, from System.nanoTime()
+     */
+    public synchronized void record(double sample, long nowNanos) {
+        value = sample;
+        if (sample <= threshold) {
+            exceededSince = -1;
+        } else if (exceededSince < 0) {
+            exceededSince = nowNanos;
+        }
+    }
+
+    /**
+     * Whether every sample since at least the sustain period ago has exceeded the threshold
+     *
+     * @param nowNanos Current time, from System.nanoTime()
+     * @return True if the threshold is tripped
+     */
+    public synchronized boolean isTripped(long nowNanos) {
+        return exceededSince >= 0 && nowNanos - exceededSince >= sustainNanos;
+    }
+
+    /**
+     * How long samples have been exceeding the threshold
+     *
+     * @param nowNanos Current time, from System.nanoTime()
+     * @return Nanoseconds since the first of the current run of exceeding samples, 0 if the last sample did not
+     */
+    public synchronized long exceededForNanos(long nowNanos) {
+        return exceededSince < 0 ? 0 : nowNanos - exceededSince;
+    }
+
+    public synchronized double getValue() {
+        return value;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+}
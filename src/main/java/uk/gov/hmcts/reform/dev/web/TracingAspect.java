@@ -0,0 +1,53 @@
+package uk.gov.hmcts.reform.dev.web;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Opens a {@link RequestTrace} span around every controller handler, DAOService method and repository call of a
+ * traced request, nested as they call each other
+ */
+@Aspect
+@Component
+public class TracingAspect {
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController *)")
+    public Object controller(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace("controller", joinPoint.getSignature().getDeclaringType(), joinPoint);
+    }
+
+    @Around("execution(public * uk.gov.hmcts.reform.dev.services.DAOService.*(..))")
+    public Object service(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace("dao", joinPoint.getSignature().getDeclaringType(), joinPoint);
+    }
+
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object repository(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!RequestTrace.active()) {
+            return joinPoint.proceed();
+        }
+        // Name by the application's repository interface rather than the Spring Data one declaring the method
+        Class<?> type = joinPoint.getSignature().getDeclaringType();
+        for (Class<?> candidate : joinPoint.getTarget().getClass().getInterfaces()) {
+            if (Repository.class.isAssignableFrom(candidate)) {
+                type = candidate;
+                break;
+            }
+        }
+        return trace("repository", type, joinPoint);
+    }
+
+    private static Object trace(String stage, Class<?> type, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!RequestTrace.active()) {
+            return joinPoint.proceed();
+        }
+        String name = stage + " " + type.getSimpleName() + "." + joinPoint.getSignature().getName();
+        try (RequestTrace.Scope scope = RequestTrace.span(name)) {
+            return joinPoint.proceed();
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+package uk.gov.hmcts.reform.dev.web;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Datasource wrapper opening a {@link RequestTrace} span, named by its SQL, around every statement executed for a
+ * traced request
+ * <p>
+ * Connections and statements are wrapped in JDK proxies, a span covers the execute call only (not reading the result
+ * set). Hibernate batches show as one span per executeBatch.
+ * <p>
+ * The proxies sit on every connection whether or not the request is sampled, so every JDBC call pays two reflective
+ * dispatches (connection, then statement) even when no span is opened. That is small next to a database round trip
+ * but not free, so the datasource is only wrapped when tracing is enabled with a sample rate above 0.
+ */
+public class TracingDataSource extends DelegatingDataSource {
+
+    private static final int MAX_SQL_LENGTH = 200;
+
+    public TracingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+            TracingDataSource.class.getClassLoader(), new Class<?>[]{Connection.class},
+            (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                    String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                    return wrap(statement, method.getReturnType(), sql);
+                }
+                return result;
+            }
+        );
+    }
+
+    private static Object wrap(Statement statement, Class<?> type, String preparedSql) {
+        return Proxy.newProxyInstance(
+            TracingDataSource.class.getClassLoader(), new Class<?>[]{type},
+            (proxy, method, args) -> {
+                if (!method.getName().startsWith("execute") || !RequestTrace.active()) {
+                    return invoke(statement, method, args);
+                }
+                String sql = preparedSql != null ? preparedSql
+                    : args != null && args.length > 0 && args[0] instanceof String text ? text : method.getName();
+                try (RequestTrace.Scope scope = RequestTrace.span("sql " + abbreviate(sql))) {
+                    return invoke(statement, method, args);
+                }
+            }
+        );
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        String collapsed = sql.strip().replaceAll("\\s+", " ");
+        return collapsed.length() <= MAX_SQL_LENGTH ? collapsed : collapsed.substring(0, MAX_SQL_LENGTH) + "...";
+    }
+
+}
@@ -0,0 +1,31 @@
+package uk.gov.hmcts.reform.dev.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's datasource in a {@link TracingDataSource} when tracing is enabled and requests are sampled,
+ * so the JDBC proxies cost nothing when no request can be traced
+ */
+@Component
+public class TracingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final boolean enabled;
+
+    public TracingDataSourcePostProcessor(@Value("${tracing.enabled:true}") boolean enabled,
+                                          @Value("${tracing.sample-rate:0.01}") double sampleRate) {
+        this.enabled = enabled && sampleRate > 0;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource dataSource && !(bean instanceof TracingDataSource)) {
+            return new TracingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+}
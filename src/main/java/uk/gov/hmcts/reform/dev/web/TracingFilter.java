@@ -0,0 +1,119 @@
+package uk.gov.hmcts.reform.dev.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Gives every request an ID (the caller's X-Request-Id if valid, otherwise a new one), returned in the response and
+ * put in the logging MDC, and traces a sample of requests with {@link RequestTrace}
+ * <p>
+ * Traced requests slower than the threshold are logged with their span breakdown and the latest are kept for
+ * /traces/recent. Runs before admission control so shed requests are traced too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class TracingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String REQUEST_ID_MDC = "requestId";
+
+    private static final Logger LOG = LoggerFactory.getLogger(TracingFilter.class);
+    private static final UrlPathHelper PATH_HELPER = UrlPathHelper.defaultInstance;
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final Deque<RequestTrace> slow = new ArrayDeque<>();
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final long slowThresholdMicros;
+    private final int keep;
+
+    /**
+     * Autowired constructor
+     *
+     * @param enabled Whether requests are traced at all (request IDs are always assigned)
+     * @param sampleRate Fraction of requests traced
+     * @param slowThreshold Traced requests at least this slow are logged and kept
+     * @param keep Number of slow traces kept for /traces/recent
+     */
+    public TracingFilter(@Value("${tracing.enabled:true}") boolean enabled,
+                         @Value("${tracing.sample-rate:0.01}") double sampleRate,
+                         @Value("${tracing.slow-threshold:PT0.5S}") Duration slowThreshold,
+                         @Value("${tracing.keep:50}") int keep) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.slowThresholdMicros = slowThreshold.toNanos() / 1000;
+        this.keep = keep;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || !VALID_ID.matcher(requestId).matches()) {
+            requestId = UUID.randomUUID().toString();
+        }
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        MDC.put(REQUEST_ID_MDC, requestId);
+
+        if (!enabled || (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                MDC.remove(REQUEST_ID_MDC);
+            }
+            return;
+        }
+
+        RequestTrace trace = RequestTrace.begin(
+            requestId, request.getMethod(), PATH_HELPER.getPathWithinApplication(request)
+        );
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            trace.end(response.getStatus());
+            MDC.remove(REQUEST_ID_MDC);
+            if (trace.getDurationMicros() >= slowThresholdMicros) {
+                LOG.warn("Slow request {}", trace.describe());
+                synchronized (slow) {
+                    slow.addFirst(trace);
+                    if (slow.size() > keep) {
+                        slow.removeLast();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The latest slow traced requests
+     *
+     * @return Traces newest first
+     */
+    public List<RequestTrace> recent() {
+        synchronized (slow) {
+            return List.copyOf(slow);
+        }
+    }
+
+}
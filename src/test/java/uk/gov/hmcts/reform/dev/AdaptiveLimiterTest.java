@@ -0,0 +1,51 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.web.AdaptiveLimiter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for the AIMD admission control limiter
+ */
+public class AdaptiveLimiterTest {
+
+    private static final long TARGET = 1_000_000L;
+
+    @Test
+    public void rejectsOverLimitTest() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("test", 2, 1, 10, TARGET);
+
+        assertTrue(limiter.tryAcquire(), "First request not admitted");
+        assertTrue(limiter.tryAcquire(), "Second request not admitted");
+        assertFalse(limiter.tryAcquire(), "Request over the limit admitted");
+        assertEquals(1, limiter.snapshot().rejected(), "Rejection not counted");
+
+        limiter.release(TARGET / 2, false);
+        assertTrue(limiter.tryAcquire(), "Request not admitted after release");
+    }
+
+    @Test
+    public void adaptsToLatencyTest() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("test", 10, 1, 20, TARGET);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire(), "Request within limit not admitted");
+            limiter.release(TARGET * 2, false);
+        }
+        int reduced = limiter.snapshot().limit();
+        assertTrue(reduced < 10, "Limit not reduced by slow requests");
+
+        for (int i = 0; i < 200; i++) {
+            for (int j = 0; j < reduced; j++) {
+                limiter.tryAcquire();
+            }
+            for (int j = 0; j < reduced; j++) {
+                limiter.release(TARGET / 2, false);
+            }
+        }
+        assertTrue(limiter.snapshot().limit() > reduced, "Limit not increased by fast requests under load");
+        assertTrue(limiter.snapshot().limit() <= 20, "Limit grew beyond maximum");
+    }
+
+}
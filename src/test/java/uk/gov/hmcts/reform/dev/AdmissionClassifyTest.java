@@ -0,0 +1,27 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.web.AdmissionControlFilter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static uk.gov.hmcts.reform.dev.web.AdmissionControlFilter.RouteClass.*;
+
+/**
+ * Unit test for routing requests to admission control limiters
+ */
+public class AdmissionClassifyTest {
+
+    @Test
+    public void classifiesRoutesTest() {
+        assertEquals(READ, AdmissionControlFilter.classify("GET", "/case/123"), "Case read not a read");
+        assertEquals(READ, AdmissionControlFilter.classify("POST", "/case/search"), "Search not a read");
+        assertEquals(READ, AdmissionControlFilter.classify("POST", "/case/batch"), "Case batch fetch not a read");
+        assertEquals(READ, AdmissionControlFilter.classify("POST", "/task/batch"), "Task batch fetch not a read");
+        assertEquals(WRITE, AdmissionControlFilter.classify("POST", "/case"), "Case create not a write");
+        assertEquals(BULK, AdmissionControlFilter.classify("POST", "/case/list"), "Case list not bulk");
+        assertEquals(BULK, AdmissionControlFilter.classify("POST", "/import"), "Import not bulk");
+        assertEquals(BULK, AdmissionControlFilter.classify("POST", "/snapshot"), "Snapshot not bulk");
+        assertEquals(BULK, AdmissionControlFilter.classify("POST", "/restore"), "Restore not bulk");
+        assertNull(AdmissionControlFilter.classify("GET", "/health"), "Health check admission controlled");
+    }
+}
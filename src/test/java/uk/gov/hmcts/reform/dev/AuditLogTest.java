@@ -0,0 +1,89 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uk.gov.hmcts.reform.dev.dto.AuditEntry;
+import uk.gov.hmcts.reform.dev.services.AuditLog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static uk.gov.hmcts.reform.dev.dto.ChangeEvent.Entity.CASE;
+import static uk.gov.hmcts.reform.dev.dto.ChangeEvent.Entity.TASK;
+import static uk.gov.hmcts.reform.dev.dto.ChangeEvent.Type.CREATED;
+import static uk.gov.hmcts.reform.dev.dto.ChangeEvent.Type.UPDATED;
+
+/**
+ * Unit test for the segmented audit log, outside any transaction so entries are queued immediately
+ */
+public class AuditLogTest {
+
+    private static long segmentCount(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    public void historyPerEntityTest(@TempDir Path directory) throws IOException, InterruptedException {
+        AuditLog auditLog = new AuditLog(true, directory, 1 << 20, 16, 4);
+        UUID caseId = UUID.randomUUID();
+        UUID taskId = UUID.randomUUID();
+        UUID otherCase = UUID.randomUUID();
+
+        auditLog.record(new AuditEntry(CREATED, CASE, caseId, caseId, null, null, null));
+        auditLog.record(new AuditEntry(CREATED, CASE, otherCase, otherCase, null, null, null));
+        auditLog.record(new AuditEntry(CREATED, TASK, taskId, caseId, null, null, null));
+        auditLog.record(new AuditEntry(UPDATED, TASK, taskId, caseId, "status", "Pending", "Completed"));
+
+        List<AuditEntry> taskHistory = auditLog.history(taskId, 10);
+        assertEquals(2, taskHistory.size(), "Wrong number of task entries");
+        assertEquals("Pending", taskHistory.get(1).getPreviousValue(), "Previous value not recorded");
+        assertEquals("Completed", taskHistory.get(1).getValue(), "New value not recorded");
+        assertTrue(taskHistory.get(0).getSequence() < taskHistory.get(1).getSequence(), "History out of order");
+
+        assertEquals(3, auditLog.history(caseId, 10).size(), "Case history missing its tasks");
+        assertEquals(1, auditLog.history(caseId, 1).size(), "Limit not applied");
+        assertEquals(UPDATED, auditLog.history(caseId, 1).getFirst().getType(), "Limit did not keep the latest");
+        assertTrue(auditLog.history(UUID.randomUUID(), 10).isEmpty(), "History for an unknown ID");
+        auditLog.shutdown();
+    }
+
+    @Test
+    public void rotatesAndRecoversTest(@TempDir Path directory) throws IOException, InterruptedException {
+        UUID caseId = UUID.randomUUID();
+        AuditLog auditLog = new AuditLog(true, directory, 512, 4, 2);
+        for (int i = 0; i < 50; i++) {
+            auditLog.record(new AuditEntry(UPDATED, CASE, caseId, caseId, "title", "Title " + i, "Title " + (i + 1)));
+        }
+        auditLog.sync();
+        assertTrue(segmentCount(directory) > 2, "Segments not rotated");
+        assertEquals(50, auditLog.history(caseId, 100).size(), "Entries in segments no longer indexed not found");
+        assertEquals("Title 50", auditLog.history(caseId, 1).getFirst().getValue(), "Latest entry not indexed");
+        auditLog.shutdown();
+
+        // A crash mid-write leaves a partial record at the end of the last segment
+        Path last;
+        try (Stream<Path> files = Files.list(directory)) {
+            last = files.sorted().toList().getLast();
+        }
+        Files.write(last, new byte[]{0, 0, 0, 100, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        AuditLog reopened = new AuditLog(true, directory, 512, 4, 2);
+        List<AuditEntry> history = reopened.history(caseId, 100);
+        assertEquals(50, history.size(), "Entries lost across segments or restart");
+        assertEquals("Title 50", history.getLast().getValue(), "Latest entry not recovered");
+
+        reopened.record(new AuditEntry(UPDATED, CASE, caseId, caseId, "title", "Title 50", "Title 51"));
+        history = reopened.history(caseId, 100);
+        assertEquals(51, history.size(), "Entry appended after a torn record lost");
+        assertEquals(history.get(49).getSequence() + 1, history.get(50).getSequence(), "Sequence not continued");
+        reopened.shutdown();
+    }
+}
@@ -0,0 +1,172 @@
+package uk.gov.hmcts.reform.dev;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.annotation.DirtiesContext;
+import uk.gov.hmcts.reform.dev.models.Case;
+import uk.gov.hmcts.reform.dev.models.Task;
+import uk.gov.hmcts.reform.dev.repositories.CaseFilter;
+import uk.gov.hmcts.reform.dev.repositories.CaseRepository;
+import uk.gov.hmcts.reform.dev.repositories.CaseSpecifications;
+import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for the case filter specifications, checks results, that each filter is a single statement and that the
+ * plan H2 picks for it uses the case/task indexes
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "uk.gov.hmcts.reform.dev.CaseFilterTest$Recorder",
+    // Literals inlined so the recorded SQL can be EXPLAINed as is
+    "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class CaseFilterTest {
+
+    /**
+     * Records every statement Hibernate sends
+     */
+    public static class Recorder implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    CaseRepository caseRepository;
+    TaskRepository taskRepository;
+    EntityManager entityManager;
+
+    LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
+    Case overdue;
+    Case completedOnly;
+    Case empty;
+
+    public CaseFilterTest(@Autowired CaseRepository caseRepository, @Autowired TaskRepository taskRepository,
+                          @Autowired EntityManager entityManager) {
+        this.caseRepository = caseRepository;
+        this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+    }
+
+    private void saveCases() {
+        overdue = caseRepository.save(new Case("2025/ABC/1", "Smith v Acme", "description", "Ongoing",
+                                               now.minusDays(30)));
+        completedOnly = caseRepository.save(new Case("2025/ABC/2", "Jones v Acme", "description", "Ongoing",
+                                                     now.minusDays(10)));
+        empty = caseRepository.save(new Case("2025/XYZ/3", "Brown v Widget 100%", "description", "Pending",
+                                             now.minusDays(1)));
+        taskRepository.save(new Task("late", "description", "Pending", now.minusDays(2), overdue));
+        taskRepository.save(new Task("later", "description", "Pending", now.plusDays(2), overdue));
+        taskRepository.save(new Task("done", "description", "Completed", now.minusDays(2), completedOnly));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private List<Case> filter(CaseFilter filter) {
+        return caseRepository.findAll(CaseSpecifications.of(filter, now), Pageable.unpaged()).getContent();
+    }
+
+    private Set<String> numbers(List<Case> cases) {
+        return Set.copyOf(cases.stream().map(Case::getCaseNumber).toList());
+    }
+
+    @Test
+    public void filterResultsTest() {
+        saveCases();
+
+        assertEquals(3, filter(new CaseFilter(null, null, null, null, null, null, null, null)).size(),
+                     "Empty filter did not match every case");
+        assertEquals(Set.of("2025/ABC/1", "2025/ABC/2"),
+                     numbers(filter(new CaseFilter(Set.of("Ongoing"), null, null, null, null, null, null, null))),
+                     "Status filter returned wrong cases");
+        assertTrue(filter(new CaseFilter(Set.of("No such status"), null, null, null, null, null, null, null))
+                       .isEmpty(), "Unknown status matched cases");
+        assertEquals(Set.of("2025/ABC/2", "2025/XYZ/3"),
+                     numbers(filter(new CaseFilter(null, now.minusDays(10), now, null, null, null, null, null))),
+                     "Created date range returned wrong cases");
+        assertEquals(Set.of("2025/XYZ/3"),
+                     numbers(filter(new CaseFilter(null, null, null, "WIDGET 100%", null, null, null, null))),
+                     "Title filter returned wrong cases");
+        assertEquals(Set.of("2025/ABC/1", "2025/ABC/2"),
+                     numbers(filter(new CaseFilter(null, null, null, null, "abc", null, null, null))),
+                     "Case number filter returned wrong cases");
+        assertEquals(Set.of("2025/ABC/1"),
+                     numbers(filter(new CaseFilter(null, null, null, null, null, true, null, null))),
+                     "Overdue filter returned wrong cases");
+        assertEquals(Set.of("2025/ABC/2", "2025/XYZ/3"),
+                     numbers(filter(new CaseFilter(null, null, null, null, null, false, null, null))),
+                     "Not overdue filter returned wrong cases");
+        assertEquals(Set.of("2025/ABC/2", "2025/XYZ/3"),
+                     numbers(filter(new CaseFilter(null, null, null, null, null, null, null, 1))),
+                     "Task count range returned wrong cases");
+        assertEquals(Set.of("2025/ABC/1"),
+                     numbers(filter(new CaseFilter(Set.of("Ongoing"), now.minusDays(60), now, "acme", "ABC", true,
+                                                   2, 2))),
+                     "Combined filters returned wrong cases");
+    }
+
+    @Test
+    public void filterSingleStatementTest() {
+        saveCases();
+        Recorder.STATEMENTS.clear();
+
+        filter(new CaseFilter(Set.of("Ongoing", "Pending"), now.minusDays(60), now, "acme", "ABC", true, 1, 5));
+
+        assertEquals(1, Recorder.STATEMENTS.size(), "Combined filter took more than one statement: "
+            + Recorder.STATEMENTS);
+    }
+
+    @Test
+    public void filterUsesIndexesTest() {
+        saveCases();
+
+        String statusPlan = explain(new CaseFilter(Set.of("Ongoing"), now.minusDays(60), now, null, null, null,
+                                                   null, null));
+        assertTrue(statusPlan.contains("CASESTATUSCREATED"), "Status/created filter not using index: " + statusPlan);
+
+        String createdPlan = explain(new CaseFilter(null, now.minusDays(60), now, null, null, null, null, null));
+        assertTrue(createdPlan.contains("CASECREATED"), "Created filter not using index: " + createdPlan);
+
+        String overduePlan = explain(new CaseFilter(null, null, null, null, null, true, null, null));
+        assertTrue(overduePlan.contains("TASKCASESTATUSDUE"), "Overdue filter not using task index: " + overduePlan);
+
+        String countPlan = explain(new CaseFilter(null, null, null, null, null, null, 1, 5));
+        assertTrue(countPlan.contains("TASKCASESTATUSDUE"), "Task count filter not using task index: " + countPlan);
+    }
+
+    /**
+     * Run the filter, then ask H2 for the plan of the statement Hibernate sent
+     */
+    private String explain(CaseFilter filter) {
+        Recorder.STATEMENTS.clear();
+        filter(filter);
+        String sql = Recorder.STATEMENTS.getLast();
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet plan = statement.executeQuery("EXPLAIN " + sql)) {
+                plan.next();
+                return plan.getString(1).toUpperCase(Locale.ROOT);
+            }
+        });
+    }
+
+}
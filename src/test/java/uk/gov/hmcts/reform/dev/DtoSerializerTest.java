@@ -0,0 +1,61 @@
+package uk.gov.hmcts.reform.dev;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.dto.CaseDto;
+import uk.gov.hmcts.reform.dev.dto.TaskDto;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for the hand written DTO serializers, output must match the pattern/toString output exactly
+ */
+public class DtoSerializerTest {
+
+    ObjectMapper objectMapper = JsonMapper.builder()
+        .findAndAddModules()
+        .build();
+
+    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    @Test
+    public void caseOutputMatchesFormatterTest() throws Exception {
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            LocalDateTime date = LocalDateTime.of(1 + random.nextInt(9999), 1 + random.nextInt(12),
+                                                  1 + random.nextInt(28), random.nextInt(24),
+                                                  random.nextInt(60), random.nextInt(60), random.nextInt(1000));
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            UUID task = new UUID(random.nextLong(), random.nextLong());
+            CaseDto caseDto = new CaseDto(id, "number", "title", "description", "status", date, List.of(task));
+
+            String expected = "{\"id\":\"" + id + "\",\"caseNumber\":\"number\",\"title\":\"title\","
+                + "\"description\":\"description\",\"status\":\"status\",\"createdDate\":\""
+                + formatter.format(date) + "\",\"tasks\":[\"" + task + "\"]}";
+
+            assertEquals(expected, objectMapper.writeValueAsString(caseDto), "Case serialized differently");
+            assertEquals(date.withNano(0), objectMapper.readValue(expected, CaseDto.class).getCreatedDate(),
+                         "Serialized date could not be read back");
+        }
+    }
+
+    @Test
+    public void taskOutputMatchesFormatterTest() throws Exception {
+        LocalDateTime date = LocalDateTime.of(12345, 1, 2, 3, 4, 5);
+        UUID id = UUID.fromString("00000000-0000-0001-0000-00000000000a");
+        TaskDto taskDto = new TaskDto(id, "title", "description", "status", date, id);
+
+        String output = objectMapper.writeValueAsString(taskDto);
+
+        assertTrue(output.contains("\"dueDate\":\"" + formatter.format(date) + "\""), "Out of range year differs");
+        assertTrue(output.contains("\"case\":\"" + id + "\""), "Parent case id differs");
+    }
+
+}
@@ -0,0 +1,68 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.web.IdempotencyStore;
+import uk.gov.hmcts.reform.dev.web.IdempotencyStore.ClaimState;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for the idempotency response store's body matching and memory budget
+ */
+public class IdempotencyStoreTest {
+
+    private static final byte[] HASH = {1, 2, 3, 4};
+    private static final byte[] OTHER_HASH = {4, 3, 2, 1};
+
+    /**
+     * A key is only joined by requests with the body it was claimed with
+     */
+    @Test
+    public void refusesDifferentBody() {
+        IdempotencyStore store = new IdempotencyStore(Duration.ofMinutes(1), 1 << 20);
+
+        assertEquals(ClaimState.OWNER, store.claim("/case key", HASH).state(), "First claim not owned");
+        assertEquals(ClaimState.DUPLICATE, store.claim("/case key", HASH).state(), "Same body not joined");
+        assertEquals(ClaimState.MISMATCH, store.claim("/case key", OTHER_HASH).state(), "Different body joined");
+
+        store.complete("/case key", new IdempotencyStore.StoredResponse(200, null, new byte[10]));
+        assertEquals(ClaimState.MISMATCH, store.claim("/case key", OTHER_HASH).state(),
+                     "Different body replayed once complete");
+    }
+
+    /**
+     * Claims in progress are counted against the budget, new keys are refused once they fill it
+     */
+    @Test
+    public void countsClaimsInProgress() {
+        IdempotencyStore store = new IdempotencyStore(Duration.ofMinutes(1), 1000);
+
+        int owned = 0;
+        while (store.claim("/case key-" + owned, HASH).state() == ClaimState.OWNER) {
+            owned++;
+            assertTrue(owned < 1000, "Claims never refused");
+        }
+        assertTrue(owned > 0, "No claim fit the budget");
+        assertTrue(store.getStoredBytes() <= 1000, "Budget exceeded: " + store.getStoredBytes());
+
+        store.abandon("/case key-0");
+        assertEquals(ClaimState.OWNER, store.claim("/case key-new", HASH).state(), "Abandoned claim not released");
+    }
+
+    /**
+     * Completed responses are evicted to make room for new claims, oldest first
+     */
+    @Test
+    public void evictsCompletedForNewClaims() {
+        IdempotencyStore store = new IdempotencyStore(Duration.ofMinutes(1), 1000);
+        store.claim("/case old", HASH);
+        store.complete("/case old", new IdempotencyStore.StoredResponse(200, null, new byte[600]));
+
+        assertEquals(ClaimState.OWNER, store.claim("/case new", HASH).state(), "New claim refused");
+        assertEquals(ClaimState.OWNER, store.claim("/case old", OTHER_HASH).state(), "Old response not evicted");
+        assertTrue(store.getStoredBytes() <= 1000, "Budget exceeded: " + store.getStoredBytes());
+    }
+
+}
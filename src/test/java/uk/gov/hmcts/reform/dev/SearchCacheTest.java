@@ -0,0 +1,157 @@
+package uk.gov.hmcts.reform.dev;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import uk.gov.hmcts.reform.dev.dto.CaseDto;
+import uk.gov.hmcts.reform.dev.services.SearchCache;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for the search result page cache
+ */
+public class SearchCacheTest {
+
+    private static final Pageable PAGEABLE = PageRequest.of(0, 10);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private static Page<CaseDto> page(String caseNumber) {
+        CaseDto c = new CaseDto(UUID.randomUUID(), caseNumber, "T", "D", "Ongoing", LocalDateTime.now(),
+                                new ArrayList<>());
+        return new PageImpl<>(List.of(c), PAGEABLE, 1);
+    }
+
+    /**
+     * Run work in a simulated transaction, firing its synchronizations as a commit or a rollback
+     */
+    private static void inTransaction(Runnable work, boolean commit) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (commit) {
+                TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+            }
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                synchronizations,
+                commit ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK
+            );
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).functionCounter().count();
+    }
+
+    /**
+     * A committed write bumps the generation so cached pages are no longer served, a rolled back one changes nothing
+     */
+    @Test
+    public void invalidatesOnlyOnCommit() {
+        SearchCache cache = new SearchCache(meterRegistry, true, 1 << 20);
+        long generation = cache.generation();
+        cache.put("case", PAGEABLE, generation, page("CASE/1"));
+
+        inTransaction(cache::invalidate, false);
+        assertEquals(generation, cache.generation(), "Generation bumped by a rollback");
+        assertTrue(cache.get("case", PAGEABLE, cache.generation()).isPresent(), "Page lost on rollback");
+
+        inTransaction(() -> {
+            cache.invalidate();
+            assertEquals(generation, cache.generation(), "Generation bumped before commit");
+        }, true);
+        assertEquals(generation + 1, cache.generation(), "Generation not bumped on commit");
+        assertTrue(cache.get("case", PAGEABLE, cache.generation()).isEmpty(), "Page served after a commit");
+    }
+
+    /**
+     * A page queried before a write committed is not cached under the generation it was queried at
+     */
+    @Test
+    public void skipsPutAfterGenerationMoved() {
+        SearchCache cache = new SearchCache(meterRegistry, true, 1 << 20);
+        long generation = cache.generation();
+
+        cache.invalidate();
+        cache.put("case", PAGEABLE, generation, page("CASE/1"));
+
+        assertTrue(cache.get("case", PAGEABLE, generation).isEmpty(), "Stale page cached");
+        assertEquals(0, cache.getStoredBytes(), "Stale page counted against the budget");
+    }
+
+    /**
+     * Once the byte budget is exceeded the least recently used pages are evicted
+     */
+    @Test
+    public void evictsLeastRecentlyUsedOverBudget() {
+        SearchCache cache = new SearchCache(meterRegistry, true, 800);
+        long generation = cache.generation();
+        cache.put("first", PAGEABLE, generation, page("CASE/1"));
+        cache.put("second", PAGEABLE, generation, page("CASE/2"));
+        assertTrue(cache.get("first", PAGEABLE, generation).isPresent(), "Page evicted within budget");
+
+        cache.put("third", PAGEABLE, generation, page("CASE/3"));
+
+        assertTrue(cache.get("second", PAGEABLE, generation).isEmpty(), "Least recently used page kept");
+        assertTrue(cache.get("first", PAGEABLE, generation).isPresent(), "Recently used page evicted");
+        assertTrue(cache.get("third", PAGEABLE, generation).isPresent(), "Newest page evicted");
+        assertTrue(cache.getStoredBytes() <= 800, "Budget exceeded: " + cache.getStoredBytes());
+        assertEquals(1, counter("search.cache.evictions"), "Eviction not counted");
+    }
+
+    /**
+     * Hits, misses and the hit ratio are reported
+     */
+    @Test
+    public void reportsMetrics() {
+        SearchCache cache = new SearchCache(meterRegistry, true, 1 << 20);
+        long generation = cache.generation();
+        cache.get("case", PAGEABLE, generation);
+        cache.put("case", PAGEABLE, generation, page("CASE/1"));
+        cache.get("case", PAGEABLE, generation);
+        cache.get("case", PAGEABLE, generation);
+
+        assertEquals(2, counter("search.cache.hits"), "Hits not counted");
+        assertEquals(1, counter("search.cache.misses"), "Misses not counted");
+        assertEquals(2.0 / 3, meterRegistry.get("search.cache.hit.ratio").gauge().value(), 1e-9, "Wrong hit ratio");
+        assertEquals(cache.getStoredBytes(), meterRegistry.get("search.cache.bytes").gauge().value(), "Wrong size");
+        assertTrue(cache.getStoredBytes() > 0, "Stored page not counted");
+    }
+
+    /**
+     * Changing a page given to or returned from the cache does not change what the cache serves
+     */
+    @Test
+    public void isolatesCachedPages() {
+        SearchCache cache = new SearchCache(meterRegistry, true, 1 << 20);
+        long generation = cache.generation();
+        Page<CaseDto> original = page("CASE/1");
+        cache.put("case", PAGEABLE, generation, original);
+
+        original.getContent().getFirst().setTitle("Changed after put");
+        CaseDto served = cache.get("case", PAGEABLE, generation).orElseThrow().getContent().getFirst();
+        served.setTitle("Changed after get");
+        served.getTasks().add(UUID.randomUUID());
+
+        CaseDto cached = cache.get("case", PAGEABLE, generation).orElseThrow().getContent().getFirst();
+        assertEquals("T", cached.getTitle(), "Cached page changed through a caller's copy");
+        assertTrue(cached.getTasks().isEmpty(), "Cached tasks changed through a caller's copy");
+    }
+
+}
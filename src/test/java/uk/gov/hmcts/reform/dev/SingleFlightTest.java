@@ -0,0 +1,149 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.services.SingleFlight;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for coalescing identical concurrent computations
+ */
+public class SingleFlightTest {
+
+    private record Key(UUID id, long generation) {
+    }
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Start a computation for the key which blocks until released, returning once it is in flight
+     */
+    private Future<String> blockingCall(SingleFlight<Key, String> flight, Key key, CountDownLatch release,
+                                        AtomicInteger runs, String value) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        Future<String> call = executor.submit(() -> flight.execute(key, () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            await(release);
+            return value;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS), "Computation never started");
+        return call;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitWaiting(Future<?> waiter) throws InterruptedException {
+        // No hook for "is waiting", give the caller time to reach the in-flight future
+        Thread.sleep(100);
+        assertFalse(waiter.isDone(), "Caller did not wait on the in-flight computation");
+    }
+
+    @Test
+    public void coalescesConcurrentCallsTest() throws Exception {
+        SingleFlight<Key, String> flight = new SingleFlight<>(5_000);
+        Key key = new Key(UUID.randomUUID(), 0);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        Future<String> first = blockingCall(flight, key, release, runs, "shared");
+        Future<String> second = executor.submit(() -> flight.execute(key, () -> {
+            runs.incrementAndGet();
+            return "own";
+        }));
+        awaitWaiting(second);
+        release.countDown();
+
+        assertEquals("shared", first.get(5, TimeUnit.SECONDS), "Wrong value computed");
+        assertEquals("shared", second.get(5, TimeUnit.SECONDS), "Result not shared");
+        assertEquals(1, runs.get(), "Identical calls not coalesced");
+        assertEquals(0, flight.size(), "Finished computation left in flight");
+    }
+
+    @Test
+    public void timedOutCallerComputesItselfTest() throws Exception {
+        SingleFlight<Key, String> flight = new SingleFlight<>(50);
+        Key key = new Key(UUID.randomUUID(), 0);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        Future<String> first = blockingCall(flight, key, release, runs, "slow");
+        try {
+            assertEquals("own", flight.execute(key, () -> {
+                runs.incrementAndGet();
+                return "own";
+            }), "Timed out caller did not compute its own result");
+            assertEquals(2, runs.get(), "Timed out caller did not run the computation");
+        } finally {
+            release.countDown();
+        }
+        assertEquals("slow", first.get(5, TimeUnit.SECONDS), "First caller lost its result");
+    }
+
+    @Test
+    public void propagatesErrorsToWaitersTest() throws Exception {
+        SingleFlight<Key, String> flight = new SingleFlight<>(5_000);
+        Key key = new Key(UUID.randomUUID(), 0);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        Future<String> first = executor.submit(() -> flight.execute(key, () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalArgumentException("failed");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS), "Computation never started");
+        Future<String> second = executor.submit(() -> flight.execute(key, () -> "own"));
+        awaitWaiting(second);
+        release.countDown();
+
+        ExecutionException firstError = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, firstError.getCause(), "Wrong exception thrown");
+        ExecutionException secondError = assertThrows(ExecutionException.class,
+                                                      () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, secondError.getCause(), "Exception not shared");
+        assertEquals("own", flight.execute(key, () -> "own"), "Failed computation left in flight");
+    }
+
+    @Test
+    public void newGenerationNotSharedTest() throws Exception {
+        SingleFlight<Key, String> flight = new SingleFlight<>(5_000);
+        UUID id = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        Future<String> stale = blockingCall(flight, new Key(id, 0), release, runs, "before write");
+        try {
+            assertEquals("after write", flight.execute(new Key(id, 1), () -> {
+                runs.incrementAndGet();
+                return "after write";
+            }), "Read after a write shared a read begun before it");
+        } finally {
+            release.countDown();
+        }
+        assertEquals("before write", stale.get(5, TimeUnit.SECONDS), "Earlier read lost its result");
+        assertEquals(2, runs.get(), "Reads in different generations coalesced");
+    }
+
+}
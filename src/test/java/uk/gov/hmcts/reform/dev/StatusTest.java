@@ -0,0 +1,76 @@
+package uk.gov.hmcts.reform.dev;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import uk.gov.hmcts.reform.dev.models.Case;
+import uk.gov.hmcts.reform.dev.models.Status;
+import uk.gov.hmcts.reform.dev.repositories.CaseRepository;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for the interned Status dictionary values
+ */
+@DataJpaTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+public class StatusTest {
+
+    CaseRepository caseRepository;
+    EntityManager entityManager;
+
+    public StatusTest(@Autowired CaseRepository caseRepository, @Autowired EntityManager entityManager) {
+        this.caseRepository = caseRepository;
+        this.entityManager = entityManager;
+    }
+
+    @Test
+    public void statusInterningTest() {
+        Status ongoing = Status.of("Ongoing");
+
+        assertSame(ongoing, Status.of(new String("Ongoing")), "Status not interned by name");
+        assertSame(ongoing, Status.ofCode(ongoing.getCode()), "Status not interned by code");
+        assertNotEquals(ongoing.getCode(), Status.of("Some other status").getCode(), "Status code reused");
+        assertNull(Status.of(null), "Null status name produced a status");
+    }
+
+    @Test
+    public void statusStoredAsCodeTest() {
+        Case c = caseRepository.save(new Case("number", "title", "description", "Stored Status",
+                                              LocalDateTime.now()));
+        entityManager.flush();
+        entityManager.clear();
+
+        Object stored = entityManager.createNativeQuery("select status from cases where id = :id")
+            .setParameter("id", c.getId())
+            .getSingleResult();
+
+        assertEquals(Status.of("Stored Status").getCode(), ((Number) stored).shortValue(), "Status not stored as code");
+        assertSame(Status.of("Stored Status"), caseRepository.findById(c.getId()).orElseThrow().getStatus(),
+                   "Status read back was not the interned instance");
+    }
+
+    @Test
+    public void statusNameValidationTest() {
+        Status ongoing = Status.of("Ongoing");
+
+        assertThrows(IllegalArgumentException.class, () -> Status.of(" "), "Blank status accepted");
+        assertThrows(IllegalArgumentException.class, () -> Status.of("x".repeat(Status.MAX_NAME_LENGTH + 1)),
+                     "Overlong status accepted");
+        assertTrue(Status.find(" ").isEmpty(), "Rejected status interned");
+
+        Status.limit(Status.all().size());
+        try {
+            assertThrows(IllegalArgumentException.class, () -> Status.of("Status past the cap"),
+                         "Status accepted past the cap");
+            assertSame(ongoing, Status.of("Ongoing"), "Existing status rejected at the cap");
+        } finally {
+            Status.limit(Short.MAX_VALUE);
+        }
+    }
+
+}
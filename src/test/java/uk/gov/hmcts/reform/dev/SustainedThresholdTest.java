@@ -0,0 +1,46 @@
+package uk.gov.hmcts.reform.dev;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.dev.web.SustainedThreshold;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for the sustained saturation threshold behind the readiness health contributors
+ */
+public class SustainedThresholdTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    public void tripsOnlyWhenSustainedTest() {
+        SustainedThreshold threshold = new SustainedThreshold(0.9, 30 * SECOND);
+
+        threshold.record(0.95, 0);
+        assertFalse(threshold.isTripped(10 * SECOND), "Tripped before the sustain period");
+
+        threshold.record(0.97, 20 * SECOND);
+        assertFalse(threshold.isTripped(20 * SECOND), "Tripped before the sustain period");
+
+        threshold.record(0.99, 30 * SECOND);
+        assertTrue(threshold.isTripped(30 * SECOND), "Not tripped after the sustain period");
+        assertEquals(30 * SECOND, threshold.exceededForNanos(30 * SECOND), "Wrong time over threshold");
+    }
+
+    @Test
+    public void resetsOnSampleUnderThresholdTest() {
+        SustainedThreshold threshold = new SustainedThreshold(0.9, 30 * SECOND);
+
+        threshold.record(0.95, 0);
+        threshold.record(0.5, 20 * SECOND);
+        threshold.record(0.95, 25 * SECOND);
+
+        assertFalse(threshold.isTripped(40 * SECOND), "Spike before the dip counted towards the sustain period");
+        assertTrue(threshold.isTripped(55 * SECOND), "Not tripped after the sustain period");
+
+        threshold.record(0.9, 56 * SECOND);
+        assertFalse(threshold.isTripped(56 * SECOND), "Sample at the threshold did not reset it");
+        assertEquals(0, threshold.exceededForNanos(56 * SECOND), "Time over threshold not reset");
+    }
+
+}
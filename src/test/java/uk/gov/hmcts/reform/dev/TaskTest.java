@@ -1,8 +1,10 @@
 package uk.gov.hmcts.reform.dev;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.DirtiesContext;
@@ -10,12 +12,17 @@ import org.springframework.transaction.annotation.Transactional;
 import uk.gov.hmcts.reform.dev.models.Case;
 import uk.gov.hmcts.reform.dev.models.Task;
 import uk.gov.hmcts.reform.dev.repositories.CaseRepository;
+import uk.gov.hmcts.reform.dev.repositories.TaskCursor;
 import uk.gov.hmcts.reform.dev.repositories.TaskRepository;
+import uk.gov.hmcts.reform.dev.repositories.TaskSearchCriteria;
 import uk.gov.hmcts.reform.dev.services.DAOService;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -28,10 +35,13 @@ public class TaskTest {
 
     TaskRepository taskRepository;
     CaseRepository caseRepository;
+    TestEntityManager entityManager;
 
-    public TaskTest(@Autowired TaskRepository taskRepository, @Autowired CaseRepository caseRepository) {
+    public TaskTest(@Autowired TaskRepository taskRepository, @Autowired CaseRepository caseRepository,
+                    @Autowired TestEntityManager entityManager) {
         this.taskRepository = taskRepository;
         this.caseRepository = caseRepository;
+        this.entityManager = entityManager;
     }
 
     @Test
@@ -131,4 +141,55 @@ public class TaskTest {
 
     }
 
+    @Test
+    public void taskCriteriaSearchTest() {
+        Case c = caseRepository.save(new Case("rootCase", "title", "description", "status", LocalDateTime.now()));
+        Case other = caseRepository.save(new Case("otherCase", "title", "description", "status", LocalDateTime.now()));
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        for(int i=0; i<10; i++){
+            taskRepository.save(new Task("title-"+i, "description", i % 2 == 0 ? "Pending" : "Completed",
+                                         start.plusDays(i), c));
+        }
+        taskRepository.save(new Task("title-undated", "description", "Pending", null, c));
+        taskRepository.save(new Task("title-other", "description", "Pending", start, other));
+
+        TaskSearchCriteria pending = new TaskSearchCriteria(null, Set.of("Pending"), null, null, c.getId());
+        List<Task> all = taskRepository.search(pending, null, 100);
+
+        assertEquals(6, all.size(), "Status/case filter returned wrong number of tasks");
+        assertNull(all.getLast().getDueDate(), "Task without due date not ordered last");
+
+        List<Task> firstPage = taskRepository.search(pending, null, 4);
+        Task last = firstPage.getLast();
+        List<Task> secondPage = taskRepository.search(pending, new TaskCursor(last.getDueDate(), last.getId()), 4);
+
+        assertEquals(all, Stream.concat(firstPage.stream(), secondPage.stream()).toList(),
+                     "Cursor pages differ from unpaged results");
+
+        TaskSearchCriteria window = new TaskSearchCriteria("TITLE", null, start.plusDays(2), start.plusDays(4), null);
+        assertEquals(3, taskRepository.search(window, null, 100).size(), "Due date window returned wrong tasks");
+
+        TaskSearchCriteria unknown = new TaskSearchCriteria(null, Set.of("No such status"), null, null, null);
+        assertTrue(taskRepository.search(unknown, null, 100).isEmpty(), "Unknown status matched tasks");
+    }
+
+    @Test
+    public void parentCaseNotLoadedTest() {
+        Case c = caseRepository.save(new Case("rootCase", "title", "description", "status", LocalDateTime.now()));
+        for(int i=0; i<3; i++){
+            taskRepository.save(new Task("title-"+i, "description", "Pending", LocalDateTime.now(), c));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Task> page = taskRepository.findAllByParentCaseId(c.getId(), Pageable.ofSize(10)).getContent();
+        List<Task> searched = taskRepository.search(new TaskSearchCriteria(null, null, null, null, null), null, 10);
+
+        assertEquals(3, page.size(), "Tasks for case not found");
+        for (Task task : Stream.concat(page.stream(), searched.stream()).toList()) {
+            assertEquals(c.getId(), task.getParentCase().getId(), "Parent case ID not read");
+            assertFalse(Hibernate.isInitialized(task.getParentCase()), "Parent case loaded with its task");
+        }
+    }
+
 }